@@ -97,24 +97,27 @@ export function useWebSocket() {
       window.dispatchEvent(new CustomEvent('room-message', { detail: data }))
     })
 
+    // Game topics are for the room's players; name the seat since a reload subscribes before reconnecting
+    const seat = playerIdValue ? { playerId: playerIdValue } : {}
+
     // Subscribe to game events
     client.value.subscribe(`/topic/room/${roomId}/events`, (message) => {
       const data = JSON.parse(message.body)
       window.dispatchEvent(new CustomEvent('game-event', { detail: data }))
-    })
+    }, seat)
 
     // Subscribe to game state updates
     client.value.subscribe(`/topic/room/${roomId}/state`, (message) => {
       const data = JSON.parse(message.body)
       window.dispatchEvent(new CustomEvent('game-state', { detail: data }))
-    })
+    }, seat)
 
     // Subscribe to personalized player state
     if (playerIdValue) {
       client.value.subscribe(`/topic/room/${roomId}/player/${playerIdValue}`, (message) => {
         const data = JSON.parse(message.body)
         window.dispatchEvent(new CustomEvent('game-message', { detail: data }))
-      })
+      }, seat)
     }
   }
 
@@ -0,0 +1,75 @@
+package com.example.bang.bench;
+
+import com.example.bang.bot.MoveGenerator;
+import com.example.bang.model.GameState;
+import com.example.bang.service.FanoutAccounting;
+import com.example.bang.service.SessionOutbox;
+import com.example.bang.service.SpectatorService;
+import com.example.bang.service.StompGameEventSink;
+import com.example.bang.service.TimingWheel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One state change fanned out by the STOMP sink: public view, spectator frame and one personal view per
+ * player, all serialized to JSON. The channel drops every message, so only our side is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BroadcastBenchmark {
+
+    @Param({"4", "7"})
+    int players;
+
+    StompGameEventSink sink;
+    GameState state;
+
+    @Setup
+    public void setUp() {
+        SimpMessagingTemplate template = new SimpMessagingTemplate((MessageChannel) (message, timeout) -> true);
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("template", template);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SessionOutbox outbox = new SessionOutbox(beans.getBeanProvider(SimpMessagingTemplate.class), registry);
+        ReflectionTestUtils.setField(outbox, "maxQueuedFrames", 16);
+        FanoutAccounting fanout = new FanoutAccounting(registry, Clock.systemUTC());
+        SpectatorService spectators = new SpectatorService(template,
+                new TimingWheel(Duration.ofMillis(100), 512, Clock.systemUTC()), new ObjectMapper(), fanout, registry);
+        ReflectionTestUtils.setField(spectators, "delay", Duration.ZERO);
+
+        sink = new StompGameEventSink(template, outbox, spectators, new MoveGenerator(), fanout);
+        ReflectionTestUtils.setField(sink, "journalSize", 256);
+        state = Fixtures.game(Fixtures.headless(), "FANOUT", players);
+    }
+
+    @Benchmark
+    public void broadcastState() {
+        sink.onStateChanged(state);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.bang.bench;
+
+import com.example.bang.model.Card;
+import com.example.bang.model.CardColor;
+import com.example.bang.model.CardSuit;
+import com.example.bang.model.CardType;
+import com.example.bang.model.CharacterType;
+import com.example.bang.model.GamePhase;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Player;
+import com.example.bang.service.GameService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A BANG! answered with a Missed! through the public GameService commands, starting from a fresh copy
+ * of the same position each time. {@link #copyOnly} is the cost of that copy on its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandBenchmark {
+
+    private static final String ROOM = "CMD";
+
+    GameService engine;
+    GameState position;
+    String attackerId;
+    String targetId;
+
+    @Setup
+    public void setUp() {
+        engine = Fixtures.headless();
+        position = Fixtures.game(engine, ROOM, 5);
+        position.setPhase(GamePhase.PLAY_PHASE);
+
+        Player attacker = position.getCurrentPlayer();
+        position.nextPlayer();
+        Player target = position.getCurrentPlayer();
+        position.setCurrentPlayerIndex(position.getPlayers().indexOf(attacker));
+
+        // Characters without BANG!/Missed! abilities, so the sequence is the same every time
+        attacker.setCharacter(CharacterType.BLACK_JACK);
+        target.setCharacter(CharacterType.SID_KETCHUM);
+        attacker.getHand().add(card("bench-bang", CardType.BANG));
+        target.getHand().add(card("bench-missed", CardType.MISSED));
+        attackerId = attacker.getId();
+        targetId = target.getId();
+
+        GameState check = bangAnsweredWithMissed();
+        if (check.getPhase() != GamePhase.PLAY_PHASE || check.getPlayerById(targetId).findCardInHand("bench-missed") != null) {
+            throw new IllegalStateException("Benchmark position did not play out, ended in " + check.getPhase());
+        }
+    }
+
+    @Benchmark
+    public GameState copyOnly() {
+        return position.copy(new Random(7));
+    }
+
+    @Benchmark
+    public GameState bangAnsweredWithMissed() {
+        GameState state = position.copy(new Random(7));
+        engine.registerGame(state);
+        engine.playCard(ROOM, attackerId, "bench-bang", targetId, null);
+        engine.respondToAction(ROOM, targetId, "bench-missed", true);
+        return state;
+    }
+
+    private static Card card(String id, CardType type) {
+        return Card.builder().id(id).type(type).suit(CardSuit.SPADES).value("A").color(CardColor.BROWN).build();
+    }
+}
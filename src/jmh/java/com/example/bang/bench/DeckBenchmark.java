@@ -0,0 +1,43 @@
+package com.example.bang.bench;
+
+import com.example.bang.model.Card;
+import com.example.bang.model.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drawing a card and discarding it again. Once the draw pile runs dry the discard pile is reshuffled
+ * back in, so the average includes the reshuffle amortized over the deck.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    GameState state;
+
+    @Setup
+    public void setUp() {
+        state = Fixtures.game(Fixtures.headless(), "DECK", 7);
+    }
+
+    @Benchmark
+    public Card drawAndDiscard() {
+        Card card = state.drawCard();
+        state.discardCard(card);
+        return card;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.bang.bench;
+
+import com.example.bang.model.GameState;
+import com.example.bang.model.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Every seat's distance to every other seat, as bots and target checks compute it. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistanceBenchmark {
+
+    @Param({"4", "7"})
+    int players;
+
+    GameState state;
+
+    @Setup
+    public void setUp() {
+        state = Fixtures.game(Fixtures.headless(), "DIST", players);
+    }
+
+    @Benchmark
+    public int allPairs() {
+        int sum = 0;
+        for (Player from : state.getPlayers()) {
+            for (Player to : state.getPlayers()) {
+                if (from != to) sum += state.calculateDistance(from, to);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.bang.bench;
+
+import com.example.bang.model.GameState;
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.Room;
+import com.example.bang.service.DeckBuilder;
+import com.example.bang.service.GameService;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded positions shared by the benchmarks, so every run measures the same deal.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static GameState game(GameService engine, String roomId, int players) {
+        Room room = Room.builder().id(roomId).name("bench").build();
+        for (int i = 0; i < players; i++) {
+            room.addPlayer(PlayerInfo.builder()
+                    .id("p" + i)
+                    .sessionId("s" + i)
+                    .principalName("user" + i)
+                    .name("Player " + i)
+                    .ready(true)
+                    .build());
+        }
+        return engine.initializeGame(room, new Random(players));
+    }
+
+    static GameService headless() {
+        return new GameService(new DeckBuilder(), List.of());
+    }
+}
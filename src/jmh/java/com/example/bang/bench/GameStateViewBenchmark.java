@@ -0,0 +1,47 @@
+package com.example.bang.bench;
+
+import com.example.bang.dto.GameStateView;
+import com.example.bang.model.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Building the public and a personal view, once per state change and player. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStateViewBenchmark {
+
+    @Param({"4", "5", "6", "7"})
+    int players;
+
+    GameState state;
+
+    @Setup
+    public void setUp() {
+        state = Fixtures.game(Fixtures.headless(), "VIEW", players);
+    }
+
+    @Benchmark
+    public GameStateView publicView() {
+        return GameStateView.fromGameState(state, null);
+    }
+
+    @Benchmark
+    public GameStateView personalView() {
+        return GameStateView.fromGameState(state, "p0");
+    }
+}
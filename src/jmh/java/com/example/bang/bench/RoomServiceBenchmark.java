@@ -0,0 +1,81 @@
+package com.example.bang.bench;
+
+import com.example.bang.service.AdmissionControl;
+import com.example.bang.service.LobbyDirectory;
+import com.example.bang.service.RoomCodeAllocator;
+import com.example.bang.service.RoomExpiryIndex;
+import com.example.bang.service.RoomService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lobby churn: four threads joining and leaving a small set of rooms, so the session map, the rooms and
+ * the lobby directory are contended.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RoomServiceBenchmark {
+
+    private static final int ROOMS = 16;
+
+    RoomService rooms;
+    final List<String> roomIds = new ArrayList<>();
+    final AtomicInteger sessions = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Session {
+        String sessionId;
+
+        @Setup
+        public void setUp(RoomServiceBenchmark benchmark) {
+            sessionId = "session-" + benchmark.sessions.incrementAndGet();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        AdmissionControl admission = new AdmissionControl(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(admission, "maxRooms", Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(admission, "maxSessions", Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(admission, "maxInboundLatency", Duration.ofDays(1));
+        RoomCodeAllocator codes = new RoomCodeAllocator(Clock.systemUTC());
+        ReflectionTestUtils.setField(codes, "quarantineTime", Duration.ofHours(1));
+
+        rooms = new RoomService(new RoomExpiryIndex(Clock.systemUTC()), new LobbyDirectory(null), codes, admission,
+                Clock.systemUTC());
+        for (int i = 0; i < ROOMS; i++) {
+            roomIds.add(rooms.createRoom("bench " + i, "host-" + i, "host" + i, "Host " + i).getId());
+        }
+    }
+
+    @Benchmark
+    public Object joinAndLeave(Session session) {
+        String roomId = roomIds.get(ThreadLocalRandom.current().nextInt(ROOMS));
+        rooms.joinRoom(roomId, session.sessionId, session.sessionId, "Guest");
+        return rooms.leaveRoom(session.sessionId);
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.bang.bot;
+
+import com.example.bang.model.BotDifficulty;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Move;
+import com.example.bang.model.Player;
+import com.example.bang.model.StateHash;
+import com.example.bang.service.FanoutAccounting;
+import com.example.bang.service.GameEventSink;
+import com.example.bang.service.GameService;
+import com.example.bang.service.TurnTimeoutService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays bot seats. Whenever a game waits on a bot, one short task is scheduled for that room on a small
+ * shared pool; it picks a move and sends it through the regular GameService commands, which in turn
+ * schedules the next step. Search bots think on a copy of the game outside the game lock and have their
+ * move re-checked against the live game. Idle bots cost nothing.
+ */
+@Slf4j
+@Component
+@Order(200)
+public class BotDriver implements GameEventSink {
+
+    private static final int MAX_ACTIONS_PER_TURN = 40;
+
+    private final ObjectProvider<GameService> gameService;
+    private final MoveGenerator moveGenerator;
+    private final FanoutAccounting fanoutAccounting;
+    private final Map<BotDifficulty, BotStrategy> strategies = new EnumMap<>(BotDifficulty.class);
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Map<String, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+    private final Map<String, TurnBudget> budgets = new ConcurrentHashMap<>();
+
+    @Value("${bang.bots.think-time:600ms}")
+    private Duration thinkTime;
+
+    public BotDriver(ObjectProvider<GameService> gameService, MoveGenerator moveGenerator,
+                     IsmctsBotStrategy searchStrategy, FanoutAccounting fanoutAccounting,
+                     @Value("${bang.bots.threads:2}") int threads) {
+        this.gameService = gameService;
+        this.moveGenerator = moveGenerator;
+        this.fanoutAccounting = fanoutAccounting;
+        strategies.put(BotDifficulty.RANDOM, new RandomBotStrategy());
+        strategies.put(BotDifficulty.HEURISTIC, new HeuristicBotStrategy());
+        strategies.put(BotDifficulty.SEARCH, searchStrategy);
+
+        AtomicInteger count = new AtomicInteger();
+        this.scheduler = new ScheduledThreadPoolExecutor(threads, r -> {
+            Thread thread = new Thread(r, "bot-driver-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public void onStateChanged(GameState state) {
+        Player bot = awaitedBot(state);
+        if (bot == null) return;
+
+        String roomId = state.getRoomId();
+        pending.computeIfAbsent(roomId, id ->
+                scheduler.schedule(() -> act(id), thinkTime.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public void onGameRemoved(String roomId) {
+        ScheduledFuture<?> task = pending.remove(roomId);
+        if (task != null) task.cancel(false);
+        budgets.remove(roomId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void act(String roomId) {
+        try {
+            step(roomId);
+        } catch (RuntimeException e) {
+            // Keep the scheduler thread alive; the turn deadline will move the game along
+            log.error("Bot step failed in room {}", roomId, e);
+        }
+    }
+
+    private void step(String roomId) {
+        GameService games = gameService.getObject();
+        GameState state = games.getGame(roomId);
+        if (state == null) {
+            pending.remove(roomId);
+            return;
+        }
+
+        GameState snapshot;
+        String botId;
+        long hash;
+        List<Move> moves;
+        synchronized (state) {
+            pending.remove(roomId);
+            Player bot = awaitedBot(state);
+            if (bot == null) return;
+
+            moves = moveGenerator.generate(state, bot);
+            if (moves.isEmpty()) return;
+            if (overBudget(state)) {
+                apply(games, state, bot.getId(), fallback(moves));
+                return;
+            }
+            if (!strategy(bot).searches()) {
+                apply(games, state, bot.getId(), strategy(bot).choose(state, bot, moves));
+                return;
+            }
+            botId = bot.getId();
+            hash = StateHash.of(state);
+            snapshot = state.copy(new Random(ThreadLocalRandom.current().nextLong()));
+        }
+
+        // Searching can take a while; commands, timeouts and broadcasts for this room must not wait on it
+        Player bot = snapshot.getPlayerById(botId);
+        Move move = strategy(bot).choose(snapshot, bot, moves);
+
+        synchronized (state) {
+            // Anything that changed the game meanwhile was broadcast, which scheduled a fresh step
+            if (StateHash.of(state) != hash || state.isGameOver()) return;
+            Player live = awaitedBot(state);
+            if (live == null || !live.getId().equals(botId)) return;
+            apply(games, state, botId, moveGenerator.generate(state, live).contains(move) ? move : fallback(moves));
+        }
+    }
+
+    private void apply(GameService games, GameState state, String botId, Move move) {
+        String roomId = state.getRoomId();
+        long before = StateHash.of(state);
+        fanoutAccounting.begin(roomId, "bot/" + move.type(), state);
+        try {
+            games.apply(roomId, botId, move);
+        } finally {
+            fanoutAccounting.end();
+        }
+        if (StateHash.of(state) == before) {
+            if (budgetSpent(state)) {
+                // Even the fallback was ignored; retrying would spin until the turn deadline moves the game
+                log.warn("Bot {} in room {} is stuck, leaving it to the turn deadline", botId, roomId);
+                return;
+            }
+            // Ignored moves aren't broadcast, so nothing else schedules the next try
+            onStateChanged(state);
+        }
+    }
+
+    private Player awaitedBot(GameState state) {
+        if (state.isGameOver()) return null;
+        String playerId = TurnTimeoutService.awaitedPlayerId(state);
+        Player player = playerId != null ? state.getPlayerById(playerId) : null;
+        return player != null && player.isBot() ? player : null;
+    }
+
+    private BotStrategy strategy(Player bot) {
+        BotDifficulty difficulty = bot.getBotDifficulty() != null ? bot.getBotDifficulty() : BotDifficulty.HEURISTIC;
+        return strategies.get(difficulty);
+    }
+
+    // Guards against a strategy that keeps choosing moves the engine ignores
+    private boolean overBudget(GameState state) {
+        TurnBudget budget = budgets.compute(state.getRoomId(), (id, b) ->
+                b == null || b.turnNumber() != state.getTurnNumber() ? new TurnBudget(state.getTurnNumber(), 1) : b.next());
+        return budget.actions() > MAX_ACTIONS_PER_TURN;
+    }
+
+    private boolean budgetSpent(GameState state) {
+        TurnBudget budget = budgets.get(state.getRoomId());
+        return budget != null && budget.turnNumber() == state.getTurnNumber() && budget.actions() > MAX_ACTIONS_PER_TURN;
+    }
+
+    private Move fallback(List<Move> moves) {
+        return moves.stream()
+                .filter(m -> m.type() == Move.Type.PASS || m.type() == Move.Type.TAKE_HIT)
+                .findFirst()
+                .orElse(moves.get(moves.size() - 1));
+    }
+
+    private record TurnBudget(int turnNumber, int actions) {
+        TurnBudget next() {
+            return new TurnBudget(turnNumber, actions + 1);
+        }
+    }
+}
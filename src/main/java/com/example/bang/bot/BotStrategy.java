@@ -0,0 +1,24 @@
+package com.example.bang.bot;
+
+import com.example.bang.model.GameState;
+import com.example.bang.model.Move;
+import com.example.bang.model.Player;
+
+import java.util.List;
+
+public interface BotStrategy {
+
+    /**
+     * Picks one of {@code moves}, which is never empty. Called with the game lock held, or on a private
+     * copy of the game without the lock when {@link #searches()}.
+     */
+    Move choose(GameState state, Player bot, List<Move> moves);
+
+    /**
+     * Whether choosing takes long enough that it must not hold the game lock. The driver then passes a
+     * copy of the game and re-checks the move against the live game before playing it.
+     */
+    default boolean searches() {
+        return false;
+    }
+}
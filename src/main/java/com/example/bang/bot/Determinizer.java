@@ -0,0 +1,57 @@
+package com.example.bang.bot;
+
+import com.example.bang.model.Card;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Player;
+import com.example.bang.model.Role;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Samples one complete game state that is consistent with what a single player can see. Hands of the
+ * other players and the draw pile are dealt again from their pooled cards, and the roles of living
+ * players other than the observer and the Sheriff are shuffled among themselves. Everything on the table
+ * stays as it is.
+ */
+final class Determinizer {
+
+    private Determinizer() {
+    }
+
+    static GameState sample(GameState state, String observerId, Random random) {
+        GameState copy = state.copy(new Random(random.nextLong()));
+
+        List<Card> unseen = new ArrayList<>(copy.getDrawPile());
+        List<Player> hidden = new ArrayList<>();
+        for (Player player : copy.getPlayers()) {
+            if (player.getId().equals(observerId)) continue;
+            unseen.addAll(player.getHand());
+            if (player.isAlive() && player.getRole() != Role.SHERIFF) {
+                hidden.add(player);
+            }
+        }
+        Collections.shuffle(unseen, random);
+
+        int next = 0;
+        for (Player player : copy.getPlayers()) {
+            if (player.getId().equals(observerId)) continue;
+            int size = player.getHand().size();
+            player.setHand(new ArrayList<>(unseen.subList(next, next + size)));
+            next += size;
+        }
+        copy.setDrawPile(new ArrayList<>(unseen.subList(next, unseen.size())));
+
+        List<Role> roles = new ArrayList<>(hidden.size());
+        for (Player player : hidden) {
+            roles.add(player.getRole());
+        }
+        Collections.shuffle(roles, random);
+        for (int i = 0; i < hidden.size(); i++) {
+            hidden.get(i).setRole(roles.get(i));
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.bang.bot;
+
+import com.example.bang.model.Card;
+import com.example.bang.model.CardSuit;
+import com.example.bang.model.CardType;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Move;
+import com.example.bang.model.Player;
+import com.example.bang.model.Role;
+
+import java.util.List;
+
+/**
+ * Greedy one-ply bot: scores every move from its own role and the public information, and plays the best
+ * one. Passing scores zero, so anything that looks harmful is skipped.
+ */
+public class HeuristicBotStrategy implements BotStrategy {
+
+    @Override
+    public Move choose(GameState state, Player bot, List<Move> moves) {
+        Move best = moves.get(0);
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (Move move : moves) {
+            double score = score(state, bot, move);
+            if (score > bestScore) {
+                best = move;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private double score(GameState state, Player bot, Move move) {
+        return switch (move.type()) {
+            case DRAW -> 100;
+            case PASS, TAKE_HIT -> 0;
+            case RESPOND -> 10;
+            case USE_ABILITY -> 20; // A free "draw!" before spending a card
+            case DISCARD -> -cardValue(bot.findCardInHand(move.cardId()));
+            case STORE_PICK -> cardValue(findCard(state.getGeneralStoreCards(), move.cardId()));
+            case KIT_CARLSON_KEEP -> move.cardIds().stream()
+                    .mapToDouble(id -> cardValue(findCard(state.getDrawnCardsToChooseFrom(), id)))
+                    .sum();
+            case LUCKY_DUKE_PICK -> luckyDukeScore(state, findCard(state.getLuckyDukeCardsToChooseFrom(), move.cardId()));
+            case PLAY -> playScore(state, bot, bot.findCardInHand(move.cardId()),
+                    move.targetPlayerId() != null ? state.getPlayerById(move.targetPlayerId()) : null);
+        };
+    }
+
+    private double playScore(GameState state, Player bot, Card card, Player target) {
+        if (card == null) return -100;
+        double hostility = target != null ? hostility(state, bot, target) : 0;
+        boolean hurt = bot.getHealth() < bot.getMaxHealth();
+
+        return switch (card.getType()) {
+            case BEER -> bot.getHealth() <= 1 ? 90 : 80;
+            case WELLS_FARGO -> 78;
+            case STAGECOACH -> 75;
+            case BARREL, MUSTANG, SCOPE -> bot.hasCardInPlay(card.getType()) ? -10 : 65;
+            case VOLCANIC, SCHOFIELD, REMINGTON, REV_CARABINE, WINCHESTER ->
+                    card.getWeaponRange() > bot.getWeaponRange() || bot.getWeapon() == null ? 70 : -10;
+            case PANIC, CAT_BALOU -> hostility > 0.3 ? 50 + 20 * hostility : -20;
+            case BANG -> hostility > 0.3 ? 45 + 30 * hostility + (target.getHealth() <= 1 ? 20 : 0) : -30;
+            case DUEL -> hostility > 0.3 && countInHand(bot, CardType.BANG) > 0 ? 35 + 20 * hostility : -30;
+            case JAIL -> hostility > 0.3 ? 40 + 20 * hostility : -30;
+            case GATLING, INDIANS -> netHostility(state, bot) > 0 ? 55 : -5;
+            case SALOON -> hurt ? 50 : -5;
+            case GENERAL_STORE -> 30;
+            case DYNAMITE -> -50;
+            case MISSED -> -100;
+        };
+    }
+
+    /**
+     * How much the bot wants to hurt {@code target}, from -1 (ally) to 1 (known enemy). Only the
+     * Sheriff's role is public, so everyone else is a guess.
+     */
+    private double hostility(GameState state, Player bot, Player target) {
+        Role role = bot.getRole();
+        if (role == null) return 0.5;
+        return switch (role) {
+            case OUTLAW -> target.isSheriff() ? 1.0 : 0.2;
+            case DEPUTY -> target.isSheriff() ? -1.0 : 0.5;
+            case SHERIFF -> 0.6;
+            case RENEGADE -> target.isSheriff() ? (state.getAlivePlayerCount() > 2 ? -0.5 : 1.0) : 0.6;
+        };
+    }
+
+    private double netHostility(GameState state, Player bot) {
+        return state.getAlivePlayers().stream()
+                .filter(p -> !p.getId().equals(bot.getId()))
+                .mapToDouble(p -> hostility(state, bot, p) - 0.3)
+                .sum();
+    }
+
+    private double luckyDukeScore(GameState state, Card card) {
+        if (card == null) return 0;
+        String context = state.getLuckyDukeContext();
+        if (context != null && context.startsWith("DYNAMITE")) {
+            boolean explodes = card.getSuit() == CardSuit.SPADES && isTwoToNine(card.getValue());
+            return explodes ? -10 : 10;
+        }
+        return card.getSuit() == CardSuit.HEARTS ? 10 : 0;
+    }
+
+    private boolean isTwoToNine(String value) {
+        return value != null && value.length() == 1 && value.charAt(0) >= '2' && value.charAt(0) <= '9';
+    }
+
+    private int countInHand(Player bot, CardType type) {
+        return (int) bot.getHand().stream().filter(c -> c.getType() == type).count();
+    }
+
+    private Card findCard(List<Card> cards, String cardId) {
+        if (cards == null) return null;
+        return cards.stream().filter(c -> c.getId().equals(cardId)).findFirst().orElse(null);
+    }
+
+    static double cardValue(Card card) {
+        if (card == null) return 0;
+        return switch (card.getType()) {
+            case BEER, WELLS_FARGO -> 7;
+            case BANG, MISSED, PANIC, STAGECOACH, BARREL -> 6;
+            case CAT_BALOU, GATLING, INDIANS, MUSTANG -> 5;
+            case DUEL, SALOON, SCOPE, JAIL, REMINGTON, REV_CARABINE, WINCHESTER -> 4;
+            case GENERAL_STORE, VOLCANIC, SCHOFIELD -> 3;
+            case DYNAMITE -> 1;
+        };
+    }
+}
@@ -0,0 +1,319 @@
+package com.example.bang.bot;
+
+import com.example.bang.model.GameState;
+import com.example.bang.model.Move;
+import com.example.bang.model.Player;
+import com.example.bang.model.Role;
+import com.example.bang.service.DeckBuilder;
+import com.example.bang.service.GameService;
+import com.example.bang.service.TurnTimeoutService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Information set Monte Carlo tree search. Every iteration samples a full state consistent with what the
+ * bot can see ({@link Determinizer}), walks the shared tree with UCB over the moves that are legal in that
+ * sample, and finishes with a random playout through a private, sink-less GameService. Each node scores
+ * the outcome for the player who made its move, so opponents play for themselves rather than against us.
+ * <p>
+ * The search is root-parallel: one independent tree per worker for the whole time budget, with the root
+ * visit counts summed at the end. Workers come from one bounded pool shared by every table, and each
+ * decision takes only a few of them, so concurrent bot tables queue for search time instead of each
+ * claiming every core; a worker's budget starts when it does.
+ * <p>
+ * Nodes are keyed by the moves leading to them, not by {@code StateHash}: the hash
+ * covers every hand, so two samples of the same information set hash differently and a hash-keyed
+ * transposition table would almost never hit.
+ */
+@Slf4j
+@Component
+public class IsmctsBotStrategy implements BotStrategy {
+
+    private static final double EXPLORATION = 0.7;
+
+    private final MoveGenerator moveGenerator;
+    private final DeckBuilder deckBuilder = new DeckBuilder();
+    private final ExecutorService workers;
+    private final int parallelism;
+    private final Duration budget;
+    private final int rolloutDepth;
+
+    private final Timer searchTimer;
+    private final Counter playoutCounter;
+    private final DistributionSummary rateSummary;
+    private final DistributionSummary depthSummary;
+
+    public IsmctsBotStrategy(MoveGenerator moveGenerator, MeterRegistry meterRegistry,
+                             @Value("${bang.bots.search.threads:0}") int threads,
+                             @Value("${bang.bots.search.parallelism:2}") int parallelism,
+                             @Value("${bang.bots.search.budget:200ms}") Duration budget,
+                             @Value("${bang.bots.search.rollout-depth:200}") int rolloutDepth) {
+        this.moveGenerator = moveGenerator;
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.parallelism = Math.max(1, Math.min(parallelism, poolSize));
+        this.budget = budget;
+        this.rolloutDepth = rolloutDepth;
+
+        AtomicInteger count = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread thread = new Thread(r, "bot-search-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.searchTimer = meterRegistry.timer("bang.bots.search.time");
+        this.playoutCounter = meterRegistry.counter("bang.bots.search.playouts");
+        this.rateSummary = DistributionSummary.builder("bang.bots.search.rate")
+                .description("Playouts per second over all workers, per search")
+                .baseUnit("playouts/s")
+                .register(meterRegistry);
+        this.depthSummary = DistributionSummary.builder("bang.bots.search.depth")
+                .description("Deepest tree node reached, per search")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public Move choose(GameState state, Player bot, List<Move> moves) {
+        if (moves.size() == 1) return moves.get(0);
+        SearchResult result = search(state, bot.getId(), budget);
+        Move best = null;
+        int bestVisits = -1;
+        for (Move move : moves) {
+            int visits = result.visits().getOrDefault(move, 0);
+            if (visits > bestVisits) {
+                best = move;
+                bestVisits = visits;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public boolean searches() {
+        return true;
+    }
+
+    /**
+     * Runs one search from {@code state} as seen by {@code observerId}. The state is only read, its random
+     * generator included, so a search never changes how a seeded game plays out.
+     */
+    public SearchResult search(GameState state, String observerId, Duration timeBudget) {
+        long start = System.nanoTime();
+        GameState root = state.copy(new Random(start));
+
+        List<Future<SearchResult>> futures = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            long seed = start + i;
+            futures.add(workers.submit(() -> new Worker(root, observerId, new Random(seed))
+                    .run(System.nanoTime() + timeBudget.toNanos())));
+        }
+
+        SearchResult merged = new SearchResult(new HashMap<>(), 0, 0, 0);
+        for (Future<SearchResult> future : futures) {
+            try {
+                merged = merged.merge(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.warn("Search worker failed in room {}", state.getRoomId(), e.getCause());
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        searchTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        playoutCounter.increment(merged.playouts());
+        rateSummary.record(merged.playouts() * 1e9 / Math.max(1, elapsed));
+        depthSummary.record(merged.maxDepth());
+        log.debug("Search for {} in room {}: {} playouts, depth {}", observerId, state.getRoomId(),
+                merged.playouts(), merged.maxDepth());
+        return merged;
+    }
+
+    /**
+     * Root visit counts plus statistics. {@code depthTotal / playouts} is the mean tree depth.
+     */
+    public record SearchResult(Map<Move, Integer> visits, long playouts, int maxDepth, long depthTotal) {
+
+        SearchResult merge(SearchResult other) {
+            Map<Move, Integer> sum = new HashMap<>(visits);
+            other.visits.forEach((move, n) -> sum.merge(move, n, Integer::sum));
+            return new SearchResult(sum, playouts + other.playouts, Math.max(maxDepth, other.maxDepth),
+                    depthTotal + other.depthTotal);
+        }
+    }
+
+    private static final class Node {
+        final Node parent;
+        final Move move;
+        final String playerId; // Who made the move leading here
+        final Map<Move, Node> children = new HashMap<>();
+        int visits;
+        int available;
+        double reward;
+
+        Node(Node parent, Move move, String playerId) {
+            this.parent = parent;
+            this.move = move;
+            this.playerId = playerId;
+        }
+    }
+
+    private final class Worker {
+        private final GameState root;
+        private final String observerId;
+        private final Random random;
+        private final GameService engine = new GameService(deckBuilder, List.of());
+        private final Node tree = new Node(null, null, null);
+
+        Worker(GameState root, String observerId, Random random) {
+            this.root = root;
+            this.observerId = observerId;
+            this.random = random;
+        }
+
+        SearchResult run(long deadline) {
+            long playouts = 0;
+            long depthTotal = 0;
+            int maxDepth = 0;
+            do {
+                int depth = iterate();
+                playouts++;
+                depthTotal += depth;
+                maxDepth = Math.max(maxDepth, depth);
+            } while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted());
+
+            Map<Move, Integer> visits = new HashMap<>();
+            tree.children.forEach((move, child) -> visits.put(move, child.visits));
+            return new SearchResult(visits, playouts, maxDepth, depthTotal);
+        }
+
+        private int iterate() {
+            GameState sim = Determinizer.sample(root, observerId, random);
+            engine.registerGame(sim);
+
+            Node node = tree;
+            int depth = 0;
+            boolean expanded = false;
+            while (!expanded) {
+                Player actor = actor(sim);
+                if (actor == null) break;
+                List<Move> moves = moveGenerator.generate(sim, actor);
+                if (moves.isEmpty()) break;
+
+                Node next = null;
+                List<Move> untried = new ArrayList<>();
+                double bestScore = Double.NEGATIVE_INFINITY;
+                for (Move move : moves) {
+                    Node child = node.children.get(move);
+                    if (child == null) {
+                        untried.add(move);
+                        continue;
+                    }
+                    child.available++;
+                    double score = child.reward / child.visits
+                            + EXPLORATION * Math.sqrt(Math.log(child.available) / child.visits);
+                    if (score > bestScore) {
+                        bestScore = score;
+                        next = child;
+                    }
+                }
+                if (!untried.isEmpty()) {
+                    Move move = untried.get(random.nextInt(untried.size()));
+                    next = new Node(node, move, actor.getId());
+                    next.available = 1;
+                    node.children.put(move, next);
+                    expanded = true;
+                }
+                if (!apply(sim, actor, next.move)) break;
+                node = next;
+                depth++;
+            }
+
+            rollout(sim);
+            for (Node n = node; n != null; n = n.parent) {
+                n.visits++;
+                if (n.playerId != null) {
+                    n.reward += reward(sim, n.playerId);
+                }
+            }
+            return depth;
+        }
+
+        private void rollout(GameState sim) {
+            for (int step = 0; step < rolloutDepth; step++) {
+                Player actor = actor(sim);
+                if (actor == null) return;
+                List<Move> moves = moveGenerator.generate(sim, actor);
+                if (moves.isEmpty()) return;
+                if (!apply(sim, actor, moves.get(random.nextInt(moves.size())))) return;
+            }
+        }
+
+        private boolean apply(GameState sim, Player actor, Move move) {
+            try {
+                engine.apply(sim.getRoomId(), actor.getId(), move);
+                return true;
+            } catch (RuntimeException e) {
+                return false; // Treat a move the engine rejects as the end of this line
+            }
+        }
+
+        private Player actor(GameState sim) {
+            if (sim.isGameOver()) return null;
+            String playerId = TurnTimeoutService.awaitedPlayerId(sim);
+            return playerId != null ? sim.getPlayerById(playerId) : null;
+        }
+    }
+
+    /**
+     * 1 for a win and 0 for a loss. Playouts cut off by the depth limit are scored from the surviving
+     * health of the player's side.
+     */
+    static double reward(GameState state, String playerId) {
+        Player player = state.getPlayerById(playerId);
+        Role side = side(player.getRole());
+        if (state.isGameOver()) {
+            if (state.getWinningTeam() == Role.RENEGADE) return playerId.equals(state.getWinnerId()) ? 1 : 0;
+            return side == state.getWinningTeam() ? 1 : 0;
+        }
+
+        int own = 0;
+        int total = 0;
+        for (Player p : state.getPlayers()) {
+            if (!p.isAlive()) continue;
+            total += p.getHealth();
+            if (side(p.getRole()) == side && (side != Role.RENEGADE || p == player)) own += p.getHealth();
+        }
+        double alive = player.isAlive() ? (double) player.getHealth() / player.getMaxHealth() : 0;
+        return 0.5 * alive + 0.5 * (total > 0 ? (double) own / total : 0);
+    }
+
+    private static Role side(Role role) {
+        return role == Role.DEPUTY ? Role.SHERIFF : role;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.bang.bot;
+
+import com.example.bang.model.Card;
+import com.example.bang.model.CardType;
+import com.example.bang.model.CharacterType;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Move;
+import com.example.bang.model.Player;
+import com.example.bang.model.ReactionResponse;
+import com.example.bang.service.GameService;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lists the moves a player can make right now. Mirrors the checks in GameService closely enough that a
+ * bot never picks a move the engine would ignore, and players get the same list with their view.
+ */
+@Component
+public class MoveGenerator {
+
+    public List<Move> generate(GameState state, Player player) {
+        List<Move> moves = new ArrayList<>();
+        Player current = state.getCurrentPlayer();
+        boolean ownTurn = current != null && current.getId().equals(player.getId());
+
+        switch (state.getPhase()) {
+            case DRAW_PHASE -> {
+                if (ownTurn) moves.add(Move.of(Move.Type.DRAW));
+            }
+            case PLAY_PHASE -> {
+                if (ownTurn) {
+                    addPlays(state, player, moves);
+                    moves.add(Move.of(Move.Type.PASS));
+                }
+            }
+            case DISCARD_PHASE -> {
+                if (ownTurn) {
+                    for (Card card : player.getHand()) {
+                        moves.add(Move.withCard(Move.Type.DISCARD, card.getId()));
+                    }
+                }
+            }
+            case REACTION_PHASE -> addReactions(state, player, moves);
+            case GENERAL_STORE_PHASE -> {
+                if (player.getId().equals(state.getPendingActionPlayerId())) {
+                    for (Card card : state.getGeneralStoreCards()) {
+                        moves.add(Move.withCard(Move.Type.STORE_PICK, card.getId()));
+                    }
+                }
+            }
+            case KIT_CARLSON_PHASE -> {
+                List<Card> drawn = state.getDrawnCardsToChooseFrom();
+                if (ownTurn && drawn != null && !drawn.isEmpty()
+                        && drawn.size() <= GameService.kitCarlsonKeepCount(state)) {
+                    moves.add(Move.keep(drawn.stream().map(Card::getId).toList())); // Deck ran short
+                } else if (ownTurn && drawn != null) {
+                    for (int skip = 0; skip < drawn.size(); skip++) {
+                        List<String> kept = new ArrayList<>();
+                        for (int i = 0; i < drawn.size() && kept.size() < 2; i++) {
+                            if (i != skip) kept.add(drawn.get(i).getId());
+                        }
+                        moves.add(Move.keep(kept));
+                    }
+                }
+            }
+            case LUCKY_DUKE_RESOLVE -> {
+                String chooser = state.getPendingActionPlayerId() != null ? state.getPendingActionPlayerId()
+                        : current != null ? current.getId() : null;
+                if (player.getId().equals(chooser)) {
+                    for (Card card : state.getLuckyDukeCardsToChooseFrom()) {
+                        moves.add(Move.withCard(Move.Type.LUCKY_DUKE_PICK, card.getId()));
+                    }
+                }
+            }
+            default -> { }
+        }
+        return moves;
+    }
+
+    private void addPlays(GameState state, Player player, List<Move> moves) {
+        List<Player> others = state.getAlivePlayers().stream().filter(p -> !p.getId().equals(player.getId())).toList();
+
+        for (Card card : player.getHand()) {
+            CardType type = card.getType();
+            switch (type) {
+                case BANG -> {
+                    if (!player.canPlayBang()) break;
+                    for (Player target : others) {
+                        if (state.canTarget(player, target)) moves.add(Move.play(card.getId(), target.getId()));
+                    }
+                }
+                case PANIC -> {
+                    for (Player target : others) {
+                        if (state.calculateDistance(player, target) <= 1) addSteals(card, target, moves);
+                    }
+                }
+                case CAT_BALOU -> {
+                    for (Player target : others) addSteals(card, target, moves);
+                }
+                case DUEL -> {
+                    for (Player target : others) moves.add(Move.play(card.getId(), target.getId()));
+                }
+                case JAIL -> {
+                    for (Player target : others) {
+                        if (!target.isSheriff() && !target.hasCardInPlay(CardType.JAIL)) {
+                            moves.add(Move.play(card.getId(), target.getId()));
+                        }
+                    }
+                }
+                case BEER -> {
+                    if (state.getAlivePlayerCount() > 2 && player.getHealth() < player.getMaxHealth()) {
+                        moves.add(Move.play(card.getId(), null));
+                    }
+                }
+                case MISSED -> { } // Only playable as a reaction
+                default -> moves.add(Move.play(card.getId(), null));
+            }
+        }
+    }
+
+    private void addReactions(GameState state, Player player, List<Move> moves) {
+        boolean concurrent = state.isConcurrentReaction();
+        boolean awaited = concurrent
+                ? state.getPendingActionPlayers().contains(player.getId()) && !state.hasSubmittedReaction(player.getId())
+                : player.getId().equals(state.getPendingActionPlayerId());
+        if (!awaited) return;
+
+        String actionType = state.getPendingActionType();
+        for (Card card : player.getHand()) {
+            if (GameService.isValidReactionCard(actionType, player, card)) {
+                moves.add(Move.withCard(Move.Type.RESPOND, card.getId()));
+            }
+        }
+        if ("BANG".equals(actionType) || "GATLING".equals(actionType)) {
+            addAbilities(state, player, concurrent, moves);
+        }
+        moves.add(Move.of(Move.Type.TAKE_HIT));
+    }
+
+    // Each Barrel or Jourdonnais "draw!"s once: drawn at once in turn, declared ahead in a concurrent reaction
+    private void addAbilities(GameState state, Player player, boolean concurrent, List<Move> moves) {
+        ReactionResponse response = concurrent ? state.getReactionResponses().get(player.getId()) : null;
+        List<String> used = response != null ? response.getAbilityIds() : List.of();
+        if (player.getCharacter() == CharacterType.JOURDONNAIS
+                && !used.contains("JOURDONNAIS") && !state.getUsedReactionAbilities().contains("JOURDONNAIS")) {
+            moves.add(Move.withCard(Move.Type.USE_ABILITY, "JOURDONNAIS"));
+        }
+        for (Card card : player.getInPlay()) {
+            if (card.getType() == CardType.BARREL
+                    && !used.contains(card.getId()) && !state.getUsedReactionAbilities().contains(card.getId())) {
+                moves.add(Move.withCard(Move.Type.USE_ABILITY, card.getId()));
+            }
+        }
+    }
+
+    // Without a target card the engine takes from the hand, then the table; the weapon has to be named
+    private void addSteals(Card card, Player target, List<Move> moves) {
+        if (!target.getHand().isEmpty() || !target.getInPlay().isEmpty()) {
+            moves.add(Move.play(card.getId(), target.getId()));
+        }
+        if (target.getWeapon() != null) {
+            moves.add(new Move(Move.Type.PLAY, card.getId(), target.getId(), target.getWeapon().getId(), null));
+        }
+    }
+}
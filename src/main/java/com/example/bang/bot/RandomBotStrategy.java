@@ -0,0 +1,18 @@
+package com.example.bang.bot;
+
+import com.example.bang.model.GameState;
+import com.example.bang.model.Move;
+import com.example.bang.model.Player;
+
+import java.util.List;
+
+/**
+ * Draws from the game's own random source, so a seeded game replays the same bot choices.
+ */
+public class RandomBotStrategy implements BotStrategy {
+
+    @Override
+    public Move choose(GameState state, Player bot, List<Move> moves) {
+        return moves.get(state.getRandom().nextInt(moves.size()));
+    }
+}
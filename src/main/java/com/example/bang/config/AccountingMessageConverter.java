@@ -0,0 +1,55 @@
+package com.example.bang.config;
+
+import com.example.bang.jfr.SerializeEvent;
+import com.example.bang.service.FanoutAccounting;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.SmartMessageConverter;
+
+/**
+ * Reports the size and encode time of every payload the wrapped converter serializes, to the fan-out
+ * accounting and as a flight recorder event.
+ */
+class AccountingMessageConverter implements SmartMessageConverter {
+
+    private final SmartMessageConverter delegate;
+    private final FanoutAccounting fanoutAccounting;
+
+    AccountingMessageConverter(SmartMessageConverter delegate, FanoutAccounting fanoutAccounting) {
+        this.delegate = delegate;
+        this.fanoutAccounting = fanoutAccounting;
+    }
+
+    @Override
+    public Object fromMessage(Message<?> message, Class<?> targetClass) {
+        return delegate.fromMessage(message, targetClass);
+    }
+
+    @Override
+    public Object fromMessage(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        return delegate.fromMessage(message, targetClass, conversionHint);
+    }
+
+    @Override
+    public Message<?> toMessage(Object payload, MessageHeaders headers) {
+        return toMessage(payload, headers, null);
+    }
+
+    @Override
+    public Message<?> toMessage(Object payload, MessageHeaders headers, Object conversionHint) {
+        SerializeEvent event = new SerializeEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Message<?> message = delegate.toMessage(payload, headers, conversionHint);
+        if (message != null && message.getPayload() instanceof byte[] bytes) {
+            fanoutAccounting.encoded(bytes.length, System.nanoTime() - start);
+            if (event.shouldCommit()) {
+                fanoutAccounting.describe(event);
+                event.payloadType(payload.getClass());
+                event.payloadSize(bytes.length);
+                event.commit();
+            }
+        }
+        return message;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.bang.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Time source for every deadline, TTL and quarantine the services keep. Soak runs swap in a virtual
+ * clock to push days of room churn through in minutes.
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
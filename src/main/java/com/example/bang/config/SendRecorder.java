@@ -0,0 +1,60 @@
+package com.example.bang.config;
+
+import com.example.bang.jfr.SendEvent;
+import com.example.bang.service.FanoutAccounting;
+import jdk.jfr.EventType;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+/**
+ * Flight recorder event for every send into the broker channel, which is where SimpMessagingTemplate
+ * delivers. The channel is synchronous, so the event spans the broker's delivery to each subscriber;
+ * sends made during one, like the resolved destination of convertAndSendToUser, fold into it.
+ */
+class SendRecorder implements ChannelInterceptor {
+
+    private static final EventType SEND_EVENTS = EventType.getEventType(SendEvent.class);
+
+    private final FanoutAccounting fanoutAccounting;
+    private final ThreadLocal<Send> current = ThreadLocal.withInitial(Send::new);
+
+    SendRecorder(FanoutAccounting fanoutAccounting) {
+        this.fanoutAccounting = fanoutAccounting;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        Send send = current.get();
+        if (send.depth++ == 0 && SEND_EVENTS.isEnabled()) {
+            send.event = new SendEvent();
+            send.framesBefore = fanoutAccounting.framesQueued();
+            send.event.begin();
+        }
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        Send send = current.get();
+        if (--send.depth > 0 || send.event == null) return;
+
+        SendEvent event = send.event;
+        send.event = null;
+        event.end();
+        if (event.shouldCommit()) {
+            fanoutAccounting.describe(event);
+            event.destination(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+            event.frames((int) (fanoutAccounting.framesQueued() - send.framesBefore));
+            if (message.getPayload() instanceof byte[] payload) event.payloadSize(payload.length);
+            event.commit();
+        }
+    }
+
+    private static final class Send {
+        int depth;
+        long framesBefore;
+        SendEvent event;
+    }
+}
@@ -1,20 +1,60 @@
 package com.example.bang.config;
 
+import com.example.bang.service.AdmissionControl;
+import com.example.bang.service.CommandMetrics;
+import com.example.bang.service.FanoutAccounting;
+import com.example.bang.service.RoomTopicGuard;
+import com.example.bang.service.SessionOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final SessionOutbox sessionOutbox;
+    private final AdmissionControl admissionControl;
+    private final CommandMetrics commandMetrics;
+    private final FanoutAccounting fanoutAccounting;
+    private final RoomTopicGuard roomTopicGuard;
+
+    @Value("${bang.outbound.send-buffer-limit:512KB}")
+    private DataSize sendBufferLimit;
+
+    @Value("${bang.outbound.send-time-limit:10s}")
+    private Duration sendTimeLimit;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
+        config.configureBrokerChannel().interceptors(new SendRecorder(fanoutAccounting));
     }
 
     @Override
@@ -24,4 +64,61 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setHandshakeHandler(new WebSocketHandshakeHandler())
                 .withSockJS();
     }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // Boot's converters are registered first; wrap the JSON one so serialization is accounted
+        messageConverters.replaceAll(converter -> converter instanceof MappingJackson2MessageConverter json
+                ? new AccountingMessageConverter(json, fanoutAccounting) : converter);
+        return true;
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(roomTopicGuard, admissionControl, commandMetrics);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+                if (sessionId != null) {
+                    sessionOutbox.frameQueued(sessionId);
+                    if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE
+                            && message.getPayload() instanceof byte[] payload) {
+                        fanoutAccounting.frameQueued(payload.length);
+                    }
+                }
+                return message;
+            }
+        });
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Hard per-session bound; SessionOutbox parks state frames well before it is reached
+        registration.setSendBufferSizeLimit((int) sendBufferLimit.toBytes());
+        registration.setSendTimeLimit((int) sendTimeLimit.toMillis());
+        registration.addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(new WrittenFrameCounter(session));
+            }
+        });
+    }
+
+    private class WrittenFrameCounter extends WebSocketSessionDecorator {
+
+        WrittenFrameCounter(WebSocketSession session) {
+            super(session);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            super.sendMessage(message);
+            sessionOutbox.frameWritten(getId());
+        }
+    }
 }
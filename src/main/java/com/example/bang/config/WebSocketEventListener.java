@@ -2,6 +2,7 @@ package com.example.bang.config;
 
 import com.example.bang.dto.RoomMessage;
 import com.example.bang.model.Room;
+import com.example.bang.service.MatchmakingService;
 import com.example.bang.service.RoomService;
 import lombok.RequiredArgsConstructor;
 import java.util.Optional;
@@ -19,6 +20,7 @@ import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 public class WebSocketEventListener {
 
     private final RoomService roomService;
+    private final MatchmakingService matchmakingService;
     private final SimpMessagingTemplate messagingTemplate;
 
     @EventListener
@@ -32,6 +34,7 @@ public class WebSocketEventListener {
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String sessionId = headerAccessor.getSessionId();
+        matchmakingService.cancel(sessionId);
         
         // Get room ID before leaving
         String roomId = roomService.getRoomIdForSession(sessionId);
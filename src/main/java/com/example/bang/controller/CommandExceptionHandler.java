@@ -0,0 +1,26 @@
+package com.example.bang.controller;
+
+import com.example.bang.service.CommandMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+
+/**
+ * Last resort for exceptions thrown by {@code @MessageMapping} methods; the messaging handler would
+ * otherwise swallow them before the inbound interceptors could count them.
+ */
+@Slf4j
+@ControllerAdvice
+@RequiredArgsConstructor
+public class CommandExceptionHandler {
+
+    private final CommandMetrics commandMetrics;
+
+    @MessageExceptionHandler
+    public void handle(Exception e, SimpMessageHeaderAccessor headerAccessor) {
+        commandMetrics.failed(e);
+        log.error("Command {} from session {} failed", headerAccessor.getDestination(), headerAccessor.getSessionId(), e);
+    }
+}
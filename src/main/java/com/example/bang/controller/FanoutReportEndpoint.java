@@ -0,0 +1,28 @@
+package com.example.bang.controller;
+
+import com.example.bang.dto.FanoutReport;
+import com.example.bang.service.FanoutAccounting;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** {@code /actuator/fanout}: the rooms sending the most bytes, in the current and the last closed window. */
+@Component
+@Endpoint(id = "fanout")
+@RequiredArgsConstructor
+public class FanoutReportEndpoint {
+
+    private final FanoutAccounting fanoutAccounting;
+
+    @ReadOperation
+    public Map<String, FanoutReport> report() {
+        Map<String, FanoutReport> reports = new LinkedHashMap<>();
+        reports.put("current", fanoutAccounting.report());
+        reports.put("previous", fanoutAccounting.getPreviousReport());
+        return reports;
+    }
+}
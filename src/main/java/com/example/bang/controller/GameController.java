@@ -3,8 +3,11 @@ package com.example.bang.controller;
 import com.example.bang.dto.GameMessage;
 import com.example.bang.dto.GameStateView;
 import com.example.bang.model.GameState;
+import com.example.bang.model.ReactionPolicy;
+import com.example.bang.service.CommandMetrics;
 import com.example.bang.service.GameService;
 import com.example.bang.service.RoomService;
+import com.example.bang.service.StompGameEventSink;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -13,6 +16,8 @@ import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
+import java.util.Set;
+
 @Slf4j
 @Controller
 @RequiredArgsConstructor
@@ -20,7 +25,9 @@ public class GameController {
 
     private final GameService gameService;
     private final RoomService roomService;
+    private final StompGameEventSink stompSink;
     private final SimpMessagingTemplate messagingTemplate;
+    private final CommandMetrics commandMetrics;
 
     @MessageMapping("/game/state")
     public void getGameState(SimpMessageHeaderAccessor headerAccessor) {
@@ -40,7 +47,11 @@ public class GameController {
             return;
         }
 
-        GameStateView view = GameStateView.fromGameState(state, playerId);
+        // Always answered: the client asks because it lost its view, whatever the broadcasts sent it
+        GameStateView view;
+        synchronized (state) {
+            view = stompSink.buildView(state, playerId);
+        }
         messagingTemplate.convertAndSendToUser(principalName, "/queue/game", view);
         log.info("Sent game state to player {} in room {}", playerId, roomId);
     }
@@ -60,6 +71,24 @@ public class GameController {
         log.debug("Player {} selected Kit Carlson cards in room {}", playerId, roomId);
     }
 
+    @MessageMapping("/game/reactionPolicy")
+    public void setReactionPolicies(@Payload GameMessage message, SimpMessageHeaderAccessor headerAccessor) {
+        String sessionId = headerAccessor.getSessionId();
+        String roomId = roomService.getRoomIdForSession(sessionId);
+        String playerId = roomService.getPlayerIdForSession(sessionId);
+
+        if (roomId == null || playerId == null) {
+            sendError(headerAccessor, "Not in a game");
+            return;
+        }
+
+        Set<ReactionPolicy> policies = message.getReactionPolicies() != null
+                ? message.getReactionPolicies()
+                : Set.of();
+        gameService.setReactionPolicies(roomId, playerId, policies);
+        log.debug("Player {} set reaction policies {} in room {}", playerId, policies, roomId);
+    }
+
     @MessageMapping("/game/luckyDukeSelect")
     public void chooseLuckyDukeCard(@Payload GameMessage message, SimpMessageHeaderAccessor headerAccessor) {
         String sessionId = headerAccessor.getSessionId();
@@ -183,6 +212,7 @@ public class GameController {
     }
 
     private void sendError(SimpMessageHeaderAccessor headerAccessor, String errorMessage) {
+        commandMetrics.rejected();
         String principalName = headerAccessor.getUser() != null ? headerAccessor.getUser().getName() : headerAccessor.getSessionId();
         GameMessage error = GameMessage.builder()
                 .type("ERROR")
@@ -1,9 +1,20 @@
 package com.example.bang.controller;
 
+import com.example.bang.dto.LobbyPage;
+import com.example.bang.dto.LobbyQuery;
+import com.example.bang.dto.ResumePayload;
 import com.example.bang.dto.RoomMessage;
+import com.example.bang.model.BotDifficulty;
+import com.example.bang.model.GameState;
 import com.example.bang.model.Room;
+import com.example.bang.model.RoomSettings;
+import com.example.bang.service.AdmissionRejectedException;
+import com.example.bang.service.CommandMetrics;
 import com.example.bang.service.GameService;
+import com.example.bang.service.LobbyDirectory;
 import com.example.bang.service.RoomService;
+import com.example.bang.service.SpectatorService;
+import com.example.bang.service.StompGameEventSink;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -12,6 +23,7 @@ import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -21,7 +33,32 @@ public class LobbyController {
 
     private final RoomService roomService;
     private final GameService gameService;
+    private final LobbyDirectory lobbyDirectory;
+    private final SpectatorService spectatorService;
+    private final StompGameEventSink stompSink;
     private final SimpMessagingTemplate messagingTemplate;
+    private final CommandMetrics commandMetrics;
+
+    @MessageMapping("/lobby/rooms")
+    public void listRooms(@Payload LobbyQuery query, SimpMessageHeaderAccessor headerAccessor) {
+        String principalName = headerAccessor.getUser() != null ? headerAccessor.getUser().getName() : headerAccessor.getSessionId();
+
+        try {
+            LobbyDirectory.State state = query.getState() != null
+                    ? LobbyDirectory.State.valueOf(query.getState())
+                    : LobbyDirectory.State.OPEN;
+            int limit = query.getLimit() > 0 ? query.getLimit() : 20;
+            LobbyPage page = lobbyDirectory.query(state, query.getMinFreeSeats(), query.getCursor(), limit);
+
+            RoomMessage response = RoomMessage.builder()
+                    .type("ROOM_LIST")
+                    .payload(page)
+                    .build();
+            messagingTemplate.convertAndSendToUser(principalName, "/queue/lobby", response);
+        } catch (IllegalArgumentException e) {
+            sendError(headerAccessor, "Invalid room query: " + e.getMessage());
+        }
+    }
 
     @MessageMapping("/room/create")
     public void createRoom(@Payload RoomMessage message, SimpMessageHeaderAccessor headerAccessor) {
@@ -45,6 +82,8 @@ public class LobbyController {
             broadcastRoomUpdate(room);
             
             log.info("Room created: {} by {}", room.getId(), playerName);
+        } catch (AdmissionRejectedException e) {
+            sendError(headerAccessor, e.getMessage());
         } catch (Exception e) {
             sendError(headerAccessor, "Failed to create room: " + e.getMessage());
         }
@@ -78,6 +117,8 @@ public class LobbyController {
             
             log.info("Player {} (id={}) joined room {}, total players: {}", 
                     playerName, playerId, roomId, room.getPlayers().size());
+        } catch (AdmissionRejectedException e) {
+            sendError(headerAccessor, e.getMessage());
         } catch (Exception e) {
             log.error("Failed to join room: {}", e.getMessage());
             sendError(headerAccessor, "Failed to join room: " + e.getMessage());
@@ -126,6 +167,75 @@ public class LobbyController {
         }
     }
 
+    /**
+     * Single-frame reconnect: rebinds the session and answers with one RESUMED message carrying the
+     * events missed since {@code lastSeq} and the latest state (or a snapshot when the gap is too large).
+     */
+    @MessageMapping("/room/resume")
+    public void resume(@Payload RoomMessage message, SimpMessageHeaderAccessor headerAccessor) {
+        String sessionId = headerAccessor.getSessionId();
+        String principalName = headerAccessor.getUser() != null ? headerAccessor.getUser().getName() : sessionId;
+        String roomId = message.getRoomId();
+        String playerId = message.getPlayerId();
+        long lastSeq = message.getLastSeq() != null ? message.getLastSeq() : -1;
+
+        try {
+            Room room = roomService.reconnect(roomId, playerId, sessionId, principalName);
+
+            ResumePayload payload;
+            GameState game = gameService.getGame(roomId);
+            if (room.isGameStarted() && game != null) {
+                gameService.updatePlayerSession(roomId, playerId, sessionId, principalName);
+                payload = stompSink.resume(game, playerId, lastSeq);
+            } else {
+                payload = ResumePayload.builder().snapshot(true).events(List.of()).room(room).build();
+            }
+
+            RoomMessage response = RoomMessage.builder()
+                    .type("RESUMED")
+                    .roomId(room.getId())
+                    .roomName(room.getName())
+                    .playerId(playerId)
+                    .payload(payload)
+                    .build();
+            messagingTemplate.convertAndSendToUser(principalName, "/queue/lobby", response);
+
+            log.info("Player {} resumed room {} from seq {} ({} missed events{})", playerId, roomId, lastSeq,
+                    payload.getEvents().size(), payload.isSnapshot() ? ", snapshot" : "");
+        } catch (Exception e) {
+            log.error("Failed to resume: {}", e.getMessage());
+            sendError(headerAccessor, "Failed to resume: " + e.getMessage());
+        }
+    }
+
+    @MessageMapping("/room/spectate")
+    public void spectate(@Payload RoomMessage message, SimpMessageHeaderAccessor headerAccessor) {
+        String sessionId = headerAccessor.getSessionId();
+        String principalName = headerAccessor.getUser() != null ? headerAccessor.getUser().getName() : sessionId;
+        String roomId = message.getRoomId();
+
+        Room room = roomService.getRoom(roomId).orElse(null);
+        if (room == null || gameService.getGame(roomId) == null) {
+            sendError(headerAccessor, "No game to watch in room " + roomId);
+            return;
+        }
+        if (!room.getSettings().isAllowSpectators()) {
+            sendError(headerAccessor, "Spectators are not allowed in this room");
+            return;
+        }
+
+        RoomMessage response = RoomMessage.builder()
+                .type("SPECTATING")
+                .roomId(roomId)
+                .roomName(room.getName())
+                .build();
+        messagingTemplate.convertAndSendToUser(principalName, "/queue/lobby", response);
+
+        // Keyframe follows on /user/queue/spectate, then live frames on /topic/room/{id}/spectate
+        spectatorService.join(roomId, sessionId, principalName);
+        log.info("Session {} is spectating room {}", sessionId, roomId);
+    }
+
     @MessageMapping("/room/leave")
     public void leaveRoom(SimpMessageHeaderAccessor headerAccessor) {
         String sessionId = headerAccessor.getSessionId();
@@ -198,6 +308,37 @@ public class LobbyController {
         log.info("Game started in room {}", roomId);
     }
 
+    @MessageMapping("/room/addBot")
+    public void addBot(@Payload RoomMessage message, SimpMessageHeaderAccessor headerAccessor) {
+        String sessionId = headerAccessor.getSessionId();
+
+        try {
+            BotDifficulty difficulty = message.getPayload() != null
+                    ? BotDifficulty.valueOf(message.getPayload().toString())
+                    : BotDifficulty.HEURISTIC;
+            Room room = roomService.addBot(sessionId, difficulty);
+            broadcastRoomUpdate(room);
+            log.info("Added {} bot to room {}", difficulty, room.getId());
+        } catch (Exception e) {
+            log.error("Failed to add bot: {}", e.getMessage());
+            sendError(headerAccessor, "Failed to add bot: " + e.getMessage());
+        }
+    }
+
+    @MessageMapping("/room/settings")
+    public void updateSettings(@Payload RoomSettings settings, SimpMessageHeaderAccessor headerAccessor) {
+        String sessionId = headerAccessor.getSessionId();
+
+        try {
+            Room room = roomService.updateSettings(sessionId, settings);
+            broadcastRoomUpdate(room);
+            log.info("Room {} settings updated: {}", room.getId(), settings);
+        } catch (Exception e) {
+            log.error("Failed to update room settings: {}", e.getMessage());
+            sendError(headerAccessor, "Failed to update settings: " + e.getMessage());
+        }
+    }
+
     @MessageMapping("/room/kick")
     public void kickPlayer(@Payload RoomMessage message, SimpMessageHeaderAccessor headerAccessor) {
         String sessionId = headerAccessor.getSessionId();
@@ -239,6 +380,7 @@ public class LobbyController {
     }
 
     private void sendError(SimpMessageHeaderAccessor headerAccessor, String message) {
+        commandMetrics.rejected();
         String principalName = headerAccessor.getUser() != null ? headerAccessor.getUser().getName() : headerAccessor.getSessionId();
         RoomMessage error = RoomMessage.builder()
                 .type("ERROR")
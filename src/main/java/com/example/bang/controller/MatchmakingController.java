@@ -0,0 +1,68 @@
+package com.example.bang.controller;
+
+import com.example.bang.dto.RoomMessage;
+import com.example.bang.service.AdmissionRejectedException;
+import com.example.bang.service.CommandMetrics;
+import com.example.bang.service.MatchmakingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Controller;
+
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class MatchmakingController {
+
+    private final MatchmakingService matchmakingService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final CommandMetrics commandMetrics;
+
+    @MessageMapping("/matchmaking/join")
+    public void join(@Payload RoomMessage message, SimpMessageHeaderAccessor headerAccessor) {
+        String sessionId = headerAccessor.getSessionId();
+        String principalName = headerAccessor.getUser() != null ? headerAccessor.getUser().getName() : sessionId;
+        String playerName = message.getPlayerName() != null ? message.getPlayerName() : "Player";
+
+        try {
+            int waiting = matchmakingService.enqueue(sessionId, principalName, playerName);
+            RoomMessage response = RoomMessage.builder()
+                    .type("MATCHMAKING_QUEUED")
+                    .playerName(playerName)
+                    .payload(waiting)
+                    .build();
+            messagingTemplate.convertAndSendToUser(principalName, "/queue/lobby", response);
+            log.debug("Session {} queued for matchmaking ({} waiting)", sessionId, waiting);
+        } catch (AdmissionRejectedException e) {
+            sendError(headerAccessor, e.getMessage());
+        } catch (Exception e) {
+            sendError(headerAccessor, "Failed to join matchmaking: " + e.getMessage());
+        }
+    }
+
+    @MessageMapping("/matchmaking/leave")
+    public void leave(SimpMessageHeaderAccessor headerAccessor) {
+        String sessionId = headerAccessor.getSessionId();
+        String principalName = headerAccessor.getUser() != null ? headerAccessor.getUser().getName() : sessionId;
+
+        if (matchmakingService.cancel(sessionId)) {
+            RoomMessage response = RoomMessage.builder()
+                    .type("MATCHMAKING_CANCELLED")
+                    .build();
+            messagingTemplate.convertAndSendToUser(principalName, "/queue/lobby", response);
+        }
+    }
+
+    private void sendError(SimpMessageHeaderAccessor headerAccessor, String message) {
+        commandMetrics.rejected();
+        String principalName = headerAccessor.getUser() != null ? headerAccessor.getUser().getName() : headerAccessor.getSessionId();
+        RoomMessage error = RoomMessage.builder()
+                .type("ERROR")
+                .payload(message)
+                .build();
+        messagingTemplate.convertAndSendToUser(principalName, "/queue/lobby", error);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bang.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/** Rooms with the most outbound traffic in one accounting window, heaviest first. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FanoutReport {
+    private long windowStart;
+    private long windowEnd;
+    private List<RoomFanout> rooms;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoomFanout {
+        private String roomId;
+        private int players;
+        private long commands;
+        private long messages;     // Payloads serialized
+        private long frames;       // Deliveries to sessions
+        private long encodedBytes;
+        private long sentBytes;
+        private double encodeMillis;
+        private Map<String, Long> sentBytesByCommand;
+    }
+}
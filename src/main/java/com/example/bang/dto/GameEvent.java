@@ -19,6 +19,7 @@ public class GameEvent {
     private String cardId;
     private Object data;
     private long timestamp;
+    private long seq;
 
     public static GameEvent create(String type) {
         return GameEvent.builder()
@@ -1,10 +1,14 @@
 package com.example.bang.dto;
 
+import com.example.bang.model.ReactionPolicy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+import java.util.Set;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,7 +19,8 @@ public class GameMessage {
     private String targetPlayerId;
     private String cardId;
     private String targetCardId;
-    private java.util.List<String> cardIds;
+    private List<String> cardIds;
+    private Set<ReactionPolicy> reactionPolicies;
     private String roomId;
     private Object payload;
 }
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @Data
 @Builder
@@ -15,6 +16,7 @@ import java.util.List;
 @AllArgsConstructor
 public class GameStateView {
     private String roomId;
+    private long seq;
     private GamePhase phase;
     private String currentPlayerId;
     private String currentPlayerName;
@@ -23,17 +25,23 @@ public class GameStateView {
     private int discardPileSize;
     private Card topDiscardCard;
     private String pendingActionPlayerId;
+    private List<String> pendingActionPlayers;
+    private boolean concurrentReaction;
+    private List<String> respondedPlayerIds;
     private String pendingActionType;
     private String pendingActionSourcePlayerId;
     private int missedCardsRequired;
-    private java.util.Set<String> usedReactionAbilities;
+    private Set<String> usedReactionAbilities;
     private List<Card> generalStoreCards;
     private List<Card> drawnCardsToChooseFrom;
     private List<Card> luckyDukeCardsToChooseFrom;
     private String luckyDukeContext;
     private String winnerId;
     private Role winningTeam;
+    private long actionDeadline;
+    private String actionDeadlinePlayerId;
     private List<GameEvent> recentEvents;
+    private List<Move> legalMoves; // Only included for the requesting player
 
     public static GameStateView fromGameState(GameState state, String requestingPlayerId) {
         List<PlayerView> playerViews = new ArrayList<>();
@@ -61,6 +69,11 @@ public class GameStateView {
                 .discardPileSize(state.getDiscardPile().size())
                 .topDiscardCard(topDiscard)
                 .pendingActionPlayerId(state.getPendingActionPlayerId())
+                .pendingActionPlayers(state.getPendingActionPlayers())
+                .concurrentReaction(state.isConcurrentReaction())
+                .respondedPlayerIds(state.isConcurrentReaction()
+                        ? state.getPendingActionPlayers().stream().filter(state::hasSubmittedReaction).toList()
+                        : null)
                 .pendingActionType(state.getPendingActionType())
                 .pendingActionSourcePlayerId(state.getPendingActionSourcePlayerId())
                 .missedCardsRequired(state.getMissedCardsRequired())
@@ -83,6 +96,8 @@ public class GameStateView {
                 .luckyDukeContext(state.getLuckyDukeContext())
                 .winnerId(state.getWinnerId())
                 .winningTeam(state.getWinningTeam())
+                .actionDeadline(state.getActionDeadline())
+                .actionDeadlinePlayerId(state.getActionDeadlinePlayerId())
                 .build();
     }
 }
@@ -0,0 +1,18 @@
+package com.example.bang.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LobbyDelta {
+    private long version;
+    private List<RoomListing> upserted;
+    private List<String> removed;
+}
@@ -0,0 +1,18 @@
+package com.example.bang.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LobbyPage {
+    private List<RoomListing> rooms;
+    private String nextCursor; // Null on the last page
+    private long version;      // Deltas with a higher version apply on top of this page
+}
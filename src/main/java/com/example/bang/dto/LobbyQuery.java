@@ -0,0 +1,17 @@
+package com.example.bang.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LobbyQuery {
+    private String state;       // Defaults to OPEN
+    private int minFreeSeats;
+    private String cursor;      // nextCursor of the previous page
+    private int limit;
+}
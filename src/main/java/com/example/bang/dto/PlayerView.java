@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Set;
 
 @Data
 @Builder
@@ -27,6 +28,7 @@ public class PlayerView {
     private int seatPosition;
     private Role role; // Only visible if sheriff or if viewing own role
     private List<Card> hand; // Only included for the requesting player
+    private Set<ReactionPolicy> reactionPolicies; // Only included for the requesting player
 
     public static PlayerView fromPlayer(Player player, boolean includeHand, boolean includeRole) {
         return PlayerView.builder()
@@ -44,6 +46,7 @@ public class PlayerView {
                 .seatPosition(player.getSeatPosition())
                 .role(includeRole ? player.getRole() : null)
                 .hand(includeHand ? player.getHand() : null)
+                .reactionPolicies(includeHand ? player.getReactionPolicies() : null)
                 .build();
     }
 }
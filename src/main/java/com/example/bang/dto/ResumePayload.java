@@ -0,0 +1,21 @@
+package com.example.bang.dto;
+
+import com.example.bang.model.Room;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumePayload {
+    private long seq;                 // Sequence the client is caught up to after applying this
+    private boolean snapshot;         // True when the gap was too large and only the state is sent
+    private List<GameEvent> events;   // Missed events in order, empty on a snapshot
+    private GameStateView state;      // Latest personal view, null while still in the lobby
+    private Room room;                // Only while still in the lobby
+}
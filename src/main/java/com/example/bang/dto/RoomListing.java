@@ -0,0 +1,20 @@
+package com.example.bang.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomListing {
+    private String roomId;
+    private String name;
+    private String state; // OPEN, FULL or STARTED
+    private int players;
+    private int maxPlayers;
+    private int freeSeats;
+    private long createdAt;
+}
@@ -16,4 +16,5 @@ public class RoomMessage {
     private String playerId;
     private String playerName;
     private Object payload;
+    private Long lastSeq; // Last game sequence the client saw, sent with /room/resume
 }
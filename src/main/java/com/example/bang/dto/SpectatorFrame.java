@@ -0,0 +1,17 @@
+package com.example.bang.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpectatorFrame {
+    private String type; // STATE or EVENT
+    private String roomId;
+    private long seq;
+    private Object payload;
+}
@@ -0,0 +1,44 @@
+package com.example.bang.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Common fields of the server's Flight Recorder events: the room and command being handled when the
+ * event was taken. Events cost a flag check unless a recording enables them, so they can stay on in
+ * production, e.g. {@code -XX:StartFlightRecording:settings=profile}; filter on the "Bang" category.
+ */
+@Category("Bang")
+@StackTrace(false)
+public abstract class BangEvent extends Event {
+
+    @Label("Room")
+    String roomId;
+
+    @Label("Command")
+    String command;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Players")
+    int players;
+
+    @Label("Payload Size")
+    @DataAmount
+    long payloadSize;
+
+    public void scope(String roomId, String command, String phase, int players) {
+        this.roomId = roomId;
+        this.command = command;
+        this.phase = phase;
+        this.players = players;
+    }
+
+    public void payloadSize(long bytes) {
+        this.payloadSize = bytes;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.bang.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("bang.Command")
+@Label("Command")
+@Description("Dispatch of an inbound STOMP command, from the inbound channel to the end of its handler")
+public class CommandEvent extends BangEvent {
+
+    @Label("Outcome")
+    String outcome;
+
+    public void outcome(String outcome) {
+        this.outcome = outcome;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.bang.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("bang.Send")
+@Label("Send")
+@Description("Message sent through SimpMessagingTemplate, including the broker's delivery to every subscriber")
+public class SendEvent extends BangEvent {
+
+    @Label("Destination")
+    String destination;
+
+    @Label("Frames")
+    int frames;
+
+    public void destination(String destination) {
+        this.destination = destination;
+    }
+
+    public void frames(int frames) {
+        this.frames = frames;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.bang.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("bang.Serialize")
+@Label("Serialize")
+@Description("Outbound payload written to JSON")
+public class SerializeEvent extends BangEvent {
+
+    @Label("Payload Type")
+    String payloadType;
+
+    public void payloadType(Class<?> type) {
+        this.payloadType = type.getSimpleName();
+    }
+}
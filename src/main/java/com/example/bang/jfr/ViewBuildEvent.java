@@ -0,0 +1,18 @@
+package com.example.bang.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("bang.ViewBuild")
+@Label("View Build")
+@Description("GameStateView built from a game state, public or for one player")
+public class ViewBuildEvent extends BangEvent {
+
+    @Label("Personal")
+    boolean personal;
+
+    public void personal(boolean personal) {
+        this.personal = personal;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.bang.model;
+
+public enum BotDifficulty {
+    RANDOM,    // Any legal move
+    HEURISTIC, // Role-aware priorities
+    SEARCH     // Monte Carlo search over sampled hidden hands and roles
+}
@@ -3,19 +3,30 @@ package com.example.bang.model;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class GameState {
     private String roomId;
     private String roomName;
     private String hostPlayerId;
+
+    @Builder.Default
+    private RoomSettings settings = new RoomSettings();
     
     @Builder.Default
     private List<Player> players = new ArrayList<>();
@@ -28,6 +39,10 @@ public class GameState {
     
     private int currentPlayerIndex;
     private GamePhase phase;
+    private int turnNumber;
+
+    private long actionDeadline; // Epoch millis, 0 when nobody is being waited on
+    private String actionDeadlinePlayerId;
     
     private String pendingActionPlayerId;
     @Builder.Default
@@ -38,7 +53,11 @@ public class GameState {
     private int missedCardsRequired;
 
     @Builder.Default
-    private java.util.Set<String> usedReactionAbilities = new java.util.HashSet<>();
+    private Set<String> usedReactionAbilities = new HashSet<>();
+
+    private boolean concurrentReaction;
+    @Builder.Default
+    private Map<String, ReactionResponse> reactionResponses = new HashMap<>();
     
     @Builder.Default
     private List<Card> generalStoreCards = new ArrayList<>();
@@ -54,6 +73,17 @@ public class GameState {
     private String winnerId;
     private Role winningTeam;
 
+    // StateHash of the state last handed to the sinks
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private long publishedHash;
+
+    // Every random rule decision of this game; seeded for simulations and replays
+    @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Random random = new Random();
+
     public Player getCurrentPlayer() {
         if (players.isEmpty() || currentPlayerIndex < 0 || currentPlayerIndex >= players.size()) {
             return null;
@@ -61,11 +91,12 @@ public class GameState {
         return players.get(currentPlayerIndex);
     }
 
+    // Lookups below run several times per command, so they loop instead of streaming
     public Player getPlayerById(String playerId) {
-        return players.stream()
-                .filter(p -> p.getId().equals(playerId))
-                .findFirst()
-                .orElse(null);
+        for (Player p : players) {
+            if (p.getId().equals(playerId)) return p;
+        }
+        return null;
     }
 
     public Player getPlayerBySessionId(String sessionId) {
@@ -82,7 +113,24 @@ public class GameState {
     }
 
     public int getAlivePlayerCount() {
-        return (int) players.stream().filter(Player::isAlive).count();
+        int count = 0;
+        for (Player p : players) {
+            if (p.isAlive()) count++;
+        }
+        return count;
+    }
+
+    /**
+     * The next living player clockwise from {@code current}, or null when nobody else is alive.
+     */
+    public Player getNextAlivePlayer(Player current) {
+        int index = players.indexOf(current);
+        if (index == -1 || !current.isAlive()) return null;
+        for (int i = 1; i < players.size(); i++) {
+            Player next = players.get((index + i) % players.size());
+            if (next.isAlive()) return next;
+        }
+        return null;
     }
 
     public void nextPlayer() {
@@ -98,13 +146,19 @@ public class GameState {
     }
 
     public int calculateDistance(Player from, Player to) {
-        List<Player> alivePlayers = getAlivePlayers();
-        int fromPos = alivePlayers.indexOf(from);
-        int toPos = alivePlayers.indexOf(to);
+        // Seat positions counting living players only
+        int fromPos = -1;
+        int toPos = -1;
+        int size = 0;
+        for (Player p : players) {
+            if (!p.isAlive()) continue;
+            if (p == from) fromPos = size;
+            if (p == to) toPos = size;
+            size++;
+        }
         
         if (fromPos == -1 || toPos == -1) return Integer.MAX_VALUE;
         
-        int size = alivePlayers.size();
         int clockwise = Math.abs(toPos - fromPos);
         int counterClockwise = size - clockwise;
         
@@ -147,7 +201,12 @@ public class GameState {
         discardPile.clear();
         discardPile.add(topCard);
         
-        java.util.Collections.shuffle(drawPile);
+        Collections.shuffle(drawPile, random);
+    }
+
+    public boolean hasSubmittedReaction(String playerId) {
+        ReactionResponse response = reactionResponses.get(playerId);
+        return response != null && response.isSubmitted();
     }
 
     public boolean isGameOver() {
@@ -155,14 +214,45 @@ public class GameState {
     }
 
     public Player getSheriff() {
-        return players.stream()
-                .filter(p -> p.getRole() == Role.SHERIFF)
-                .findFirst()
-                .orElse(null);
+        for (Player p : players) {
+            if (p.getRole() == Role.SHERIFF) return p;
+        }
+        return null;
     }
 
     public boolean isSheriffAlive() {
         Player sheriff = getSheriff();
         return sheriff != null && sheriff.isAlive();
     }
+
+    /**
+     * Deep copy for search and simulation: players, piles and pending reactions are copied, cards and
+     * settings are shared since the engine never mutates them. The copy draws its random decisions from
+     * {@code random}; this game's own generator is left untouched.
+     */
+    public GameState copy(Random random) {
+        List<Player> playerCopies = new ArrayList<>(players.size());
+        for (Player player : players) {
+            playerCopies.add(player.copy());
+        }
+        Map<String, ReactionResponse> responses = new HashMap<>();
+        reactionResponses.forEach((id, r) -> responses.put(id, new ReactionResponse(r.getCardId(), new ArrayList<>(r.getAbilityIds()), r.isSubmitted())));
+
+        return toBuilder()
+                .players(playerCopies)
+                .drawPile(copyOf(drawPile))
+                .discardPile(copyOf(discardPile))
+                .pendingActionPlayers(copyOf(pendingActionPlayers))
+                .usedReactionAbilities(new HashSet<>(usedReactionAbilities))
+                .reactionResponses(responses)
+                .generalStoreCards(copyOf(generalStoreCards))
+                .drawnCardsToChooseFrom(copyOf(drawnCardsToChooseFrom))
+                .luckyDukeCardsToChooseFrom(copyOf(luckyDukeCardsToChooseFrom))
+                .random(random)
+                .build();
+    }
+
+    private static <T> List<T> copyOf(List<T> list) {
+        return list != null ? new ArrayList<>(list) : null;
+    }
 }
@@ -0,0 +1,29 @@
+package com.example.bang.model;
+
+import java.util.List;
+
+/**
+ * One command a seat can send, in the same shape the controllers pass to GameService. Players get theirs
+ * with each view and bots choose among them. For {@code USE_ABILITY} the card id is the ability id: a
+ * Barrel's card id or {@code JOURDONNAIS}.
+ */
+public record Move(Type type, String cardId, String targetPlayerId, String targetCardId, List<String> cardIds) {
+
+    public enum Type { DRAW, PLAY, PASS, DISCARD, RESPOND, TAKE_HIT, USE_ABILITY, STORE_PICK, KIT_CARLSON_KEEP, LUCKY_DUKE_PICK }
+
+    public static Move of(Type type) {
+        return new Move(type, null, null, null, null);
+    }
+
+    public static Move withCard(Type type, String cardId) {
+        return new Move(type, cardId, null, null, null);
+    }
+
+    public static Move play(String cardId, String targetPlayerId) {
+        return new Move(Type.PLAY, cardId, targetPlayerId, null, null);
+    }
+
+    public static Move keep(List<String> cardIds) {
+        return new Move(Type.KIT_CARLSON_KEEP, null, null, null, cardIds);
+    }
+}
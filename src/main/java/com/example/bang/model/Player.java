@@ -6,10 +6,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Player {
@@ -32,10 +34,15 @@ public class Player {
     
     private Card weapon;
     private int seatPosition;
+    private boolean bot;
+    private BotDifficulty botDifficulty;
 
     @Builder.Default
     private int bangsPlayedThisTurn = 0;
 
+    @Builder.Default
+    private Set<ReactionPolicy> reactionPolicies = EnumSet.noneOf(ReactionPolicy.class);
+
     public int getHandLimit() {
         return health;
     }
@@ -58,7 +65,14 @@ public class Player {
     }
 
     public boolean hasCardInPlay(CardType type) {
-        return inPlay.stream().anyMatch(c -> c.getType() == type);
+        return findCardInPlay(type) != null;
+    }
+
+    public Card findCardInPlay(CardType type) {
+        for (Card card : inPlay) {
+            if (card.getType() == type) return card;
+        }
+        return null;
     }
 
     public boolean hasBarrelEffect() {
@@ -116,13 +130,26 @@ public class Player {
     }
 
     public Card findCardInHand(String cardId) {
-        return hand.stream()
-                .filter(c -> c.getId().equals(cardId))
-                .findFirst()
-                .orElse(null);
+        for (Card card : hand) {
+            if (card.getId().equals(cardId)) return card;
+        }
+        return null;
     }
 
     public void resetTurn() {
         this.bangsPlayedThisTurn = 0;
     }
+
+    /**
+     * Copy that can be mutated independently. Cards are never mutated by the engine, so they are shared.
+     */
+    public Player copy() {
+        Player copy = toBuilder()
+                .hand(new ArrayList<>(hand))
+                .inPlay(new ArrayList<>(inPlay))
+                .build();
+        copy.setReactionPolicies(reactionPolicies.isEmpty()
+                ? EnumSet.noneOf(ReactionPolicy.class) : EnumSet.copyOf(reactionPolicies));
+        return copy;
+    }
 }
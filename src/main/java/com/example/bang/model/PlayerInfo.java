@@ -16,4 +16,6 @@ public class PlayerInfo {
     private String name;
     private boolean ready;
     private boolean isHost;
+    private boolean bot;
+    private BotDifficulty botDifficulty;
 }
@@ -0,0 +1,8 @@
+package com.example.bang.model;
+
+public enum ReactionPolicy {
+    ASK_ME,            // Always prompt (clears the others)
+    AUTO_BARREL,       // Draw! for Barrel/Jourdonnais before anything else
+    AUTO_MISSED,       // Answer BANG!/Gatling with Missed!, Indians with BANG! (never a Duel)
+    AUTO_TAKE_DAMAGE   // Take the hit when nothing above applied
+}
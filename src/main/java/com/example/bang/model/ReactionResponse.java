@@ -0,0 +1,20 @@
+package com.example.bang.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReactionResponse {
+    private String cardId;     // Missed!/BANG! to answer with, null to take the hit
+    @Builder.Default
+    private List<String> abilityIds = new ArrayList<>(); // Barrel and Jourdonnais "draw!"s, in order, before the card
+    private boolean submitted;
+}
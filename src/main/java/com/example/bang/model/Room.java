@@ -1,5 +1,6 @@
 package com.example.bang.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -27,6 +28,18 @@ public class Room {
     private int maxPlayers = 7;
     
     private boolean gameStarted;
+    private long createdAt;
+
+    // When an eviction sweep first found the running game with nobody connected, 0 otherwise
+    @JsonIgnore
+    private long abandonedSince;
+
+    @Builder.Default
+    private RoomSettings settings = new RoomSettings();
+
+    public boolean hasConnectedPlayers() {
+        return players.stream().anyMatch(p -> p.getSessionId() != null);
+    }
 
     public boolean canStart() {
         return players.size() >= minPlayers && players.size() <= maxPlayers;
@@ -0,0 +1,27 @@
+package com.example.bang.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomSettings {
+    // Apply the outcome right away when the reacting player has no legal answer
+    @Builder.Default
+    private boolean autoResolveReactions = true;
+
+    // Prompt every Gatling/Indians target at once instead of one after another
+    private boolean concurrentReactions;
+
+    // Let anyone watch the public stream through /room/spectate
+    @Builder.Default
+    private boolean allowSpectators = true;
+
+    // Deal Kit Carlson and Lucky Duke into every game (playtesting rule)
+    @Builder.Default
+    private boolean forceKitCarlsonAndLuckyDuke = true;
+}
@@ -0,0 +1,199 @@
+package com.example.bang.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Zobrist-style 64-bit hash of everything players can observe in a game. Every feature (a card in a
+ * zone, a seat's health, the phase, ...) maps to a pseudo-random key and the hash is the sum of the
+ * keys; unlike XOR, equal cards in the same zone don't cancel out. One pass over the ~80 cards costs
+ * far less than building a single view.
+ *
+ * <p>Keys come from card contents and seats rather than card and player ids, so replaying a seed gives
+ * the same hashes. The draw pile only counts by size and deadlines are left out; both follow from the rest.
+ */
+public final class StateHash {
+
+    // Feature tags; each fills the top byte of a key
+    private static final int PHASE = 1;
+    private static final int CURRENT = 2;
+    private static final int TURN = 3;
+    private static final int DRAW_SIZE = 4;
+    private static final int DISCARD_SIZE = 5;
+    private static final int DISCARD_TOP = 6;
+    private static final int HEALTH = 7;
+    private static final int ALIVE = 8;
+    private static final int BANGS = 9;
+    private static final int POLICIES = 10;
+    private static final int HAND = 11;
+    private static final int IN_PLAY = 12;
+    private static final int WEAPON = 13;
+    private static final int PENDING_PLAYER = 14;
+    private static final int PENDING_SOURCE = 15;
+    private static final int PENDING_TYPE = 16;
+    private static final int PENDING_CARD = 17;
+    private static final int PENDING_ORDER = 18;
+    private static final int MISSED_REQUIRED = 19;
+    private static final int CONCURRENT = 20;
+    private static final int RESPONSE_CARD = 21;
+    private static final int RESPONSE_ABILITY = 22;
+    private static final int RESPONSE_SUBMITTED = 23;
+    private static final int USED_ABILITY = 24;
+    private static final int STORE = 25;
+    private static final int KIT_CARLSON = 26;
+    private static final int LUCKY_DUKE = 27;
+    private static final int LUCKY_DUKE_CONTEXT = 28;
+    private static final int WINNER = 29;
+    private static final int WINNING_TEAM = 30;
+
+    private static final int NO_SEAT = 0xFF;
+    private static final ReactionPolicy[] REACTION_POLICIES = ReactionPolicy.values();
+    private static final String JOURDONNAIS = "JOURDONNAIS";
+
+    private StateHash() {
+    }
+
+    public static long of(GameState state) {
+        List<Player> players = state.getPlayers();
+        long hash = key(PHASE, NO_SEAT, ordinal(state.getPhase()))
+                + key(CURRENT, NO_SEAT, state.getCurrentPlayerIndex())
+                + key(TURN, NO_SEAT, state.getTurnNumber())
+                + key(DRAW_SIZE, NO_SEAT, state.getDrawPile().size())
+                + key(DISCARD_SIZE, NO_SEAT, state.getDiscardPile().size());
+        List<Card> discard = state.getDiscardPile();
+        if (!discard.isEmpty()) {
+            hash += card(DISCARD_TOP, NO_SEAT, discard.get(discard.size() - 1));
+        }
+
+        Map<String, ReactionResponse> responses = state.getReactionResponses();
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            hash += key(HEALTH, seat, player.getHealth())
+                    + key(ALIVE, seat, player.isAlive() ? 1 : 0)
+                    + key(BANGS, seat, player.getBangsPlayedThisTurn())
+                    + key(POLICIES, seat, bits(player.getReactionPolicies()));
+            hash += cards(HAND, seat, player.getHand()) + cards(IN_PLAY, seat, player.getInPlay());
+            if (player.getWeapon() != null) {
+                hash += card(WEAPON, seat, player.getWeapon());
+            }
+
+            ReactionResponse response = responses.get(player.getId());
+            if (response != null) {
+                hash += key(RESPONSE_SUBMITTED, seat, response.isSubmitted() ? 1 : 0)
+                        + cardById(RESPONSE_CARD, seat, player.getHand(), response.getCardId());
+                for (String abilityId : response.getAbilityIds()) {
+                    hash += ability(RESPONSE_ABILITY, seat, player, abilityId);
+                }
+            }
+        }
+        if (!state.getUsedReactionAbilities().isEmpty()) {
+            for (String used : state.getUsedReactionAbilities()) {
+                for (int seat = 0; seat < players.size(); seat++) {
+                    hash += ability(USED_ABILITY, seat, players.get(seat), used);
+                }
+            }
+        }
+
+        hash += key(PENDING_PLAYER, NO_SEAT, seatOf(players, state.getPendingActionPlayerId()))
+                + key(PENDING_SOURCE, NO_SEAT, seatOf(players, state.getPendingActionSourcePlayerId()))
+                + key(PENDING_TYPE, NO_SEAT, hash(state.getPendingActionType()))
+                + key(MISSED_REQUIRED, NO_SEAT, state.getMissedCardsRequired())
+                + key(CONCURRENT, NO_SEAT, state.isConcurrentReaction() ? 1 : 0);
+        if (state.getPendingActionCard() != null) {
+            hash += card(PENDING_CARD, NO_SEAT, state.getPendingActionCard());
+        }
+        List<String> order = state.getPendingActionPlayers();
+        for (int i = 0; i < order.size(); i++) {
+            hash += key(PENDING_ORDER, i, seatOf(players, order.get(i)));
+        }
+
+        hash += cards(STORE, NO_SEAT, state.getGeneralStoreCards())
+                + cards(KIT_CARLSON, NO_SEAT, state.getDrawnCardsToChooseFrom())
+                + cards(LUCKY_DUKE, NO_SEAT, state.getLuckyDukeCardsToChooseFrom())
+                + key(LUCKY_DUKE_CONTEXT, NO_SEAT, contextHash(state.getLuckyDukeContext()))
+                + key(WINNER, NO_SEAT, seatOf(players, state.getWinnerId()))
+                + key(WINNING_TEAM, NO_SEAT, ordinal(state.getWinningTeam()));
+        return hash;
+    }
+
+    private static long cards(int tag, int seat, List<Card> cards) {
+        if (cards == null) return 0;
+        long sum = 0;
+        for (Card card : cards) {
+            sum += card(tag, seat, card);
+        }
+        return sum;
+    }
+
+    private static long card(int tag, int seat, Card card) {
+        long content = ((long) ordinal(card.getType()) << 40)
+                | ((long) ordinal(card.getSuit()) << 32)
+                | (hash(card.getValue()) & 0xFFFF_FFFFL);
+        return key(tag, seat, content);
+    }
+
+    private static long cardById(int tag, int seat, List<Card> cards, String cardId) {
+        if (cardId == null) return key(tag, seat, 0);
+        for (Card card : cards) {
+            if (card.getId().equals(cardId)) return card(tag, seat, card);
+        }
+        return key(tag, seat, 1);
+    }
+
+    // Ability ids are Barrel card ids or JOURDONNAIS; Barrels are keyed by content at this seat
+    private static long ability(int tag, int seat, Player player, String abilityId) {
+        if (abilityId == null) return 0;
+        if (JOURDONNAIS.equals(abilityId)) {
+            return player.getCharacter() == CharacterType.JOURDONNAIS ? key(tag, seat, hash(JOURDONNAIS)) : 0;
+        }
+        for (Card card : player.getInPlay()) {
+            if (card.getId().equals(abilityId)) return card(tag, seat, card);
+        }
+        return 0;
+    }
+
+    private static int seatOf(List<Player> players, String playerId) {
+        if (playerId == null) return -1;
+        for (int seat = 0; seat < players.size(); seat++) {
+            if (playerId.equals(players.get(seat).getId())) return seat;
+        }
+        return -2;
+    }
+
+    private static int bits(Set<ReactionPolicy> policies) {
+        if (policies == null || policies.isEmpty()) return 0;
+        int bits = 0;
+        for (ReactionPolicy policy : REACTION_POLICIES) {
+            if (policies.contains(policy)) bits |= 1 << policy.ordinal();
+        }
+        return bits;
+    }
+
+    // Only the "TYPE" part of "TYPE:cardId" contexts, card ids differ between replays
+    private static int contextHash(String context) {
+        if (context == null) return 0;
+        int hash = 0;
+        for (int i = 0; i < context.length() && context.charAt(i) != ':'; i++) {
+            hash = 31 * hash + context.charAt(i);
+        }
+        return hash;
+    }
+
+    private static int hash(String value) {
+        return value != null ? value.hashCode() : 0;
+    }
+
+    private static int ordinal(Enum<?> value) {
+        return value != null ? value.ordinal() : -1;
+    }
+
+    private static long key(int tag, int seat, long value) {
+        long z = ((long) tag << 56) | ((long) (seat & 0xFF) << 48) | (value & 0xFFFF_FFFF_FFFFL);
+        // SplitMix64 finalizer, standing in for a table of random keys
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.bang.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides whether this node takes on more work. New rooms and joins are refused once the configured
+ * room or session capacity is reached, or while inbound message handling is slower than the SLO.
+ * Reconnects and in-game commands are never refused.
+ */
+@Slf4j
+@Component
+public class AdmissionControl implements ExecutorChannelInterceptor {
+
+    private static final double EWMA_ALPHA = 0.1;
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> liveSessions = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Long> handleStart = new ThreadLocal<>();
+    private volatile double latencyEwmaMillis;
+
+    @Value("${bang.admission.max-rooms:10000}")
+    private int maxRooms;
+
+    @Value("${bang.admission.max-sessions:50000}")
+    private int maxSessions;
+
+    @Value("${bang.admission.max-inbound-latency:250ms}")
+    private Duration maxInboundLatency;
+
+    public AdmissionControl(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("bang.inbound.latency.ewma", this, AdmissionControl::getLatencyEwmaMillis);
+        meterRegistry.gaugeCollectionSize("bang.sessions.live", Tags.empty(), liveSessions);
+    }
+
+    public void checkNewRoom(int currentRooms) {
+        if (currentRooms >= maxRooms) {
+            reject("rooms", "Server is at room capacity, please try again later");
+        }
+        checkJoin();
+    }
+
+    public void checkJoin() {
+        if (liveSessions.size() > maxSessions) {
+            reject("sessions", "Server is at player capacity, please try again later");
+        }
+        if (latencyEwmaMillis > maxInboundLatency.toMillis()) {
+            reject("latency", "Server is under heavy load, please try again shortly");
+        }
+    }
+
+    public double getLatencyEwmaMillis() {
+        return latencyEwmaMillis;
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null) {
+            liveSessions.add(sessionId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        liveSessions.remove(event.getSessionId());
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        // The broker and user-destination handlers get every frame too, as near no-ops that would hide a slow app
+        if (!(handler instanceof SimpAnnotationMethodMessageHandler)) return message;
+        handleStart.set(System.nanoTime());
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (!(handler instanceof SimpAnnotationMethodMessageHandler)) return;
+        Long start = handleStart.get();
+        if (start == null) return;
+        handleStart.remove();
+
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+        // Racy read-modify-write is fine for a smoothed signal
+        latencyEwmaMillis = latencyEwmaMillis + EWMA_ALPHA * (millis - latencyEwmaMillis);
+    }
+
+    private void reject(String reason, String message) {
+        meterRegistry.counter("bang.admission.rejected", "reason", reason).increment();
+        log.warn("Admission rejected ({}): {}", reason, message);
+        throw new AdmissionRejectedException(reason, message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.bang.service;
+
+import lombok.Getter;
+
+import java.io.Serial;
+
+/** This node refused new work; the message is meant for the player as is. */
+@Getter
+public class AdmissionRejectedException extends IllegalStateException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String reason; // rooms, sessions or latency
+
+    public AdmissionRejectedException(String reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+}
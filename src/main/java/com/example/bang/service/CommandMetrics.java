@@ -0,0 +1,186 @@
+package com.example.bang.service;
+
+import com.example.bang.jfr.CommandEvent;
+import com.example.bang.model.GamePhase;
+import com.example.bang.model.GameState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.EventType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageMappingInfo;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, outcome and error metrics for every {@code @MessageMapping}, taken on the inbound channel so
+ * controllers only have to report rejects. Destinations are tagged by mapping; anything that matches no
+ * mapping shares one tag, so clients can't mint new time series. Per-room command rates are folded into
+ * a distribution every interval rather than tagged by room, plus gauges for rooms and games by phase.
+ * Each command also opens its fan-out context, so the broadcasts it triggers are accounted to it, and
+ * is recorded as a flight recorder event when a recording enables them.
+ */
+@Component
+public class CommandMetrics implements ExecutorChannelInterceptor {
+
+    private static final String APP_PREFIX = "/app";
+    private static final String UNMATCHED = "unmatched";
+    private static final EventType COMMAND_EVENTS = EventType.getEventType(CommandEvent.class);
+
+    private final MeterRegistry meterRegistry;
+    private final RoomService roomService;
+    private final ObjectProvider<GameService> gameService;
+    private final FanoutAccounting fanoutAccounting;
+    private final ObjectProvider<SimpAnnotationMethodMessageHandler> messageHandler;
+    private final ThreadLocal<Command> current = new ThreadLocal<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> errors = new ConcurrentHashMap<>();
+    private final DistributionSummary roomRates;
+    private volatile Map<String, LongAdder> roomCommands = new ConcurrentHashMap<>();
+    private volatile Set<String> destinations;
+    private long ratesSince = System.nanoTime();
+
+    public CommandMetrics(MeterRegistry meterRegistry, RoomService roomService, ObjectProvider<GameService> gameService,
+                          ObjectProvider<SimpAnnotationMethodMessageHandler> messageHandler,
+                          FanoutAccounting fanoutAccounting) {
+        this.meterRegistry = meterRegistry;
+        this.roomService = roomService;
+        this.gameService = gameService;
+        this.fanoutAccounting = fanoutAccounting;
+        this.messageHandler = messageHandler;
+        this.roomRates = DistributionSummary.builder("bang.rooms.command.rate")
+                .description("Commands per minute sent to each active room")
+                .baseUnit("commands/min")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("bang.rooms.live", roomService, RoomService::getRoomCount).register(meterRegistry);
+        for (GamePhase phase : GamePhase.values()) {
+            Gauge.builder("bang.games.live", gameService, games -> games.getObject().countGames(phase))
+                    .tag("phase", phase.name())
+                    .strongReference(true)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        // The broker and user-destination handlers see every frame too; only the mapping dispatch counts
+        if (!(handler instanceof SimpAnnotationMethodMessageHandler)
+                || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null || !destination.startsWith(APP_PREFIX)) return message;
+
+        Command command = new Command(mapping(destination.substring(APP_PREFIX.length())), System.nanoTime());
+        current.set(command);
+        String roomId = roomService.getRoomIdForSession(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+        if (roomId != null) {
+            roomCommands.computeIfAbsent(roomId, id -> new LongAdder()).increment();
+        }
+        GameState game = roomId != null ? gameService.getObject().getGame(roomId) : null;
+        fanoutAccounting.begin(roomId, command.destination, game);
+        if (COMMAND_EVENTS.isEnabled()) {
+            command.event = new CommandEvent();
+            command.event.begin();
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (!(handler instanceof SimpAnnotationMethodMessageHandler)) return;
+        Command command = current.get();
+        if (command == null) return;
+        if (ex != null) failed(ex);
+        current.remove();
+
+        CommandEvent event = command.event;
+        if (event != null && event.shouldCommit()) {
+            fanoutAccounting.describe(event);
+            event.outcome(command.outcome);
+            if (message.getPayload() instanceof byte[] payload) event.payloadSize(payload.length);
+            event.commit();
+        }
+        fanoutAccounting.end();
+
+        String key = command.destination + ' ' + command.outcome;
+        timers.computeIfAbsent(key, k -> Timer.builder("bang.commands")
+                        .description("Inbound STOMP command handling time")
+                        .tag("destination", command.destination)
+                        .tag("outcome", command.outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(System.nanoTime() - command.start, TimeUnit.NANOSECONDS);
+    }
+
+    /** The command being handled on this thread was refused, e.g. "Not in a game". */
+    public void rejected() {
+        Command command = current.get();
+        if (command != null && command.outcome.equals("ok")) {
+            command.outcome = "rejected";
+        }
+    }
+
+    /** The command being handled on this thread threw. */
+    public void failed(Throwable error) {
+        Command command = current.get();
+        String destination = command != null ? command.destination : UNMATCHED;
+        if (command != null) command.outcome = "error";
+        String type = error.getClass().getSimpleName();
+        errors.computeIfAbsent(destination + ' ' + type, k -> meterRegistry.counter("bang.commands.errors",
+                "destination", destination, "exception", type)).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${bang.metrics.room-rate-interval:60s}")
+    public void publishRoomRates() {
+        Map<String, LongAdder> counts = roomCommands;
+        roomCommands = new ConcurrentHashMap<>();
+        long now = System.nanoTime();
+        double minutes = Math.max(1e-3, (now - ratesSince) / 60e9);
+        ratesSince = now;
+        counts.values().forEach(count -> roomRates.record(count.sum() / minutes));
+    }
+
+    private String mapping(String destination) {
+        Set<String> known = destinations;
+        if (known == null) {
+            known = new HashSet<>();
+            for (Object info : messageHandler.getObject().getHandlerMethods().keySet()) {
+                if (info instanceof SimpMessageMappingInfo mapping) {
+                    known.addAll(mapping.getDestinationConditions().getPatterns());
+                }
+            }
+            destinations = known;
+        }
+        return known.contains(destination) ? destination : UNMATCHED;
+    }
+
+    private static final class Command {
+        final String destination;
+        final long start;
+        String outcome = "ok";
+        CommandEvent event;
+
+        Command(String destination, long start) {
+            this.destination = destination;
+            this.start = start;
+        }
+    }
+}
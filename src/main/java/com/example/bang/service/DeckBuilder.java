@@ -6,12 +6,18 @@ import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 public class DeckBuilder {
 
     public List<Card> createDeck() {
+        return createDeck(ThreadLocalRandom.current());
+    }
+
+    public List<Card> createDeck(Random random) {
         List<Card> deck = new ArrayList<>();
 
         // BANG! cards (25 total)
@@ -132,7 +138,7 @@ public class DeckBuilder {
                 {"8", "SPADES"}
         });
 
-        Collections.shuffle(deck);
+        Collections.shuffle(deck, random);
         return deck;
     }
 
@@ -150,6 +156,10 @@ public class DeckBuilder {
     }
 
     public List<Role> getRolesForPlayerCount(int playerCount) {
+        return getRolesForPlayerCount(playerCount, ThreadLocalRandom.current());
+    }
+
+    public List<Role> getRolesForPlayerCount(int playerCount, Random random) {
         List<Role> roles = new ArrayList<>();
         roles.add(Role.SHERIFF);
         roles.add(Role.RENEGADE);
@@ -181,13 +191,17 @@ public class DeckBuilder {
                 throw new IllegalArgumentException("Player count must be between 4 and 7");
         }
 
-        Collections.shuffle(roles);
+        Collections.shuffle(roles, random);
         return roles;
     }
 
     public List<CharacterType> getRandomCharacters(int count) {
+        return getRandomCharacters(count, ThreadLocalRandom.current());
+    }
+
+    public List<CharacterType> getRandomCharacters(int count, Random random) {
         List<CharacterType> allCharacters = new ArrayList<>(List.of(CharacterType.values()));
-        Collections.shuffle(allCharacters);
+        Collections.shuffle(allCharacters, random);
         return allCharacters.subList(0, Math.min(count, allCharacters.size()));
     }
 }
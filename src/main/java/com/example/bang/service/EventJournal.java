@@ -0,0 +1,59 @@
+package com.example.bang.service;
+
+import com.example.bang.dto.GameEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-room sequence counter plus a fixed-size ring of the most recent events, so a client that
+ * blipped can be sent just what it missed.
+ */
+class EventJournal {
+
+    private final GameEvent[] ring;
+    private long seq;          // Last sequence number handed out
+    private long droppedThrough; // Highest event sequence that fell out of the ring
+    private int head;
+    private int size;
+
+    EventJournal(int capacity) {
+        this.ring = new GameEvent[capacity];
+    }
+
+    synchronized long nextSeq() {
+        return ++seq;
+    }
+
+    synchronized long currentSeq() {
+        return seq;
+    }
+
+    synchronized void append(GameEvent event) {
+        event.setSeq(++seq);
+        if (size == ring.length) {
+            droppedThrough = ring[head].getSeq();
+            size--;
+            head = (head + 1) % ring.length;
+        }
+        ring[(head + size) % ring.length] = event;
+        size++;
+    }
+
+    /**
+     * Events after {@code lastSeq} in order, or null if some of them are no longer retained.
+     */
+    synchronized List<GameEvent> since(long lastSeq) {
+        if (lastSeq < droppedThrough || lastSeq > seq) {
+            return null;
+        }
+        List<GameEvent> missed = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            GameEvent event = ring[(head + i) % ring.length];
+            if (event.getSeq() > lastSeq) {
+                missed.add(event);
+            }
+        }
+        return missed;
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.bang.service;
+
+import com.example.bang.dto.FanoutReport;
+import com.example.bang.jfr.BangEvent;
+import com.example.bang.model.GameState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attributes outbound traffic to the command that caused it. A command opens a context on its thread,
+ * and every payload serialized and every frame queued to a session while it is open counts towards it;
+ * the simple broker delivers on the sending thread, so a broadcast's whole fan-out is seen there.
+ * Totals go to per-command metrics and to a per-room window whose heaviest rooms are kept as a report.
+ * The window closes by the injected clock, checked as commands end and by a periodic job.
+ */
+@Component
+public class FanoutAccounting {
+
+    private static final String UNATTRIBUTED = "unattributed";
+
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final ThreadLocal<Context> current = ThreadLocal.withInitial(Context::new);
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+    private final Meters unattributed;
+    private volatile Map<String, RoomTotals> window = new ConcurrentHashMap<>();
+    private volatile long windowStart;
+    private volatile FanoutReport previous;
+
+    @Value("${bang.metrics.fanout-top:20}")
+    private int topRooms = 20;
+
+    @Value("${bang.metrics.fanout-window:5m}")
+    private Duration windowLength = Duration.ofMinutes(5);
+
+    public FanoutAccounting(MeterRegistry meterRegistry, Clock clock) {
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.unattributed = meters(UNATTRIBUTED, 0);
+        this.windowStart = clock.millis();
+    }
+
+    /**
+     * Opens the context of a command on this thread; a nested call joins the one already open. The game
+     * is null for commands outside one.
+     */
+    public void begin(String roomId, String command, GameState game) {
+        Context context = current.get();
+        if (context.depth++ > 0) return;
+        context.roomId = roomId;
+        context.command = command;
+        context.phase = game != null && game.getPhase() != null ? game.getPhase().name() : null;
+        context.players = game != null ? game.getPlayers().size() : 0;
+        context.messages = 0;
+        context.frames = 0;
+        context.encodedBytes = 0;
+        context.sentBytes = 0;
+        context.encodeNanos = 0;
+    }
+
+    public void end() {
+        Context context = current.get();
+        if (context.depth == 0 || --context.depth > 0) return;
+
+        rollWindow(clock.millis());
+        Meters commandMeters = meters(context.command, context.players);
+        commandMeters.frames.increment(context.frames);
+        commandMeters.encodedBytes.increment(context.encodedBytes);
+        commandMeters.sentBytes.increment(context.sentBytes);
+        commandMeters.framesPerCommand.record(context.frames);
+        commandMeters.encode.record(context.encodeNanos, TimeUnit.NANOSECONDS);
+        if (context.roomId != null) {
+            window.computeIfAbsent(context.roomId, id -> new RoomTotals()).add(context);
+        }
+    }
+
+    /** A payload was serialized on this thread. */
+    public void encoded(int bytes, long nanos) {
+        Context context = current.get();
+        if (context.depth == 0) {
+            unattributed.encodedBytes.increment(bytes);
+            unattributed.encode.record(nanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        context.messages++;
+        context.encodedBytes += bytes;
+        context.encodeNanos += nanos;
+    }
+
+    /** A frame was queued to a session on this thread. */
+    public void frameQueued(int bytes) {
+        Context context = current.get();
+        context.framesQueued++;
+        if (context.depth == 0) {
+            unattributed.frames.increment();
+            unattributed.sentBytes.increment(bytes);
+            return;
+        }
+        context.frames++;
+        context.sentBytes += bytes;
+    }
+
+    /** Command open on this thread, or "unattributed". */
+    public String currentCommand() {
+        Context context = current.get();
+        return context.depth > 0 ? context.command : UNATTRIBUTED;
+    }
+
+    /** Fills a flight recorder event with the command open on this thread. */
+    public void describe(BangEvent event) {
+        Context context = current.get();
+        if (context.depth > 0) {
+            event.scope(context.roomId, context.command, context.phase, context.players);
+        } else {
+            event.scope(null, UNATTRIBUTED, null, 0);
+        }
+    }
+
+    /** Frames queued on this thread so far, attributed or not. */
+    public long framesQueued() {
+        return current.get().framesQueued;
+    }
+
+    /** Heaviest rooms of the window in progress. */
+    public FanoutReport report() {
+        return report(window, windowStart, clock.millis());
+    }
+
+    /** Heaviest rooms of the last completed window, null before the first one closes. */
+    public FanoutReport getPreviousReport() {
+        return previous;
+    }
+
+    /** Catches the window up when no command has ended lately. */
+    @Scheduled(fixedDelayString = "${bang.metrics.fanout-window-check:10s}")
+    public void rollWindow() {
+        rollWindow(clock.millis());
+    }
+
+    /** Closes the window in progress if it has run its length by {@code now}. */
+    public void rollWindow(long now) {
+        if (now - windowStart < windowLength.toMillis()) return;
+        synchronized (this) {
+            if (now - windowStart < windowLength.toMillis()) return;
+            closeWindow(now);
+        }
+    }
+
+    private void closeWindow(long now) {
+        Map<String, RoomTotals> closed = window;
+        long start = windowStart;
+        window = new ConcurrentHashMap<>();
+        windowStart = now;
+        previous = report(closed, start, now);
+    }
+
+    private FanoutReport report(Map<String, RoomTotals> totals, long start, long end) {
+        List<FanoutReport.RoomFanout> rooms = new ArrayList<>(totals.size());
+        totals.forEach((roomId, room) -> rooms.add(room.snapshot(roomId)));
+        rooms.sort(Comparator.comparingLong(FanoutReport.RoomFanout::getSentBytes).reversed());
+        return FanoutReport.builder()
+                .windowStart(start)
+                .windowEnd(end)
+                .rooms(new ArrayList<>(rooms.subList(0, Math.min(topRooms, rooms.size()))))
+                .build();
+    }
+
+    private Meters meters(String command, int players) {
+        return meters.computeIfAbsent(command + '|' + players, key -> new Meters(meterRegistry, command, players));
+    }
+
+    private static final class Context {
+        int depth;
+        String roomId;
+        String command;
+        String phase;
+        int players;
+        long framesQueued;
+        long messages;
+        long frames;
+        long encodedBytes;
+        long sentBytes;
+        long encodeNanos;
+    }
+
+    private static final class Meters {
+        final Counter frames;
+        final Counter encodedBytes;
+        final Counter sentBytes;
+        final DistributionSummary framesPerCommand;
+        final Timer encode;
+
+        Meters(MeterRegistry registry, String command, int players) {
+            String playerCount = Integer.toString(players);
+            frames = registry.counter("bang.fanout.frames", "command", command, "players", playerCount);
+            encodedBytes = registry.counter("bang.fanout.bytes", "command", command, "players", playerCount,
+                    "kind", "encoded");
+            sentBytes = registry.counter("bang.fanout.bytes", "command", command, "players", playerCount,
+                    "kind", "sent");
+            framesPerCommand = DistributionSummary.builder("bang.fanout.frames.per.command")
+                    .tags("command", command, "players", playerCount)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry);
+            encode = Timer.builder("bang.fanout.encode")
+                    .description("Serialization time spent per command")
+                    .tags("command", command, "players", playerCount)
+                    .register(registry);
+        }
+    }
+
+    // Updated by whichever thread finishes a command for the room
+    private static final class RoomTotals {
+        private int players;
+        private long commands;
+        private long messages;
+        private long frames;
+        private long encodedBytes;
+        private long sentBytes;
+        private long encodeNanos;
+        private final Map<String, Long> sentBytesByCommand = new HashMap<>();
+
+        synchronized void add(Context context) {
+            players = context.players;
+            commands++;
+            messages += context.messages;
+            frames += context.frames;
+            encodedBytes += context.encodedBytes;
+            sentBytes += context.sentBytes;
+            encodeNanos += context.encodeNanos;
+            sentBytesByCommand.merge(context.command, context.sentBytes, Long::sum);
+        }
+
+        synchronized FanoutReport.RoomFanout snapshot(String roomId) {
+            return FanoutReport.RoomFanout.builder()
+                    .roomId(roomId)
+                    .players(players)
+                    .commands(commands)
+                    .messages(messages)
+                    .frames(frames)
+                    .encodedBytes(encodedBytes)
+                    .sentBytes(sentBytes)
+                    .encodeMillis(encodeNanos / 1e6)
+                    .sentBytesByCommand(new HashMap<>(sentBytesByCommand))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.bang.service;
+
+import com.example.bang.dto.GameEvent;
+import com.example.bang.model.GameState;
+
+/**
+ * Receives everything the rule engine emits. GameService only talks to sinks, so the engine runs the
+ * same with the STOMP sink, in-process consumers, or no sinks at all. Sinks are called in
+ * {@code @Order} order while the game lock is held and must not block.
+ */
+public interface GameEventSink {
+
+    default void onEvent(String roomId, GameEvent event) {
+    }
+
+    /** The game changed in a way players should see. */
+    default void onStateChanged(GameState state) {
+    }
+
+    default void onGameRemoved(String roomId) {
+    }
+}
@@ -1,11 +1,9 @@
 package com.example.bang.service;
 
 import com.example.bang.dto.GameEvent;
-import com.example.bang.dto.GameStateView;
 import com.example.bang.model.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -17,18 +15,25 @@ import java.util.concurrent.ConcurrentHashMap;
 public class GameService {
 
     private final DeckBuilder deckBuilder;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final List<GameEventSink> sinks;
     private final Map<String, GameState> games = new ConcurrentHashMap<>();
 
     public GameState initializeGame(Room room) {
+        return initializeGame(room, new Random());
+    }
+
+    /**
+     * Deals a new game whose every random decision comes from {@code random}, so a seed replays the same game.
+     */
+    public GameState initializeGame(Room room, Random random) {
         List<PlayerInfo> roomPlayers = room.getPlayers();
         int playerCount = roomPlayers.size();
 
-        List<Role> roles = deckBuilder.getRolesForPlayerCount(playerCount);
-        List<CharacterType> characters = new ArrayList<>(deckBuilder.getRandomCharacters(playerCount));
+        List<Role> roles = deckBuilder.getRolesForPlayerCount(playerCount, random);
+        List<CharacterType> characters = new ArrayList<>(deckBuilder.getRandomCharacters(playerCount, random));
 
         // Ensure Kit Carlson and Lucky Duke are always present for testing
-        if (playerCount >= 2) {
+        if (playerCount >= 2 && room.getSettings().isForceKitCarlsonAndLuckyDuke()) {
             if (!characters.contains(CharacterType.KIT_CARLSON)) {
                 int slot = 0;
                 if (characters.get(slot) == CharacterType.LUCKY_DUKE) slot = 1;
@@ -40,7 +45,7 @@ public class GameService {
                 characters.set(slot, CharacterType.LUCKY_DUKE);
             }
         }
-        List<Card> deck = deckBuilder.createDeck();
+        List<Card> deck = deckBuilder.createDeck(random);
 
         List<Player> players = new ArrayList<>();
         int sheriffIndex = 0;
@@ -70,7 +75,13 @@ public class GameService {
                     .hand(new ArrayList<>())
                     .inPlay(new ArrayList<>())
                     .seatPosition(i)
+                    .bot(info.isBot())
+                    .botDifficulty(info.getBotDifficulty())
                     .build();
+            if (player.isBot()) {
+                // Bots only ever decide Duels themselves
+                player.setReactionPolicies(EnumSet.of(ReactionPolicy.AUTO_BARREL, ReactionPolicy.AUTO_MISSED, ReactionPolicy.AUTO_TAKE_DAMAGE));
+            }
 
             // Deal initial cards equal to health
             for (int j = 0; j < maxHealth && !deck.isEmpty(); j++) {
@@ -84,11 +95,13 @@ public class GameService {
                 .roomId(room.getId())
                 .roomName(room.getName())
                 .hostPlayerId(room.getHostId())
+                .settings(room.getSettings())
                 .players(players)
                 .drawPile(deck)
                 .discardPile(new ArrayList<>())
                 .currentPlayerIndex(sheriffIndex)
                 .phase(GamePhase.DRAW_PHASE)
+                .random(random)
                 .build();
 
         games.put(room.getId(), gameState);
@@ -104,13 +117,56 @@ public class GameService {
         return games.get(roomId);
     }
 
+    public int countGames(GamePhase phase) {
+        int count = 0;
+        for (GameState state : games.values()) {
+            if (state.getPhase() == phase) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Adopts an existing state, e.g. a saved game or a position set up by a test or simulation.
+     */
+    public void registerGame(GameState state) {
+        games.put(state.getRoomId(), state);
+    }
+
+    public void removeGame(String roomId) {
+        games.remove(roomId);
+        for (GameEventSink sink : sinks) {
+            sink.onGameRemoved(roomId);
+        }
+    }
+
+    /**
+     * Sends {@code move} as {@code playerId} through the matching command, as bots, simulations and
+     * replays do.
+     */
+    public void apply(String roomId, String playerId, Move move) {
+        switch (move.type()) {
+            case DRAW -> drawCards(roomId, playerId);
+            case PLAY -> playCard(roomId, playerId, move.cardId(), move.targetPlayerId(), move.targetCardId());
+            case PASS -> passTurn(roomId, playerId);
+            case DISCARD -> discardCard(roomId, playerId, move.cardId());
+            case RESPOND -> respondToAction(roomId, playerId, move.cardId(), true);
+            case TAKE_HIT -> respondToAction(roomId, playerId, null, false);
+            case USE_ABILITY -> useAbility(roomId, playerId, move.cardId());
+            case STORE_PICK -> pickGeneralStoreCard(roomId, playerId, move.cardId());
+            case KIT_CARLSON_KEEP -> selectKitCarlsonCards(roomId, playerId, move.cardIds());
+            case LUCKY_DUKE_PICK -> handleLuckyDukeChoice(roomId, playerId, move.cardId());
+        }
+    }
+
     public void updatePlayerSession(String roomId, String playerId, String newSessionId, String newPrincipalName) {
         GameState state = games.get(roomId);
         if (state != null) {
-            Player player = state.getPlayerById(playerId);
-            if (player != null) {
-                player.setSessionId(newSessionId);
-                player.setPrincipalName(newPrincipalName);
+            synchronized (state) {
+                Player player = state.getPlayerById(playerId);
+                if (player != null) {
+                    player.setSessionId(newSessionId);
+                    player.setPrincipalName(newPrincipalName);
+                }
             }
         }
     }
@@ -119,191 +175,203 @@ public class GameService {
         GameState state = games.get(roomId);
         if (state == null) return;
 
-        Player player = state.getPlayerById(playerId);
-        if (player == null || !player.getId().equals(state.getCurrentPlayer().getId())) {
-            return;
-        }
+        synchronized (state) {
+            Player player = state.getPlayerById(playerId);
+            if (player == null || !player.getId().equals(state.getCurrentPlayer().getId())) {
+                return;
+            }
 
-        if (state.getPhase() != GamePhase.KIT_CARLSON_PHASE) {
-            return;
-        }
+            if (state.getPhase() != GamePhase.KIT_CARLSON_PHASE) {
+                return;
+            }
 
-        if (player.getCharacter() != CharacterType.KIT_CARLSON) {
-            return;
-        }
+            if (player.getCharacter() != CharacterType.KIT_CARLSON) {
+                return;
+            }
 
-        List<Card> drawnCards = state.getDrawnCardsToChooseFrom();
-        if (drawnCards == null || drawnCards.isEmpty()) {
-            return;
-        }
+            List<Card> drawnCards = state.getDrawnCardsToChooseFrom();
+            if (drawnCards == null || drawnCards.isEmpty()) {
+                return;
+            }
 
-        if (keptCardIds == null || keptCardIds.size() != 2) {
-            return;
-        }
+            int keep = kitCarlsonKeepCount(state);
+            if (keptCardIds == null || keptCardIds.size() != keep) {
+                return;
+            }
 
-        List<Card> keptCards = new ArrayList<>();
-        Card returnedCard = null;
+            List<Card> keptCards = new ArrayList<>();
+            Card returnedCard = null;
 
-        for (Card card : drawnCards) {
-            if (keptCardIds.contains(card.getId())) {
-                keptCards.add(card);
-            } else {
-                returnedCard = card;
+            for (Card card : drawnCards) {
+                if (keptCardIds.contains(card.getId())) {
+                    keptCards.add(card);
+                } else {
+                    returnedCard = card;
+                }
             }
-        }
 
-        if (keptCards.size() != 2) {
-            // Invalid selection (e.g. bad IDs)
-            return;
-        }
+            if (keptCards.size() != keep) {
+                // Invalid selection (e.g. bad IDs)
+                return;
+            }
 
-        // Add kept cards to hand
-        for (Card card : keptCards) {
-            player.addCardToHand(card);
-            // We can broadcast a generic "drawn" event so others know they got cards,
-            // but without revealing which ones (though standard draw reveals nothing anyway)
-        }
-        // Broadcast that player drew 2 cards (effectively)
-        broadcastEvent(roomId, GameEvent.cardDrawn(player.getId(), player.getName()));
-        broadcastEvent(roomId, GameEvent.cardDrawn(player.getId(), player.getName()));
+            // Add kept cards to hand
+            for (Card card : keptCards) {
+                player.addCardToHand(card);
+                // We can broadcast a generic "drawn" event so others know they got cards,
+                // but without revealing which ones (though standard draw reveals nothing anyway)
+            }
+            // Broadcast that player drew the kept cards (effectively)
+            for (int i = 0; i < keptCards.size(); i++) {
+                broadcastEvent(roomId, GameEvent.cardDrawn(player.getId(), player.getName()));
+            }
 
-        // Return the other card to top of deck
-        if (returnedCard != null) {
-            state.getDrawPile().add(0, returnedCard);
+            // Return the other card to top of deck
+            if (returnedCard != null) {
+                state.getDrawPile().add(0, returnedCard);
+            }
+
+            state.setDrawnCardsToChooseFrom(new ArrayList<>());
+            state.setPhase(GamePhase.PLAY_PHASE);
+            broadcastGameState(roomId);
         }
+    }
 
-        state.setDrawnCardsToChooseFrom(new ArrayList<>());
-        state.setPhase(GamePhase.PLAY_PHASE);
-        broadcastGameState(roomId);
+    /** Cards Kit Carlson keeps of those drawn: two, or all of them when the deck ran short. */
+    public static int kitCarlsonKeepCount(GameState state) {
+        List<Card> drawn = state.getDrawnCardsToChooseFrom();
+        return drawn != null ? Math.min(2, drawn.size()) : 0;
     }
 
     public void drawCards(String roomId, String playerId) {
         GameState state = games.get(roomId);
         if (state == null) return;
 
-        Player player = state.getPlayerById(playerId);
-        if (player == null || !player.getId().equals(state.getCurrentPlayer().getId())) {
-            return;
-        }
+        synchronized (state) {
+            Player player = state.getPlayerById(playerId);
+            if (player == null || !player.getId().equals(state.getCurrentPlayer().getId())) {
+                return;
+            }
 
-        if (state.getPhase() != GamePhase.DRAW_PHASE) {
-            return;
-        }
+            if (state.getPhase() != GamePhase.DRAW_PHASE) {
+                return;
+            }
 
-        // Handle character abilities for drawing
-        int cardsToDraw = 2;
+            // Handle character abilities for drawing
+            int cardsToDraw = 2;
         
-        // Kit Carlson looks at 3 cards
-        if (player.getCharacter() == CharacterType.KIT_CARLSON) {
-            List<Card> drawnCards = new ArrayList<>();
-            for (int i = 0; i < 3; i++) {
-                Card card = state.drawCard();
-                if (card != null) {
-                    drawnCards.add(card);
+            // Kit Carlson looks at 3 cards
+            if (player.getCharacter() == CharacterType.KIT_CARLSON) {
+                List<Card> drawnCards = new ArrayList<>();
+                for (int i = 0; i < 3; i++) {
+                    Card card = state.drawCard();
+                    if (card != null) {
+                        drawnCards.add(card);
+                    }
                 }
-            }
-            state.setDrawnCardsToChooseFrom(drawnCards);
-            state.setPhase(GamePhase.KIT_CARLSON_PHASE);
-            broadcastGameState(roomId);
-            return;
-        } else if (player.getCharacter() == CharacterType.BLACK_JACK) {
-            // Draw first card
-            Card first = state.drawCard();
-            if (first != null) player.addCardToHand(first);
+                state.setDrawnCardsToChooseFrom(drawnCards);
+                state.setPhase(GamePhase.KIT_CARLSON_PHASE);
+                broadcastGameState(roomId);
+                return;
+            } else if (player.getCharacter() == CharacterType.BLACK_JACK) {
+                // Draw first card
+                Card first = state.drawCard();
+                if (first != null) player.addCardToHand(first);
             
-            // Draw second and check for bonus
-            Card second = state.drawCard();
-            if (second != null) {
-                player.addCardToHand(second);
-                if (second.getSuit() == CardSuit.HEARTS || second.getSuit() == CardSuit.DIAMONDS) {
-                    Card bonus = state.drawCard();
-                    if (bonus != null) player.addCardToHand(bonus);
+                // Draw second and check for bonus
+                Card second = state.drawCard();
+                if (second != null) {
+                    player.addCardToHand(second);
+                    if (second.getSuit() == CardSuit.HEARTS || second.getSuit() == CardSuit.DIAMONDS) {
+                        Card bonus = state.drawCard();
+                        if (bonus != null) player.addCardToHand(bonus);
+                    }
                 }
-            }
-        } else {
-            for (int i = 0; i < cardsToDraw; i++) {
-                Card card = state.drawCard();
-                if (card != null) {
-                    player.addCardToHand(card);
-                    broadcastEvent(roomId, GameEvent.cardDrawn(player.getId(), player.getName()));
+            } else {
+                for (int i = 0; i < cardsToDraw; i++) {
+                    Card card = state.drawCard();
+                    if (card != null) {
+                        player.addCardToHand(card);
+                        broadcastEvent(roomId, GameEvent.cardDrawn(player.getId(), player.getName()));
+                    }
                 }
             }
-        }
 
-        state.setPhase(GamePhase.PLAY_PHASE);
-        broadcastGameState(roomId);
+            state.setPhase(GamePhase.PLAY_PHASE);
+            broadcastGameState(roomId);
+        }
     }
 
     public void playCard(String roomId, String playerId, String cardId, String targetPlayerId, String targetCardId) {
         GameState state = games.get(roomId);
         if (state == null) return;
 
-        Player player = state.getPlayerById(playerId);
-        if (player == null) return;
+        synchronized (state) {
+            Player player = state.getPlayerById(playerId);
+            if (player == null) return;
 
-        // Check if it's this player's turn (unless reacting)
-        if (state.getPhase() != GamePhase.REACTION_PHASE &&
-            !player.getId().equals(state.getCurrentPlayer().getId())) {
-            return;
-        }
+            // Check if it's this player's turn (unless reacting)
+            if (state.getPhase() != GamePhase.REACTION_PHASE &&
+                !player.getId().equals(state.getCurrentPlayer().getId())) {
+                return;
+            }
 
-        Card card = player.findCardInHand(cardId);
-        if (card == null) return;
+            Card card = player.findCardInHand(cardId);
+            if (card == null) return;
 
-        Player target = targetPlayerId != null ? state.getPlayerById(targetPlayerId) : null;
+            Player target = targetPlayerId != null ? state.getPlayerById(targetPlayerId) : null;
 
-        List<GameEvent> sideEffects = processCardPlay(state, player, card, target, targetCardId);
+            List<GameEvent> sideEffects = processCardPlay(state, player, card, target, targetCardId);
         
-        if (sideEffects != null) {
-            player.removeCardFromHand(card);
+            if (sideEffects != null) {
+                player.removeCardFromHand(card);
             
-            if (card.isBrownCard()) {
-                state.discardCard(card);
-            } else {
-                // Blue cards go into play
-                if (card.isWeapon()) {
-                    if (player.getWeapon() != null) {
-                        state.discardCard(player.getWeapon());
-                        broadcastEvent(roomId, GameEvent.cardDiscarded(player.getId(), player.getName(), player.getWeapon().getType().name(), player.getWeapon().getId()));
-                    }
-                    player.setWeapon(card);
-                } else if (card.getType() == CardType.JAIL) {
-                    if (target != null) {
-                        target.getInPlay().add(card);
-                    }
+                if (card.isBrownCard()) {
+                    state.discardCard(card);
                 } else {
-                    // Check for existing copy of same type
-                    Card existing = player.getInPlay().stream()
-                            .filter(c -> c.getType() == card.getType())
-                            .findFirst()
-                            .orElse(null);
-
-                    if (existing != null) {
-                        player.getInPlay().remove(existing);
-                        state.discardCard(existing);
-                        broadcastEvent(roomId, GameEvent.cardDiscarded(player.getId(), player.getName(), existing.getType().name(), existing.getId()));
+                    // Blue cards go into play
+                    if (card.isWeapon()) {
+                        if (player.getWeapon() != null) {
+                            state.discardCard(player.getWeapon());
+                            broadcastEvent(roomId, GameEvent.cardDiscarded(player.getId(), player.getName(), player.getWeapon().getType().name(), player.getWeapon().getId()));
+                        }
+                        player.setWeapon(card);
+                    } else if (card.getType() == CardType.JAIL) {
+                        if (target != null) {
+                            target.getInPlay().add(card);
+                        }
+                    } else {
+                        // Check for existing copy of same type
+                        Card existing = player.findCardInPlay(card.getType());
+
+                        if (existing != null) {
+                            player.getInPlay().remove(existing);
+                            state.discardCard(existing);
+                            broadcastEvent(roomId, GameEvent.cardDiscarded(player.getId(), player.getName(), existing.getType().name(), existing.getId()));
+                        }
+                        player.getInPlay().add(card);
                     }
-                    player.getInPlay().add(card);
                 }
-            }
 
-            // 1. Broadcast played event (FIRST)
-            GameEvent event = GameEvent.cardPlayed(
-                    player.getId(), player.getName(),
-                    target != null ? target.getId() : null,
-                    target != null ? target.getName() : null,
-                    card.getType().name(), card.getId()
-            );
-            broadcastEvent(roomId, event);
+                // 1. Broadcast played event (FIRST)
+                GameEvent event = GameEvent.cardPlayed(
+                        player.getId(), player.getName(),
+                        target != null ? target.getId() : null,
+                        target != null ? target.getName() : null,
+                        card.getType().name(), card.getId()
+                );
+                broadcastEvent(roomId, event);
 
-            // 2. Broadcast side effect events (SECOND)
-            for (GameEvent effect : sideEffects) {
-                broadcastEvent(roomId, effect);
+                // 2. Broadcast side effect events (SECOND)
+                for (GameEvent effect : sideEffects) {
+                    broadcastEvent(roomId, effect);
+                }
             }
-        }
 
-        checkGameEnd(state);
-        broadcastGameState(roomId);
+            resolveAutomaticReactions(state);
+            checkGameEnd(state);
+            broadcastGameState(roomId);
+        }
     }
 
     private List<GameEvent> processCardPlay(GameState state, Player player, Card card, Player target, String targetCardId) {
@@ -377,6 +445,7 @@ public class GameService {
 
     private List<GameEvent> processMissed(GameState state, Player player, Card card) {
         if (state.getPhase() != GamePhase.REACTION_PHASE) return null;
+        if (state.isConcurrentReaction()) return null; // Concurrent reactions are answered through respond
         if (!player.getId().equals(state.getPendingActionPlayerId())) return null;
         if (!"BANG".equals(state.getPendingActionType()) && !"GATLING".equals(state.getPendingActionType()) && !"INDIANS".equals(state.getPendingActionType())) {
             return null;
@@ -441,7 +510,7 @@ public class GameService {
         // If no specific card targeted/found, try hand or fallback logic
         if (stolen == null) {
              if (!target.getHand().isEmpty()) {
-                 int index = new Random().nextInt(target.getHand().size());
+                 int index = state.getRandom().nextInt(target.getHand().size());
                  stolen = target.getHand().remove(index);
              } else if (!target.getInPlay().isEmpty()) {
                  stolen = target.getInPlay().remove(0);
@@ -482,7 +551,7 @@ public class GameService {
         // If no specific card targeted/found, try hand or fallback logic
         if (discarded == null) {
              if (!target.getHand().isEmpty()) {
-                 int index = new Random().nextInt(target.getHand().size());
+                 int index = state.getRandom().nextInt(target.getHand().size());
                  discarded = target.getHand().remove(index);
              } else if (!target.getInPlay().isEmpty()) {
                  discarded = target.getInPlay().remove(0);
@@ -553,6 +622,7 @@ public class GameService {
             state.setPendingActionSourcePlayerId(player.getId());
             state.setPendingActionType("GATLING");
             state.setMissedCardsRequired(1);
+            state.setConcurrentReaction(state.getSettings().isConcurrentReactions());
         }
         return new ArrayList<>();
     }
@@ -574,13 +644,14 @@ public class GameService {
             state.setPendingActionSourcePlayerId(player.getId());
             state.setPendingActionType("INDIANS");
             state.setMissedCardsRequired(1);
+            state.setConcurrentReaction(state.getSettings().isConcurrentReactions());
         }
         return new ArrayList<>();
     }
 
     private List<GameEvent> processSaloon(GameState state) {
-        for (Player p : state.getAlivePlayers()) {
-            if (p.getHealth() < p.getMaxHealth()) {
+        for (Player p : state.getPlayers()) {
+            if (p.isAlive() && p.getHealth() < p.getMaxHealth()) {
                 p.heal(1);
             }
         }
@@ -628,124 +699,407 @@ public class GameService {
         GameState state = games.get(roomId);
         if (state == null) return;
 
-        Player player = state.getPlayerById(playerId);
-        if (player == null || !player.getId().equals(state.getCurrentPlayer().getId())) {
-            return;
-        }
+        synchronized (state) {
+            Player player = state.getPlayerById(playerId);
+            if (player == null || !player.getId().equals(state.getCurrentPlayer().getId())) {
+                return;
+            }
+
+            if (state.getPhase() != GamePhase.PLAY_PHASE) return;
 
-        if (state.getPhase() != GamePhase.PLAY_PHASE) return;
+            // Check if player needs to discard
+            if (player.getHand().size() > player.getHandLimit()) {
+                state.setPhase(GamePhase.DISCARD_PHASE);
+                broadcastGameState(roomId);
+                return;
+            }
 
-        // Check if player needs to discard
-        if (player.getHand().size() > player.getHandLimit()) {
-            state.setPhase(GamePhase.DISCARD_PHASE);
+            endTurn(state);
             broadcastGameState(roomId);
-            return;
         }
-
-        endTurn(state);
-        broadcastGameState(roomId);
     }
 
     public void discardCard(String roomId, String playerId, String cardId) {
         GameState state = games.get(roomId);
         if (state == null) return;
 
-        Player player = state.getPlayerById(playerId);
-        if (player == null || !player.getId().equals(state.getCurrentPlayer().getId())) {
-            return;
-        }
+        synchronized (state) {
+            Player player = state.getPlayerById(playerId);
+            if (player == null || !player.getId().equals(state.getCurrentPlayer().getId())) {
+                return;
+            }
 
-        if (state.getPhase() != GamePhase.DISCARD_PHASE) return;
+            if (state.getPhase() != GamePhase.DISCARD_PHASE) return;
 
-        Card card = player.findCardInHand(cardId);
-        if (card == null) return;
+            Card card = player.findCardInHand(cardId);
+            if (card == null) return;
 
-        player.removeCardFromHand(card);
-        state.discardCard(card);
-        broadcastEvent(roomId, GameEvent.cardDiscarded(player.getId(), player.getName(), card.getType().name(), card.getId()));
+            player.removeCardFromHand(card);
+            state.discardCard(card);
+            broadcastEvent(roomId, GameEvent.cardDiscarded(player.getId(), player.getName(), card.getType().name(), card.getId()));
 
-        if (player.getHand().size() <= player.getHandLimit()) {
-            endTurn(state);
-        }
+            if (player.getHand().size() <= player.getHandLimit()) {
+                endTurn(state);
+            }
 
-        broadcastGameState(roomId);
+            broadcastGameState(roomId);
+        }
     }
 
     public void respondToAction(String roomId, String playerId, String cardId, boolean accept) {
         GameState state = games.get(roomId);
         if (state == null) return;
-        if (state.getPhase() != GamePhase.REACTION_PHASE) return;
 
-        Player player = state.getPlayerById(playerId);
-        if (player == null || !player.getId().equals(state.getPendingActionPlayerId())) {
-            return;
+        synchronized (state) {
+            if (state.getPhase() != GamePhase.REACTION_PHASE) return;
+
+            if (state.isConcurrentReaction()) {
+                submitConcurrentReaction(state, playerId, accept ? cardId : null);
+                broadcastGameState(roomId);
+                return;
+            }
+
+            Player player = state.getPlayerById(playerId);
+            if (player == null || !player.getId().equals(state.getPendingActionPlayerId())) {
+                return;
+            }
+
+            String actionType = state.getPendingActionType();
+
+            if (accept && cardId != null) {
+                Card card = player.findCardInHand(cardId);
+                if (card != null) {
+                    boolean validResponse = isValidReactionCard(actionType, player, card);
+
+                    if (validResponse) {
+                        playReactionCard(state, player, card);
+                    }
+                }
+            } else {
+                takeReactionDamage(state, player);
+            }
+
+            resolveAutomaticReactions(state);
+            checkGameEnd(state);
+            broadcastGameState(roomId);
+        }
+    }
+
+    public void setReactionPolicies(String roomId, String playerId, Set<ReactionPolicy> policies) {
+        GameState state = games.get(roomId);
+        if (state == null) return;
+
+        synchronized (state) {
+            Player player = state.getPlayerById(playerId);
+            if (player == null) return;
+
+            Set<ReactionPolicy> normalized = EnumSet.noneOf(ReactionPolicy.class);
+            if (!policies.contains(ReactionPolicy.ASK_ME)) {
+                normalized.addAll(policies);
+            }
+            player.setReactionPolicies(normalized);
+
+            // Applies straight away if the game is already waiting on this player
+            resolveAutomaticReactions(state);
+            checkGameEnd(state);
+            broadcastGameState(roomId);
         }
+    }
 
+    private void playReactionCard(GameState state, Player player, Card card) {
         String actionType = state.getPendingActionType();
+        player.removeCardFromHand(card);
+        state.discardCard(card);
+
+        // Broadcast played event for the response card
+        String pendingSourceId = state.getPendingActionSourcePlayerId();
+        Player sourcePlayer = pendingSourceId != null ? state.getPlayerById(pendingSourceId) : null;
+
+        GameEvent event = GameEvent.cardPlayed(
+                player.getId(), player.getName(),
+                pendingSourceId,
+                sourcePlayer != null ? sourcePlayer.getName() : null,
+                card.getType().name(), card.getId()
+        );
+        broadcastEvent(state.getRoomId(), event);
+
+        int remaining = state.getMissedCardsRequired() - 1;
+        state.setMissedCardsRequired(remaining);
+
+        if (remaining <= 0) {
+            if ("DUEL".equals(actionType)) {
+                // Duel continues - swap attacker and defender
+                String sourceId = state.getPendingActionSourcePlayerId();
+                state.setPendingActionPlayerId(sourceId);
+                state.setPendingActionSourcePlayerId(player.getId());
+                state.setMissedCardsRequired(1);
+            } else {
+                advanceToNextReactionPlayer(state);
+            }
+        }
+    }
+
+    private void applyBarrelResult(GameState state, String abilityId, boolean success) {
+        if (success) {
+            int remaining = state.getMissedCardsRequired() - 1;
+            state.setMissedCardsRequired(remaining);
+
+            if (remaining <= 0) {
+                advanceToNextReactionPlayer(state);
+            }
+        } else {
+            state.getUsedReactionAbilities().add(abilityId);
+        }
+    }
+
+    public static boolean isValidReactionCard(String actionType, Player player, Card card) {
+        boolean janet = player.getCharacter() == CharacterType.CALAMITY_JANET;
+        if ("BANG".equals(actionType) || "GATLING".equals(actionType)) {
+            // Need to play Missed
+            return card.getType() == CardType.MISSED || (janet && card.getType() == CardType.BANG);
+        }
+        if ("INDIANS".equals(actionType) || "DUEL".equals(actionType)) {
+            // Need to play Bang
+            return card.getType() == CardType.BANG || (janet && card.getType() == CardType.MISSED);
+        }
+        return false;
+    }
 
-        if (accept && cardId != null) {
+    private void submitConcurrentReaction(GameState state, String playerId, String cardId) {
+        if (!state.getPendingActionPlayers().contains(playerId) || state.hasSubmittedReaction(playerId)) return;
+
+        Player player = state.getPlayerById(playerId);
+        if (player == null) return;
+        if (cardId != null) {
             Card card = player.findCardInHand(cardId);
-            if (card != null) {
-                boolean validResponse = false;
-                
-                if ("BANG".equals(actionType) || "GATLING".equals(actionType)) {
-                    // Need to play Missed
-                    if (card.getType() == CardType.MISSED || 
-                        (player.getCharacter() == CharacterType.CALAMITY_JANET && card.getType() == CardType.BANG)) {
-                        validResponse = true;
-                    }
-                } else if ("INDIANS".equals(actionType) || "DUEL".equals(actionType)) {
-                    // Need to play Bang
-                    if (card.getType() == CardType.BANG ||
-                        (player.getCharacter() == CharacterType.CALAMITY_JANET && card.getType() == CardType.MISSED)) {
-                        validResponse = true;
-                    }
+            if (card == null || !isValidReactionCard(state.getPendingActionType(), player, card)) return;
+        }
+
+        ReactionResponse response = state.getReactionResponses().computeIfAbsent(playerId, id -> new ReactionResponse());
+        response.setCardId(cardId);
+        response.setSubmitted(true);
+
+        resolveConcurrentReactionIfComplete(state);
+    }
+
+    private void resolveConcurrentReactionIfComplete(GameState state) {
+        for (String targetId : state.getPendingActionPlayers()) {
+            if (!state.hasSubmittedReaction(targetId)) return;
+        }
+
+        Player source = state.getPlayerById(state.getPendingActionSourcePlayerId());
+
+        // Resolve in seat order so the emitted events don't depend on who answered first
+        for (String targetId : new ArrayList<>(state.getPendingActionPlayers())) {
+            Player target = state.getPlayerById(targetId);
+            if (target == null || !target.isAlive()) continue;
+
+            // Every declared Barrel and Jourdonnais draws in turn until one comes up Hearts, as it would one by one
+            ReactionResponse response = state.getReactionResponses().get(targetId);
+            boolean dodged = false;
+            for (String abilityId : response.getAbilityIds()) {
+                if (hasReactionAbility(target, abilityId) && drawBarrelCheck(state, target)) {
+                    dodged = true;
+                    break;
                 }
+            }
 
-                if (validResponse) {
-                    player.removeCardFromHand(card);
+            if (!dodged && response.getCardId() != null) {
+                Card card = target.findCardInHand(response.getCardId());
+                if (card != null && isValidReactionCard(state.getPendingActionType(), target, card)) {
+                    target.removeCardFromHand(card);
                     state.discardCard(card);
-
-                    // Broadcast played event for the response card
-                    String pendingSourceId = state.getPendingActionSourcePlayerId();
-                    Player sourcePlayer = pendingSourceId != null ? state.getPlayerById(pendingSourceId) : null;
-                    
-                    GameEvent event = GameEvent.cardPlayed(
-                            player.getId(), player.getName(),
-                            pendingSourceId,
-                            sourcePlayer != null ? sourcePlayer.getName() : null,
+                    broadcastEvent(state.getRoomId(), GameEvent.cardPlayed(
+                            target.getId(), target.getName(),
+                            source != null ? source.getId() : null,
+                            source != null ? source.getName() : null,
                             card.getType().name(), card.getId()
-                    );
-                    broadcastEvent(roomId, event);
-                    
-                    int remaining = state.getMissedCardsRequired() - 1;
-                    state.setMissedCardsRequired(remaining);
-
-                    if (remaining <= 0) {
-                        if ("DUEL".equals(actionType)) {
-                            // Duel continues - swap attacker and defender
-                            String sourceId = state.getPendingActionSourcePlayerId();
-                            state.setPendingActionPlayerId(sourceId);
-                            state.setPendingActionSourcePlayerId(playerId);
-                            state.setMissedCardsRequired(1);
-                        } else {
-                            advanceToNextReactionPlayer(state);
-                        }
-                    }
+                    ));
+                    dodged = true;
                 }
             }
+
+            if (!dodged) {
+                applyDamage(state, target, 1, source);
+                checkGameEnd(state);
+                if (state.isGameOver()) return;
+            }
+        }
+
+        clearPendingAction(state);
+    }
+
+    private boolean hasReactionAbility(Player player, String abilityId) {
+        if ("JOURDONNAIS".equals(abilityId)) {
+            return player.getCharacter() == CharacterType.JOURDONNAIS;
+        }
+        for (Card card : player.getInPlay()) {
+            if (card.getType() == CardType.BARREL && card.getId().equals(abilityId)) return true;
+        }
+        return false;
+    }
+
+    // Barrel "draw!" without a client round trip: Lucky Duke flips two and keeps a Heart if there is one
+    private boolean drawBarrelCheck(GameState state, Player player) {
+        Card checkCard = state.drawCard();
+        if (checkCard == null) return false;
+        state.discardCard(checkCard);
+
+        if (player.getCharacter() == CharacterType.LUCKY_DUKE) {
+            Card second = state.drawCard();
+            if (second != null) {
+                state.discardCard(second);
+                if (checkCard.getSuit() != CardSuit.HEARTS) {
+                    checkCard = second;
+                }
+            }
+        }
+
+        GameEvent checkEvent = GameEvent.cardCheck(player.getId(), player.getName(), checkCard.getType().name(), checkCard.getId());
+        checkEvent.setData(Map.of(
+                "suit", checkCard.getSuit().name(),
+                "value", checkCard.getValue()
+        ));
+        broadcastEvent(state.getRoomId(), checkEvent);
+
+        return checkCard.getSuit() == CardSuit.HEARTS;
+    }
+
+    private void takeReactionDamage(GameState state, Player player) {
+        applyDamage(state, player, 1, state.getPlayerById(state.getPendingActionSourcePlayerId()));
+        if ("DUEL".equals(state.getPendingActionType())) {
+            clearPendingAction(state);
         } else {
-            // Player takes damage
-            applyDamage(state, player, 1, state.getPlayerById(state.getPendingActionSourcePlayerId()));
-            if ("DUEL".equals(actionType)) {
-                clearPendingAction(state);
-            } else {
-                advanceToNextReactionPlayer(state);
+            advanceToNextReactionPlayer(state);
+        }
+    }
+
+    // Skips the client round trip for targets that could only take the hit anyway or declared a policy
+    private void resolveAutomaticReactions(GameState state) {
+        boolean autoResolve = state.getSettings().isAutoResolveReactions();
+
+        if (state.getPhase() == GamePhase.REACTION_PHASE && state.isConcurrentReaction()) {
+            for (String targetId : new ArrayList<>(state.getPendingActionPlayers())) {
+                if (!state.isConcurrentReaction()) break; // Resolved by the last submission
+                Player target = state.getPlayerById(targetId);
+                if (target == null || state.hasSubmittedReaction(targetId)) continue;
+
+                if (autoResolve && !hasLegalResponse(state, target)) {
+                    submitConcurrentReaction(state, targetId, null);
+                } else {
+                    submitPolicyReaction(state, target);
+                }
             }
+            return;
         }
 
-        checkGameEnd(state);
-        broadcastGameState(roomId);
+        while (state.getPhase() == GamePhase.REACTION_PHASE) {
+            Player target = state.getPlayerById(state.getPendingActionPlayerId());
+            if (target == null) return;
+
+            if (autoResolve && !hasLegalResponse(state, target)) {
+                takeReactionDamage(state, target);
+            } else if (!applyReactionPolicy(state, target)) {
+                return;
+            }
+            checkGameEnd(state);
+        }
+    }
+
+    private boolean applyReactionPolicy(GameState state, Player target) {
+        Set<ReactionPolicy> policies = target.getReactionPolicies();
+        if (policies.isEmpty() || "DUEL".equals(state.getPendingActionType())) return false; // Duels stay a manual decision
+
+        if (policies.contains(ReactionPolicy.AUTO_BARREL)) {
+            String abilityId = unusedBarrelId(state, target);
+            if (abilityId != null) {
+                applyBarrelResult(state, abilityId, drawBarrelCheck(state, target));
+                return true;
+            }
+        }
+        if (policies.contains(ReactionPolicy.AUTO_MISSED)) {
+            Card card = autoReactionCard(state, target);
+            if (card != null) {
+                playReactionCard(state, target, card);
+                return true;
+            }
+        }
+        if (policies.contains(ReactionPolicy.AUTO_TAKE_DAMAGE)) {
+            takeReactionDamage(state, target);
+            return true;
+        }
+        return false;
+    }
+
+    private void submitPolicyReaction(GameState state, Player target) {
+        Set<ReactionPolicy> policies = target.getReactionPolicies();
+        if (policies.isEmpty()) return;
+
+        List<String> abilityIds = policies.contains(ReactionPolicy.AUTO_BARREL) ? reactionAbilityIds(state, target) : List.of();
+        Card card = policies.contains(ReactionPolicy.AUTO_MISSED) ? autoReactionCard(state, target) : null;
+
+        if (!abilityIds.isEmpty()) {
+            List<String> declared = state.getReactionResponses()
+                    .computeIfAbsent(target.getId(), id -> new ReactionResponse()).getAbilityIds();
+            for (String abilityId : abilityIds) {
+                if (!declared.contains(abilityId)) declared.add(abilityId);
+            }
+        }
+        // A Barrel alone is only a declaration, the player still picks a fallback unless a policy covers it
+        if (card != null || policies.contains(ReactionPolicy.AUTO_TAKE_DAMAGE)) {
+            submitConcurrentReaction(state, target.getId(), card != null ? card.getId() : null);
+        }
+    }
+
+    private Card autoReactionCard(GameState state, Player target) {
+        String actionType = state.getPendingActionType();
+        if ("DUEL".equals(actionType)) return null; // Duels stay a manual decision
+        return target.getHand().stream()
+                .filter(c -> isValidReactionCard(actionType, target, c))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private String unusedBarrelId(GameState state, Player player) {
+        String actionType = state.getPendingActionType();
+        if (!"BANG".equals(actionType) && !"GATLING".equals(actionType)) return null;
+
+        if (player.getCharacter() == CharacterType.JOURDONNAIS
+                && !state.getUsedReactionAbilities().contains("JOURDONNAIS")) {
+            return "JOURDONNAIS";
+        }
+        for (Card card : player.getInPlay()) {
+            if (card.getType() == CardType.BARREL && !state.getUsedReactionAbilities().contains(card.getId())) {
+                return card.getId();
+            }
+        }
+        return null;
+    }
+
+    // Every "draw!" the player still has against this BANG!/Gatling, Jourdonnais first
+    private List<String> reactionAbilityIds(GameState state, Player player) {
+        String actionType = state.getPendingActionType();
+        if (!"BANG".equals(actionType) && !"GATLING".equals(actionType)) return List.of();
+
+        List<String> abilityIds = new ArrayList<>();
+        if (player.getCharacter() == CharacterType.JOURDONNAIS
+                && !state.getUsedReactionAbilities().contains("JOURDONNAIS")) {
+            abilityIds.add("JOURDONNAIS");
+        }
+        for (Card card : player.getInPlay()) {
+            if (card.getType() == CardType.BARREL && !state.getUsedReactionAbilities().contains(card.getId())) {
+                abilityIds.add(card.getId());
+            }
+        }
+        return abilityIds;
+    }
+
+    private boolean hasLegalResponse(GameState state, Player player) {
+        String actionType = state.getPendingActionType();
+        if (unusedBarrelId(state, player) != null) {
+            return true;
+        }
+        return player.getHand().stream().anyMatch(c -> isValidReactionCard(actionType, player, c));
     }
 
     private void applyDamage(GameState state, Player target, int amount, Player source) {
@@ -766,7 +1120,7 @@ public class GameService {
 
         // El Gringo steals from attacker (only if damaged by a player)
         if (target.getCharacter() == CharacterType.EL_GRINGO && source != null && !source.getHand().isEmpty()) {
-            int index = new Random().nextInt(source.getHand().size());
+            int index = state.getRandom().nextInt(source.getHand().size());
             Card stolen = source.getHand().remove(index);
             target.addCardToHand(stolen);
             broadcastEvent(state.getRoomId(), GameEvent.cardStolen(source.getId(), source.getName(), target.getId(), target.getName(), stolen.getType().name()));
@@ -877,6 +1231,8 @@ public class GameService {
         state.setPendingActionCard(null);
         state.setMissedCardsRequired(0);
         state.getUsedReactionAbilities().clear();
+        state.setConcurrentReaction(false);
+        state.getReactionResponses().clear();
         state.setPhase(GamePhase.PLAY_PHASE);
     }
 
@@ -896,127 +1252,128 @@ public class GameService {
     public void pickGeneralStoreCard(String roomId, String playerId, String cardId) {
         GameState state = games.get(roomId);
         if (state == null) return;
-        if (state.getPhase() != GamePhase.GENERAL_STORE_PHASE) return;
 
-        if (!playerId.equals(state.getPendingActionPlayerId())) return;
+        synchronized (state) {
+            if (state.getPhase() != GamePhase.GENERAL_STORE_PHASE) return;
 
-        Card pickedCard = state.getGeneralStoreCards().stream()
-                .filter(c -> c.getId().equals(cardId))
-                .findFirst()
-                .orElse(null);
+            if (!playerId.equals(state.getPendingActionPlayerId())) return;
 
-        if (pickedCard == null) return;
+            Card pickedCard = state.getGeneralStoreCards().stream()
+                    .filter(c -> c.getId().equals(cardId))
+                    .findFirst()
+                    .orElse(null);
 
-        Player player = state.getPlayerById(playerId);
-        if (player == null) return;
+            if (pickedCard == null) return;
 
-        // Add to hand
-        player.addCardToHand(pickedCard);
-        state.getGeneralStoreCards().remove(pickedCard);
+            Player player = state.getPlayerById(playerId);
+            if (player == null) return;
 
-        broadcastEvent(roomId, GameEvent.cardDrawn(player.getId(), player.getName()));
+            // Add to hand
+            player.addCardToHand(pickedCard);
+            state.getGeneralStoreCards().remove(pickedCard);
 
-        // Next player
-        state.getPendingActionPlayers().remove(playerId);
+            broadcastEvent(roomId, GameEvent.cardDrawn(player.getId(), player.getName()));
 
-        if (state.getPendingActionPlayers().isEmpty() || state.getGeneralStoreCards().isEmpty()) {
-            // End of General Store
-            state.getPendingActionPlayers().clear();
-            state.setPendingActionPlayerId(null);
-            state.getGeneralStoreCards().clear();
-            state.setPhase(GamePhase.PLAY_PHASE);
-        } else {
-            state.setPendingActionPlayerId(state.getPendingActionPlayers().get(0));
-        }
+            // Next player
+            state.getPendingActionPlayers().remove(playerId);
 
-        broadcastGameState(roomId);
+            if (state.getPendingActionPlayers().isEmpty() || state.getGeneralStoreCards().isEmpty()) {
+                // End of General Store
+                state.getPendingActionPlayers().clear();
+                state.setPendingActionPlayerId(null);
+                state.getGeneralStoreCards().clear();
+                state.setPhase(GamePhase.PLAY_PHASE);
+            } else {
+                state.setPendingActionPlayerId(state.getPendingActionPlayers().get(0));
+            }
+
+            broadcastGameState(roomId);
+        }
     }
 
     public void useAbility(String roomId, String playerId, String abilityId) {
         GameState state = games.get(roomId);
         if (state == null) return;
-        if (state.getPhase() != GamePhase.REACTION_PHASE) return;
 
-        // Barrel/Ability only works for BANG and GATLING
-        if (!"BANG".equals(state.getPendingActionType()) && !"GATLING".equals(state.getPendingActionType())) return;
-
-        Player player = state.getPlayerById(playerId);
-        if (player == null || !player.getId().equals(state.getPendingActionPlayerId())) {
-            return;
-        }
+        synchronized (state) {
+            if (state.getPhase() != GamePhase.REACTION_PHASE) return;
+
+            // Barrel/Ability only works for BANG and GATLING
+            if (!"BANG".equals(state.getPendingActionType()) && !"GATLING".equals(state.getPendingActionType())) return;
+
+            if (state.isConcurrentReaction()) {
+                // Only declared here, the check is drawn when the whole Gatling resolves
+                Player player = state.getPlayerById(playerId);
+                if (player != null && state.getPendingActionPlayers().contains(playerId)
+                        && !state.hasSubmittedReaction(playerId) && hasReactionAbility(player, abilityId)) {
+                    List<String> declared = state.getReactionResponses()
+                            .computeIfAbsent(playerId, id -> new ReactionResponse()).getAbilityIds();
+                    if (!declared.contains(abilityId)) {
+                        declared.add(abilityId);
+                        broadcastGameState(roomId);
+                    }
+                }
+                return;
+            }
 
-        // Check if already used
-        if (state.getUsedReactionAbilities().contains(abilityId)) return;
+            Player player = state.getPlayerById(playerId);
+            if (player == null || !player.getId().equals(state.getPendingActionPlayerId())) {
+                return;
+            }
 
-        // Verify player has this ability
-        boolean hasAbility = false;
-        if ("JOURDONNAIS".equals(abilityId)) {
-            hasAbility = player.getCharacter() == CharacterType.JOURDONNAIS;
-        } else {
-            // Check in-play cards (Barrel)
-            String finalAbilityId = abilityId;
-            hasAbility = player.getInPlay().stream()
-                    .anyMatch(c -> c.getId().equals(finalAbilityId) && c.getType() == CardType.BARREL);
-        }
+            // Check if already used
+            if (state.getUsedReactionAbilities().contains(abilityId)) return;
 
-        if (!hasAbility) return;
+            // Verify player has this ability
+            if (!hasReactionAbility(player, abilityId)) return;
         
-        Card checkCard = null;
+            Card checkCard = null;
 
-        // Lucky Duke Check
-        if (player.getCharacter() == CharacterType.LUCKY_DUKE) {
-            Card c1 = state.drawCard();
-            Card c2 = state.drawCard();
-            if (c1 != null && c2 != null) {
-                state.discardCard(c1);
-                state.discardCard(c2);
+            // Lucky Duke Check
+            if (player.getCharacter() == CharacterType.LUCKY_DUKE) {
+                Card c1 = state.drawCard();
+                Card c2 = state.drawCard();
+                if (c1 != null && c2 != null) {
+                    state.discardCard(c1);
+                    state.discardCard(c2);
 
-                List<Card> drawnCards = new ArrayList<>();
-                drawnCards.add(c1);
-                drawnCards.add(c2);
+                    List<Card> drawnCards = new ArrayList<>();
+                    drawnCards.add(c1);
+                    drawnCards.add(c2);
 
-                state.setLuckyDukeCardsToChooseFrom(drawnCards);
-                state.setLuckyDukeContext("BARREL:" + abilityId); // Context stores "TYPE:DATA"
-                state.setPhase(GamePhase.LUCKY_DUKE_RESOLVE);
-                broadcastGameState(roomId);
-                return;
-            } else if (c1 != null) {
-                // If only 1 card available, use it directly
-                checkCard = c1;
+                    state.setLuckyDukeCardsToChooseFrom(drawnCards);
+                    state.setLuckyDukeContext("BARREL:" + abilityId); // Context stores "TYPE:DATA"
+                    state.setPhase(GamePhase.LUCKY_DUKE_RESOLVE);
+                    broadcastGameState(roomId);
+                    return;
+                } else if (c1 != null) {
+                    // If only 1 card available, use it directly
+                    checkCard = c1;
+                }
             }
-        }
 
-        // Draw card for check
-        if (checkCard == null) {
-            checkCard = state.drawCard();
-        }
+            // Draw card for check
+            if (checkCard == null) {
+                checkCard = state.drawCard();
+            }
         
-        if (checkCard != null) {
-            state.discardCard(checkCard);
+            if (checkCard != null) {
+                state.discardCard(checkCard);
             
-            // Create check event with extra data for display
-            GameEvent checkEvent = GameEvent.cardCheck(player.getId(), player.getName(), checkCard.getType().name(), checkCard.getId());
-            // Add suit and value info to data payload for frontend
-            checkEvent.setData(Map.of(
-                "suit", checkCard.getSuit().name(),
-                "value", checkCard.getValue()
-            ));
-            broadcastEvent(roomId, checkEvent);
+                // Create check event with extra data for display
+                GameEvent checkEvent = GameEvent.cardCheck(player.getId(), player.getName(), checkCard.getType().name(), checkCard.getId());
+                // Add suit and value info to data payload for frontend
+                checkEvent.setData(Map.of(
+                    "suit", checkCard.getSuit().name(),
+                    "value", checkCard.getValue()
+                ));
+                broadcastEvent(roomId, checkEvent);
             
-            boolean success = checkCard.getSuit() == CardSuit.HEARTS;
+                applyBarrelResult(state, abilityId, checkCard.getSuit() == CardSuit.HEARTS);
 
-            if (success) {
-                 int remaining = state.getMissedCardsRequired() - 1;
-                 state.setMissedCardsRequired(remaining);
-
-                 if (remaining <= 0) {
-                     advanceToNextReactionPlayer(state);
-                 }
-            } else {
-                state.getUsedReactionAbilities().add(abilityId);
+                resolveAutomaticReactions(state);
+                broadcastGameState(roomId);
             }
-            
-            broadcastGameState(roomId);
         }
     }
 
@@ -1027,6 +1384,7 @@ public class GameService {
         }
 
         state.nextPlayer();
+        state.setTurnNumber(state.getTurnNumber() + 1);
         state.setPhase(GamePhase.DRAW_PHASE);
 
         // Handle dynamite and jail for new current player
@@ -1038,9 +1396,7 @@ public class GameService {
 
     private void processTurnStart(GameState state, Player player) {
         // Check for Dynamite - Priority BEFORE Jail
-        Card dynamite = player.getInPlay().stream()
-                .filter(c -> c.getType() == CardType.DYNAMITE)
-                .findFirst().orElse(null);
+        Card dynamite = player.findCardInPlay(CardType.DYNAMITE);
 
         if (dynamite != null) {
             Card drawn = null;
@@ -1094,9 +1450,7 @@ public class GameService {
     }
     
     private void processJailCheck(GameState state, Player player) {
-        Card jail = player.getInPlay().stream()
-                .filter(c -> c.getType() == CardType.JAIL)
-                .findFirst().orElse(null);
+        Card jail = player.findCardInPlay(CardType.JAIL);
 
         if (jail != null) {
             player.getInPlay().remove(jail);
@@ -1169,7 +1523,7 @@ public class GameService {
         } else {
             // Pass dynamite to next player
             player.getInPlay().remove(dynamite);
-            Player next = getNextAlivePlayer(state, player);
+            Player next = state.getNextAlivePlayer(player);
             if (next != null) {
                 next.getInPlay().add(dynamite);
                 broadcastEvent(state.getRoomId(), GameEvent.cardPassed(
@@ -1184,94 +1538,79 @@ public class GameService {
     public void handleLuckyDukeChoice(String roomId, String playerId, String cardId) {
         GameState state = games.get(roomId);
         if (state == null) return;
-        if (state.getPhase() != GamePhase.LUCKY_DUKE_RESOLVE) return;
 
-        Player player = state.getPlayerById(playerId);
-        if (player == null) return;
+        synchronized (state) {
+            if (state.getPhase() != GamePhase.LUCKY_DUKE_RESOLVE) return;
+
+            Player player = state.getPlayerById(playerId);
+            if (player == null) return;
         
-        // Validation: must be current player (for Dynamite/Jail) or pending reaction player (for Barrel)
-        boolean isCurrent = player.getId().equals(state.getCurrentPlayer().getId());
-        boolean isPending = player.getId().equals(state.getPendingActionPlayerId());
+            // Validation: must be current player (for Dynamite/Jail) or pending reaction player (for Barrel)
+            boolean isCurrent = player.getId().equals(state.getCurrentPlayer().getId());
+            boolean isPending = player.getId().equals(state.getPendingActionPlayerId());
         
-        if (!isCurrent && !isPending) return;
+            if (!isCurrent && !isPending) return;
 
-        // Verify card choice
-        Card chosenCard = state.getLuckyDukeCardsToChooseFrom().stream()
-                .filter(c -> c.getId().equals(cardId))
-                .findFirst()
-                .orElse(null);
+            // Verify card choice
+            Card chosenCard = state.getLuckyDukeCardsToChooseFrom().stream()
+                    .filter(c -> c.getId().equals(cardId))
+                    .findFirst()
+                    .orElse(null);
                 
-        if (chosenCard == null) return;
+            if (chosenCard == null) return;
         
-        // Broadcast the choice (visual effect)
-        GameEvent checkEvent = GameEvent.cardCheck(player.getId(), player.getName(), chosenCard.getType().name(), chosenCard.getId());
-        checkEvent.setData(Map.of(
-            "suit", chosenCard.getSuit().name(),
-            "value", chosenCard.getValue()
-        ));
-        broadcastEvent(roomId, checkEvent);
+            // Broadcast the choice (visual effect)
+            GameEvent checkEvent = GameEvent.cardCheck(player.getId(), player.getName(), chosenCard.getType().name(), chosenCard.getId());
+            checkEvent.setData(Map.of(
+                "suit", chosenCard.getSuit().name(),
+                "value", chosenCard.getValue()
+            ));
+            broadcastEvent(roomId, checkEvent);
         
-        String context = state.getLuckyDukeContext();
-        String[] parts = context.split(":");
-        String type = parts[0];
-        String data = parts.length > 1 ? parts[1] : "";
-
-        // Clear Lucky Duke state
-        state.setLuckyDukeCardsToChooseFrom(new ArrayList<>());
-        state.setLuckyDukeContext(null);
+            String context = state.getLuckyDukeContext();
+            String[] parts = context.split(":");
+            String type = parts[0];
+            String data = parts.length > 1 ? parts[1] : "";
+
+            // Clear Lucky Duke state
+            state.setLuckyDukeCardsToChooseFrom(new ArrayList<>());
+            state.setLuckyDukeContext(null);
         
-        // Resume logic based on type
-        if ("BARREL".equals(type)) {
-            // Restore context for Barrel/Ability
-            state.setPhase(GamePhase.REACTION_PHASE); // Go back to reaction phase logic
+            // Resume logic based on type
+            if ("BARREL".equals(type)) {
+                // Restore context for Barrel/Ability
+                state.setPhase(GamePhase.REACTION_PHASE); // Go back to reaction phase logic
             
-            boolean success = chosenCard.getSuit() == CardSuit.HEARTS;
-            if (success) {
-                 int remaining = state.getMissedCardsRequired() - 1;
-                 state.setMissedCardsRequired(remaining);
-
-                 if (remaining <= 0) {
-                     advanceToNextReactionPlayer(state);
-                 }
-            } else {
-                state.getUsedReactionAbilities().add(data); // data is abilityId
-            }
-        } else if ("DYNAMITE".equals(type)) {
-             // We are at start of turn, phase is technically DRAW_PHASE but we interrupted processTurnStart
-             state.setPhase(GamePhase.DRAW_PHASE);
+                applyBarrelResult(state, data, chosenCard.getSuit() == CardSuit.HEARTS); // data is abilityId
+                resolveAutomaticReactions(state);
+            } else if ("DYNAMITE".equals(type)) {
+                 // We are at start of turn, phase is technically DRAW_PHASE but we interrupted processTurnStart
+                 state.setPhase(GamePhase.DRAW_PHASE);
              
-             // Re-fetch dynamite (it's still in play)
-             Card dynamite = player.getInPlay().stream()
-                .filter(c -> c.getType() == CardType.DYNAMITE)
-                .findFirst().orElse(null);
+                 // Re-fetch dynamite (it's still in play)
+                 Card dynamite = player.findCardInPlay(CardType.DYNAMITE);
              
-             if (dynamite != null) {
-                 boolean explode = resolveDynamiteCheck(chosenCard);
-                 handleDynamiteResult(state, player, dynamite, explode);
-             }
+                 if (dynamite != null) {
+                     boolean explode = resolveDynamiteCheck(chosenCard);
+                     handleDynamiteResult(state, player, dynamite, explode);
+                 }
              
-             if (player.isAlive()) {
-                 // Continue to Jail check
-                 processJailCheck(state, player);
-             }
-        } else if ("JAIL".equals(type)) {
-            state.setPhase(GamePhase.DRAW_PHASE);
+                 if (player.isAlive()) {
+                     // Continue to Jail check
+                     processJailCheck(state, player);
+                 }
+            } else if ("JAIL".equals(type)) {
+                state.setPhase(GamePhase.DRAW_PHASE);
             
-            if (chosenCard.getSuit() != CardSuit.HEARTS) {
-                // Stays in jail - skip turn
-                endTurn(state);
+                if (chosenCard.getSuit() != CardSuit.HEARTS) {
+                    // Stays in jail - skip turn
+                    endTurn(state);
+                }
+                // Else: freed, continue turn (nothing else to do, next is standard draw phase interaction)
             }
-            // Else: freed, continue turn (nothing else to do, next is standard draw phase interaction)
-        }
         
-        broadcastGameState(roomId);
-    }
-
-    private Player getNextAlivePlayer(GameState state, Player current) {
-        List<Player> alive = state.getAlivePlayers();
-        int currentIndex = alive.indexOf(current);
-        if (currentIndex == -1 || alive.size() <= 1) return null;
-        return alive.get((currentIndex + 1) % alive.size());
+            broadcastGameState(roomId);
+        }
     }
 
     private void checkGameEnd(GameState state) {
@@ -1289,12 +1628,34 @@ public class GameService {
         }
 
         // Check if all outlaws and renegade are dead
-        boolean outstandingThreats = state.getAlivePlayers().stream()
-                .anyMatch(p -> p.getRole() == Role.OUTLAW || p.getRole() == Role.RENEGADE);
+        boolean outstandingThreats = false;
+        for (Player p : state.getPlayers()) {
+            if (p.isAlive() && (p.getRole() == Role.OUTLAW || p.getRole() == Role.RENEGADE)) {
+                outstandingThreats = true;
+                break;
+            }
+        }
 
         if (!outstandingThreats) {
             state.setWinningTeam(Role.SHERIFF);
             state.setPhase(GamePhase.GAME_OVER);
+            return;
+        }
+
+        // Someone who died on their own turn (e.g. losing a Duel) can't finish it
+        Player current = state.getCurrentPlayer();
+        if (current != null && !current.isAlive() && state.getPhase() == GamePhase.PLAY_PHASE) {
+            endTurn(state);
+        }
+    }
+
+    /**
+     * Sends the current state even though nothing the state hash covers changed, e.g. when only the
+     * action deadline moved. Called with the game state locked.
+     */
+    public void republishGameState(GameState state) {
+        for (GameEventSink sink : sinks) {
+            sink.onStateChanged(state);
         }
     }
 
@@ -1302,32 +1663,19 @@ public class GameService {
         GameState state = games.get(roomId);
         if (state == null) return;
 
-        // Broadcast to room topic for all players
-        messagingTemplate.convertAndSend(
-                "/topic/room/" + roomId + "/state",
-                GameStateView.fromGameState(state, null)
-        );
+        // Rejected or no-op commands leave nothing new to show
+        long hash = StateHash.of(state);
+        if (hash == state.getPublishedHash()) return;
+        state.setPublishedHash(hash);
 
-        // Also send personalized view to each player
-        for (Player player : state.getPlayers()) {
-            GameStateView view = GameStateView.fromGameState(state, player.getId());
-            
-            if (player.getPrincipalName() != null) {
-                messagingTemplate.convertAndSendToUser(
-                        player.getPrincipalName(),
-                        "/queue/game",
-                        view
-                );
-            } else {
-                messagingTemplate.convertAndSend(
-                        "/topic/room/" + roomId + "/player/" + player.getId(),
-                        view
-                );
-            }
+        for (GameEventSink sink : sinks) {
+            sink.onStateChanged(state);
         }
     }
 
     private void broadcastEvent(String roomId, GameEvent event) {
-        messagingTemplate.convertAndSend("/topic/room/" + roomId + "/events", event);
+        for (GameEventSink sink : sinks) {
+            sink.onEvent(roomId, event);
+        }
     }
 }
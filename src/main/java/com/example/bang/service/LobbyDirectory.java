@@ -0,0 +1,198 @@
+package com.example.bang.service;
+
+import com.example.bang.dto.LobbyDelta;
+import com.example.bang.dto.LobbyPage;
+import com.example.bang.dto.RoomListing;
+import com.example.bang.model.Room;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Listing of every room indexed by state and free seats, newest first. Queries walk only the
+ * matching skip lists from the cursor, and changes are pushed to /topic/lobby as coalesced deltas.
+ */
+@Slf4j
+@Service
+public class LobbyDirectory {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEATS = 7;
+
+    public enum State { OPEN, FULL, STARTED }
+
+    private final ObjectProvider<SimpMessagingTemplate> messagingTemplate;
+    private final Map<String, RoomListing> listings = new ConcurrentHashMap<>();
+    private final Map<State, List<NavigableSet<Key>>> index = new EnumMap<>(State.class);
+
+    // Changes since the last push; a null value means the room was removed
+    private Map<String, RoomListing> pending = new LinkedHashMap<>();
+    private long version;
+
+    public LobbyDirectory(ObjectProvider<SimpMessagingTemplate> messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+        for (State state : State.values()) {
+            List<NavigableSet<Key>> buckets = new ArrayList<>();
+            for (int seats = 0; seats <= MAX_SEATS; seats++) {
+                buckets.add(new ConcurrentSkipListSet<>());
+            }
+            index.put(state, buckets);
+        }
+    }
+
+    public synchronized void update(Room room) {
+        int free = Math.max(0, Math.min(MAX_SEATS, room.getMaxPlayers() - room.getPlayers().size()));
+        State state = room.isGameStarted() ? State.STARTED : free == 0 ? State.FULL : State.OPEN;
+        RoomListing listing = RoomListing.builder()
+                .roomId(room.getId())
+                .name(room.getName())
+                .state(state.name())
+                .players(room.getPlayers().size())
+                .maxPlayers(room.getMaxPlayers())
+                .freeSeats(free)
+                .createdAt(room.getCreatedAt())
+                .build();
+
+        RoomListing previous = listings.put(room.getId(), listing);
+        if (listing.equals(previous)) return;
+        if (previous != null) {
+            bucket(previous).remove(Key.of(previous));
+        }
+        bucket(listing).add(Key.of(listing));
+        pending.put(room.getId(), listing);
+    }
+
+    public synchronized void remove(String roomId) {
+        RoomListing previous = listings.remove(roomId);
+        if (previous == null) return;
+        bucket(previous).remove(Key.of(previous));
+        pending.put(roomId, null);
+    }
+
+    public LobbyPage query(State state, int minFreeSeats, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+        Key after = cursor != null ? Key.parse(cursor) : null;
+        long snapshotVersion = getVersion();
+
+        // Merge the newest-first iterators of every bucket with enough free seats
+        List<Iterator<Key>> iterators = new ArrayList<>();
+        List<Key> heads = new ArrayList<>();
+        for (int seats = Math.max(0, minFreeSeats); seats <= MAX_SEATS; seats++) {
+            NavigableSet<Key> bucket = index.get(state).get(seats);
+            Iterator<Key> it = (after != null ? bucket.tailSet(after, false) : bucket).iterator();
+            iterators.add(it);
+            heads.add(it.hasNext() ? it.next() : null);
+        }
+
+        List<RoomListing> rooms = new ArrayList<>(pageSize);
+        Set<String> seen = new HashSet<>();
+        Key last = null;
+        while (rooms.size() < pageSize) {
+            int best = -1;
+            for (int i = 0; i < heads.size(); i++) {
+                Key head = heads.get(i);
+                if (head != null && (best < 0 || head.compareTo(heads.get(best)) < 0)) best = i;
+            }
+            if (best < 0) break;
+
+            Key key = heads.get(best);
+            Iterator<Key> it = iterators.get(best);
+            heads.set(best, it.hasNext() ? it.next() : null);
+
+            RoomListing listing = listings.get(key.roomId());
+            // Skip keys that moved while we were iterating
+            if (listing != null && listing.getState().equals(state.name()) && seen.add(key.roomId())) {
+                rooms.add(listing);
+                last = key;
+            }
+        }
+
+        boolean more = heads.stream().anyMatch(h -> h != null);
+        return LobbyPage.builder()
+                .rooms(rooms)
+                .nextCursor(more && last != null ? last.encode() : null)
+                .version(snapshotVersion)
+                .build();
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return listings.size();
+    }
+
+    @Scheduled(fixedDelayString = "${bang.lobby.delta-interval:500ms}")
+    public void publishDeltas() {
+        Map<String, RoomListing> changes;
+        long deltaVersion;
+        synchronized (this) {
+            if (pending.isEmpty()) return;
+            changes = pending;
+            pending = new LinkedHashMap<>();
+            deltaVersion = ++version;
+        }
+
+        List<RoomListing> upserted = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        changes.forEach((roomId, listing) -> {
+            if (listing != null) upserted.add(listing);
+            else removed.add(roomId);
+        });
+
+        LobbyDelta delta = LobbyDelta.builder()
+                .version(deltaVersion)
+                .upserted(upserted)
+                .removed(removed)
+                .build();
+        messagingTemplate.getObject().convertAndSend("/topic/lobby", delta);
+        log.debug("Pushed lobby delta v{} ({} upserted, {} removed)", deltaVersion, upserted.size(), removed.size());
+    }
+
+    private NavigableSet<Key> bucket(RoomListing listing) {
+        return index.get(State.valueOf(listing.getState())).get(listing.getFreeSeats());
+    }
+
+    private record Key(long createdAt, String roomId) implements Comparable<Key> {
+
+        static Key of(RoomListing listing) {
+            return new Key(listing.getCreatedAt(), listing.getRoomId());
+        }
+
+        static Key parse(String cursor) {
+            int sep = cursor.indexOf(':');
+            if (sep < 0) throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            try {
+                return new Key(Long.parseLong(cursor.substring(0, sep)), cursor.substring(sep + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+
+        String encode() {
+            return createdAt + ":" + roomId;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            // Newest first
+            int byAge = Long.compare(other.createdAt, createdAt);
+            return byAge != 0 ? byAge : roomId.compareTo(other.roomId);
+        }
+    }
+}
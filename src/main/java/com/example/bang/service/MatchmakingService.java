@@ -0,0 +1,185 @@
+package com.example.bang.service;
+
+import com.example.bang.dto.RoomMessage;
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.Room;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Quick-play queue. Enqueue and cancel are lock-free; a single scheduled batcher drains the queue and
+ * splits everyone waiting into as few balanced tables as a room's seat limits allow.
+ */
+@Slf4j
+@Service
+public class MatchmakingService {
+
+    private final RoomService roomService;
+    private final AdmissionControl admissionControl;
+    private final GameService gameService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Timer waitTimer;
+    private final Clock clock;
+    private final int minSeats;
+    private final int maxSeats;
+
+    private final ConcurrentLinkedDeque<Ticket> queue = new ConcurrentLinkedDeque<>();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    @Value("${bang.matchmaking.fill-window:10s}")
+    private Duration fillWindow;
+
+    public MatchmakingService(RoomService roomService, AdmissionControl admissionControl, GameService gameService,
+                              SimpMessagingTemplate messagingTemplate, MeterRegistry meterRegistry, Clock clock) {
+        this.roomService = roomService;
+        this.admissionControl = admissionControl;
+        this.gameService = gameService;
+        this.messagingTemplate = messagingTemplate;
+        this.waitTimer = meterRegistry.timer("bang.matchmaking.wait");
+        this.clock = clock;
+        Room seats = Room.builder().build();
+        this.minSeats = seats.getMinPlayers();
+        this.maxSeats = seats.getMaxPlayers();
+        meterRegistry.gauge("bang.matchmaking.waiting", waiting);
+    }
+
+    /** Cancelled tickets stay in the queue and are skipped when the batcher reaches them. */
+    public record Ticket(String sessionId, String principalName, String playerName, long enqueuedAt,
+                         AtomicInteger state) {
+        static final int WAITING = 0;
+        static final int CANCELLED = 1;
+        static final int TAKEN = 2;
+    }
+
+    public int enqueue(String sessionId, String principalName, String playerName) {
+        if (roomService.getRoomIdForSession(sessionId) != null) {
+            throw new IllegalStateException("Already in a room");
+        }
+        admissionControl.checkJoin();
+        Ticket ticket = new Ticket(sessionId, principalName, playerName, clock.millis(),
+                new AtomicInteger(Ticket.WAITING));
+        if (tickets.putIfAbsent(sessionId, ticket) != null) {
+            throw new IllegalStateException("Already queued");
+        }
+        queue.offer(ticket);
+        return waiting.incrementAndGet();
+    }
+
+    public boolean cancel(String sessionId) {
+        Ticket ticket = tickets.remove(sessionId);
+        if (ticket != null && ticket.state().compareAndSet(Ticket.WAITING, Ticket.CANCELLED)) {
+            waiting.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    @Scheduled(fixedDelayString = "${bang.matchmaking.batch-interval:1s}")
+    public void formTables() {
+        formTables(clock.millis());
+    }
+
+    public synchronized int formTables(long now) {
+        // Also drops cancelled tickets at the head, which would otherwise pile up while nobody queues
+        Ticket oldest = peekLive();
+        int available = waiting.get();
+        if (available < minSeats) return 0;
+
+        boolean windowElapsed = oldest != null && now - oldest.enqueuedAt() >= fillWindow.toMillis();
+        if (available < maxSeats && !windowElapsed) {
+            return 0; // Give the table a chance to fill up
+        }
+
+        List<Ticket> batch = take(available);
+        if (batch.size() < minSeats) {
+            // Players cancelled since the count was read; they keep their place for the next round
+            requeue(batch);
+            return 0;
+        }
+        // Fewest tables that fit, then spread players evenly (e.g. 8 -> 4+4, 15 -> 5+5+5)
+        int tables = (batch.size() + maxSeats - 1) / maxSeats;
+        int formed = 0;
+        int from = 0;
+        for (int t = 0; t < tables; t++) {
+            int size = batch.size() / tables + (t < batch.size() % tables ? 1 : 0);
+            startTable(batch.subList(from, from + size), now);
+            from += size;
+            formed++;
+        }
+        return formed;
+    }
+
+    private Ticket peekLive() {
+        Ticket head;
+        while ((head = queue.peek()) != null && head.state().get() != Ticket.WAITING) {
+            queue.poll();
+        }
+        return head;
+    }
+
+    private List<Ticket> take(int count) {
+        List<Ticket> batch = new ArrayList<>(count);
+        Ticket ticket;
+        while (batch.size() < count && (ticket = queue.poll()) != null) {
+            if (!ticket.state().compareAndSet(Ticket.WAITING, Ticket.TAKEN)) continue;
+            tickets.remove(ticket.sessionId(), ticket);
+            waiting.decrementAndGet();
+            batch.add(ticket);
+        }
+        return batch;
+    }
+
+    private void requeue(List<Ticket> batch) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            Ticket ticket = batch.get(i);
+            ticket.state().set(Ticket.WAITING);
+            waiting.incrementAndGet();
+            queue.offerFirst(ticket);
+            // Queued again with a fresh ticket meanwhile; that one stands and this one is dropped
+            if (tickets.putIfAbsent(ticket.sessionId(), ticket) != null
+                    && ticket.state().compareAndSet(Ticket.WAITING, Ticket.CANCELLED)) {
+                waiting.decrementAndGet();
+            }
+        }
+    }
+
+    private void startTable(List<Ticket> seats, long now) {
+        Room room = roomService.createMatchedRoom("Quick match", seats);
+        gameService.initializeGame(room);
+
+        for (PlayerInfo player : room.getPlayers()) {
+            RoomMessage started = RoomMessage.builder()
+                    .type("GAME_STARTED")
+                    .roomId(room.getId())
+                    .roomName(room.getName())
+                    .playerId(player.getId())
+                    .payload(room)
+                    .build();
+            messagingTemplate.convertAndSendToUser(player.getPrincipalName(), "/queue/lobby", started);
+        }
+        for (Ticket seat : seats) {
+            waitTimer.record(now - seat.enqueuedAt(), TimeUnit.MILLISECONDS);
+        }
+        log.info("Matchmaking formed room {} with {} players", room.getId(), seats.size());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.bang.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hands out unique 6-character room codes. A released code is quarantined for a while so a stale
+ * invite or reconnect can't land in a stranger's new room.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomCodeAllocator {
+
+    private static final String ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789"; // No 0/O or 1/I
+    private static final int CODE_LENGTH = 6;
+    private static final int MAX_ATTEMPTS = 32;
+
+    private final Clock clock;
+    private final Set<String> inUse = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> quarantine = new ConcurrentHashMap<>(); // code -> reusable at
+
+    @Value("${bang.rooms.code-quarantine:1h}")
+    private Duration quarantineTime;
+
+    public String allocate() {
+        long now = clock.millis();
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            String code = randomCode();
+            Long reusableAt = quarantine.get(code);
+            if (reusableAt != null) {
+                if (reusableAt > now) continue;
+                quarantine.remove(code, reusableAt);
+            }
+            if (inUse.add(code)) {
+                return code;
+            }
+        }
+        throw new IllegalStateException("Could not allocate a room code, try again");
+    }
+
+    public void release(String code) {
+        if (inUse.remove(code)) {
+            quarantine.put(code, clock.millis() + quarantineTime.toMillis());
+        }
+    }
+
+    public int getAllocatedCount() {
+        return inUse.size();
+    }
+
+    @Scheduled(fixedDelayString = "${bang.rooms.code-quarantine-sweep:5m}")
+    public void purgeQuarantine() {
+        long now = clock.millis();
+        quarantine.values().removeIf(reusableAt -> reusableAt <= now);
+    }
+
+    // Package-private so tests can script the codes drawn
+    String randomCode() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] code = new char[CODE_LENGTH];
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            code[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(code);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.bang.service;
+
+import com.example.bang.dto.RoomMessage;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Room;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoomEvictionService {
+
+    private static final int MAX_CHECKS_PER_SWEEP = 10_000;
+
+    private final RoomService roomService;
+    private final GameService gameService;
+    private final RoomExpiryIndex expiryIndex;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    @Value("${bang.eviction.empty-lobby-ttl:2m}")
+    private Duration emptyLobbyTtl;
+
+    @Value("${bang.eviction.idle-lobby-ttl:30m}")
+    private Duration idleLobbyTtl;
+
+    @Value("${bang.eviction.finished-game-ttl:5m}")
+    private Duration finishedGameTtl;
+
+    @Value("${bang.eviction.abandoned-game-ttl:10m}")
+    private Duration abandonedGameTtl;
+
+    public enum Reason {
+        EMPTY_LOBBY,     // Lobby with nobody connected
+        IDLE_LOBBY,      // Lobby that never started
+        FINISHED_GAME,   // Game in GAME_OVER
+        ABANDONED_GAME   // Running game with every player disconnected
+    }
+
+    @Scheduled(fixedDelayString = "${bang.eviction.sweep-interval:30s}")
+    public void sweep() {
+        sweep(clock.millis());
+    }
+
+    public int sweep(long now) {
+        int evicted = 0;
+        for (String roomId : expiryIndex.pollDue(now, MAX_CHECKS_PER_SWEEP)) {
+            Room room = roomService.getRoom(roomId).orElse(null);
+            GameState game = gameService.getGame(roomId);
+            if (room == null && game == null) {
+                expiryIndex.forget(roomId);
+                continue;
+            }
+
+            boolean connected = room != null && room.hasConnectedPlayers();
+            long lastActivity = expiryIndex.getLastActivity(roomId);
+            Reason reason;
+            long deadline;
+
+            if (game != null && game.isGameOver()) {
+                reason = Reason.FINISHED_GAME;
+                deadline = lastActivity + finishedGameTtl.toMillis();
+            } else if (game == null && !room.isGameStarted()) {
+                if (connected) {
+                    reason = Reason.IDLE_LOBBY;
+                    deadline = room.getCreatedAt() + idleLobbyTtl.toMillis();
+                } else {
+                    reason = Reason.EMPTY_LOBBY;
+                    deadline = lastActivity + emptyLobbyTtl.toMillis();
+                }
+            } else if (!connected) {
+                reason = Reason.ABANDONED_GAME;
+                // Turn deadlines keep a deserted game moving, so its activity alone never runs out
+                long since = lastActivity;
+                if (room != null) {
+                    if (room.getAbandonedSince() == 0) room.setAbandonedSince(now);
+                    since = Math.min(since, room.getAbandonedSince());
+                }
+                deadline = since + abandonedGameTtl.toMillis();
+            } else {
+                // Live game: look again once it could have been abandoned
+                room.setAbandonedSince(0);
+                expiryIndex.schedule(roomId, now + abandonedGameTtl.toMillis());
+                continue;
+            }
+
+            if (deadline > now) {
+                expiryIndex.schedule(roomId, deadline);
+                continue;
+            }
+
+            evict(roomId, reason);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    private void evict(String roomId, Reason reason) {
+        roomService.removeRoom(roomId);
+        gameService.removeGame(roomId);
+        expiryIndex.forget(roomId);
+
+        RoomMessage closed = RoomMessage.builder()
+                .type("ROOM_CLOSED")
+                .roomId(roomId)
+                .payload(reason.name())
+                .build();
+        messagingTemplate.convertAndSend("/topic/room/" + roomId, closed);
+
+        meterRegistry.counter("bang.rooms.evicted", "reason", reason.name()).increment();
+        log.info("Evicted room {} ({})", roomId, reason);
+    }
+}
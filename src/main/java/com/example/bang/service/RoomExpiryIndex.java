@@ -0,0 +1,95 @@
+package com.example.bang.service;
+
+import com.example.bang.model.GameState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the last activity of every room and keeps one pending check per room ordered by due time,
+ * so the sweeper only looks at rooms whose check is due instead of scanning all of them.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomExpiryIndex implements GameEventSink {
+
+    private final Clock clock;
+    private final ConcurrentSkipListSet<Entry> queue = new ConcurrentSkipListSet<>();
+    private final Map<String, Entry> scheduled = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastActivity = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public void touch(String roomId) {
+        touch(roomId, clock.millis());
+    }
+
+    public void touch(String roomId, long now) {
+        lastActivity.put(roomId, now);
+        // New rooms get checked on the next sweep, which reschedules them at their real deadline
+        if (!scheduled.containsKey(roomId)) {
+            schedule(roomId, now);
+        }
+    }
+
+    @Override
+    public void onStateChanged(GameState state) {
+        touch(state.getRoomId());
+    }
+
+    public long getLastActivity(String roomId) {
+        return lastActivity.getOrDefault(roomId, 0L);
+    }
+
+    public void schedule(String roomId, long dueAt) {
+        Entry entry = new Entry(dueAt, sequence.incrementAndGet(), roomId);
+        Entry previous = scheduled.put(roomId, entry);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+        queue.add(entry);
+    }
+
+    public List<String> pollDue(long now, int limit) {
+        List<String> due = new ArrayList<>();
+        while (due.size() < limit) {
+            Entry head = queue.pollFirst();
+            if (head == null) break;
+            if (head.dueAt() > now) {
+                queue.add(head);
+                break;
+            }
+            // Stale entries (already replaced by a newer schedule) are simply dropped
+            if (scheduled.remove(head.roomId(), head)) {
+                due.add(head.roomId());
+            }
+        }
+        return due;
+    }
+
+    public void forget(String roomId) {
+        Entry entry = scheduled.remove(roomId);
+        if (entry != null) {
+            queue.remove(entry);
+        }
+        lastActivity.remove(roomId);
+    }
+
+    public int size() {
+        return scheduled.size();
+    }
+
+    private record Entry(long dueAt, long seq, String roomId) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            int byDue = Long.compare(dueAt, other.dueAt);
+            return byDue != 0 ? byDue : Long.compare(seq, other.seq);
+        }
+    }
+}
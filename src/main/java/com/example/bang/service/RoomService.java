@@ -1,23 +1,41 @@
 package com.example.bang.service;
 
+import com.example.bang.model.BotDifficulty;
 import com.example.bang.model.PlayerInfo;
 import com.example.bang.model.Room;
+import com.example.bang.model.RoomSettings;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
+@RequiredArgsConstructor
 public class RoomService {
 
+    private final RoomExpiryIndex expiryIndex;
+    private final LobbyDirectory lobbyDirectory;
+    private final RoomCodeAllocator codeAllocator;
+    private final AdmissionControl admissionControl;
+    private final Clock clock;
     private final Map<String, Room> rooms = new ConcurrentHashMap<>();
-    private final Map<String, String> sessionToRoom = new ConcurrentHashMap<>();
-    private final Map<String, String> sessionToPlayer = new ConcurrentHashMap<>();
+    private final Map<String, SessionBinding> sessions = new ConcurrentHashMap<>();
+
+    /** Where a live STOMP session is seated. One entry per session, replaced atomically. */
+    public record SessionBinding(String roomId, String playerId) {
+    }
 
     public Room createRoom(String roomName, String hostSessionId, String hostPrincipalName, String hostName) {
-        String roomId = generateRoomId();
+        admissionControl.checkNewRoom(rooms.size());
+        String roomId = codeAllocator.allocate();
         String playerId = UUID.randomUUID().toString();
 
         PlayerInfo host = PlayerInfo.builder()
@@ -33,27 +51,61 @@ public class RoomService {
                 .id(roomId)
                 .name(roomName)
                 .hostId(playerId)
+                .createdAt(clock.millis())
                 .build();
         room.addPlayer(host);
 
-        rooms.put(roomId, room);
-        sessionToRoom.put(hostSessionId, roomId);
-        sessionToPlayer.put(hostSessionId, playerId);
+        register(room);
+        bind(hostSessionId, roomId, playerId);
+        expiryIndex.touch(roomId);
+        lobbyDirectory.update(room);
 
         return room;
     }
 
+    /**
+     * Seats an already matched table in one go: everyone ready, first player hosts, game marked started.
+     */
+    public Room createMatchedRoom(String roomName, List<MatchmakingService.Ticket> seats) {
+        String roomId = codeAllocator.allocate();
+        Room room = Room.builder()
+                .id(roomId)
+                .name(roomName)
+                .createdAt(clock.millis())
+                .build();
+
+        for (MatchmakingService.Ticket seat : seats) {
+            String playerId = UUID.randomUUID().toString();
+            boolean host = room.getPlayers().isEmpty();
+            if (host) {
+                room.setHostId(playerId);
+            }
+            room.addPlayer(PlayerInfo.builder()
+                    .id(playerId)
+                    .sessionId(seat.sessionId())
+                    .principalName(seat.principalName())
+                    .name(seat.playerName())
+                    .ready(true)
+                    .isHost(host)
+                    .build());
+        }
+        room.setGameStarted(true);
+
+        register(room);
+        for (PlayerInfo player : room.getPlayers()) {
+            bind(player.getSessionId(), roomId, player.getId());
+        }
+        expiryIndex.touch(roomId);
+        lobbyDirectory.update(room);
+        return room;
+    }
+
     public Room joinRoom(String roomId, String sessionId, String principalName, String playerName) {
         Room room = rooms.get(roomId);
         if (room == null) {
             throw new IllegalArgumentException("Room not found: " + roomId);
         }
-        if (room.isFull()) {
-            throw new IllegalStateException("Room is full");
-        }
-        if (room.isGameStarted()) {
-            throw new IllegalStateException("Game already started");
-        }
+        admissionControl.checkJoin();
 
         String playerId = UUID.randomUUID().toString();
         PlayerInfo player = PlayerInfo.builder()
@@ -65,57 +117,80 @@ public class RoomService {
                 .isHost(false)
                 .build();
 
-        room.addPlayer(player);
-        sessionToRoom.put(sessionId, roomId);
-        sessionToPlayer.put(sessionId, playerId);
+        // Joins and leaves for the same room arrive on different inbound threads
+        synchronized (room) {
+            if (room.isFull()) {
+                throw new IllegalStateException("Room is full");
+            }
+            if (room.isGameStarted()) {
+                throw new IllegalStateException("Game already started");
+            }
+            room.addPlayer(player);
+            lobbyDirectory.update(room);
+        }
+        bind(sessionId, roomId, playerId);
+        expiryIndex.touch(roomId);
 
         return room;
     }
 
     public Room leaveRoom(String sessionId) {
-        String roomId = sessionToRoom.get(sessionId);
-        if (roomId == null) return null;
+        SessionBinding binding = sessions.remove(sessionId);
+        if (binding == null) return null;
 
+        String roomId = binding.roomId();
         Room room = rooms.get(roomId);
         if (room == null) return null;
 
-        String playerId = sessionToPlayer.get(sessionId);
-        room.removePlayer(playerId);
-
-        sessionToRoom.remove(sessionId);
-        sessionToPlayer.remove(sessionId);
-
-        if (room.getPlayers().isEmpty()) {
-            rooms.remove(roomId);
-            return null;
-        }
+        String playerId = binding.playerId();
+        synchronized (room) {
+            room.removePlayer(playerId);
+
+            // A started game outlives its last player; eviction closes the room together with the game
+            if (room.getPlayers().isEmpty() && !room.isGameStarted()) {
+                rooms.remove(roomId);
+                codeAllocator.release(roomId);
+                expiryIndex.forget(roomId);
+                lobbyDirectory.remove(roomId);
+                return null;
+            }
 
-        // Transfer host if needed
-        if (playerId.equals(room.getHostId()) && !room.getPlayers().isEmpty()) {
-            PlayerInfo newHost = room.getPlayers().get(0);
-            room.setHostId(newHost.getId());
-            newHost.setHost(true);
+            // Transfer host if needed
+            if (playerId.equals(room.getHostId()) && !room.getPlayers().isEmpty()) {
+                PlayerInfo newHost = room.getPlayers().get(0);
+                room.setHostId(newHost.getId());
+                newHost.setHost(true);
+            }
+            lobbyDirectory.update(room);
         }
+        expiryIndex.touch(roomId);
 
         return room;
     }
 
     public void handleDisconnect(String sessionId) {
-        String roomId = sessionToRoom.get(sessionId);
-        if (roomId == null) return;
+        SessionBinding binding = sessions.remove(sessionId);
+        if (binding == null) return;
 
-        String playerId = sessionToPlayer.get(sessionId);
-        
-        Room room = rooms.get(roomId);
-        if (room != null && playerId != null) {
-            PlayerInfo player = room.getPlayer(playerId);
-            if (player != null) {
-                player.setSessionId(null);
-            }
+        Room room = rooms.get(binding.roomId());
+        if (room != null) {
+            clearSession(room.getPlayer(binding.playerId()), sessionId);
+            expiryIndex.touch(binding.roomId());
         }
+    }
 
-        sessionToRoom.remove(sessionId);
-        sessionToPlayer.remove(sessionId);
+    public void removeRoom(String roomId) {
+        Room room = rooms.remove(roomId);
+        if (room != null) {
+            codeAllocator.release(roomId);
+            for (PlayerInfo player : room.getPlayers()) {
+                if (player.getSessionId() != null) {
+                    sessions.remove(player.getSessionId(), new SessionBinding(roomId, player.getId()));
+                }
+            }
+        }
+        expiryIndex.forget(roomId);
+        lobbyDirectory.remove(roomId);
     }
 
     public Optional<Room> getRoom(String roomId) {
@@ -123,24 +198,26 @@ public class RoomService {
     }
 
     public String getRoomIdForSession(String sessionId) {
-        return sessionToRoom.get(sessionId);
+        SessionBinding binding = sessions.get(sessionId);
+        return binding != null ? binding.roomId() : null;
     }
 
     public String getPlayerIdForSession(String sessionId) {
-        return sessionToPlayer.get(sessionId);
+        SessionBinding binding = sessions.get(sessionId);
+        return binding != null ? binding.playerId() : null;
     }
 
     public void setPlayerReady(String sessionId, boolean ready) {
-        String roomId = sessionToRoom.get(sessionId);
-        String playerId = sessionToPlayer.get(sessionId);
-        if (roomId == null || playerId == null) return;
+        SessionBinding binding = sessions.get(sessionId);
+        if (binding == null) return;
 
-        Room room = rooms.get(roomId);
+        Room room = rooms.get(binding.roomId());
         if (room == null) return;
 
-        PlayerInfo player = room.getPlayer(playerId);
+        PlayerInfo player = room.getPlayer(binding.playerId());
         if (player != null) {
             player.setReady(ready);
+            expiryIndex.touch(binding.roomId());
         }
     }
 
@@ -157,39 +234,100 @@ public class RoomService {
         Room room = rooms.get(roomId);
         if (room != null) {
             room.setGameStarted(true);
+            expiryIndex.touch(roomId);
+            lobbyDirectory.update(room);
         }
     }
 
-    public String kickPlayer(String hostSessionId, String targetPlayerId) {
-        String roomId = sessionToRoom.get(hostSessionId);
-        if (roomId == null) throw new IllegalArgumentException("Host not in a room");
+    public Room addBot(String hostSessionId, BotDifficulty difficulty) {
+        SessionBinding binding = sessions.get(hostSessionId);
+        if (binding == null) throw new IllegalArgumentException("Not in a room");
 
-        Room room = rooms.get(roomId);
+        Room room = rooms.get(binding.roomId());
         if (room == null) throw new IllegalArgumentException("Room not found");
 
-        String hostId = sessionToPlayer.get(hostSessionId);
-        if (hostId == null || !hostId.equals(room.getHostId())) {
-            throw new IllegalStateException("Only host can kick players");
-        }
+        // Same lock as joins and leaves, so a bot can't take a seat a player was just given
+        synchronized (room) {
+            if (!binding.playerId().equals(room.getHostId())) {
+                throw new IllegalStateException("Only host can add bots");
+            }
+            if (room.isGameStarted()) {
+                throw new IllegalStateException("Game already started");
+            }
+            if (room.isFull()) {
+                throw new IllegalStateException("Room is full");
+            }
 
-        if (hostId.equals(targetPlayerId)) {
-            throw new IllegalArgumentException("Host cannot kick themselves");
+            long bots = room.getPlayers().stream().filter(PlayerInfo::isBot).count();
+            room.addPlayer(PlayerInfo.builder()
+                    .id(UUID.randomUUID().toString())
+                    .name("Bot " + (bots + 1))
+                    .ready(true)
+                    .bot(true)
+                    .botDifficulty(difficulty != null ? difficulty : BotDifficulty.HEURISTIC)
+                    .build());
+            lobbyDirectory.update(room);
         }
+        expiryIndex.touch(room.getId());
+        return room;
+    }
 
-        PlayerInfo targetPlayer = room.getPlayer(targetPlayerId);
-        if (targetPlayer == null) {
-            throw new IllegalArgumentException("Player not found in room");
+    public Room updateSettings(String hostSessionId, RoomSettings settings) {
+        SessionBinding binding = sessions.get(hostSessionId);
+        if (binding == null) throw new IllegalArgumentException("Not in a room");
+
+        String roomId = binding.roomId();
+        Room room = rooms.get(roomId);
+        if (room == null) throw new IllegalArgumentException("Room not found");
+
+        if (!binding.playerId().equals(room.getHostId())) {
+            throw new IllegalStateException("Only host can change room settings");
+        }
+        if (room.isGameStarted()) {
+            throw new IllegalStateException("Game already started");
         }
 
-        String targetSessionId = targetPlayer.getSessionId();
-        String targetPrincipalName = targetPlayer.getPrincipalName();
+        room.setSettings(settings);
+        expiryIndex.touch(roomId);
+        return room;
+    }
 
-        room.removePlayer(targetPlayerId);
+    public String kickPlayer(String hostSessionId, String targetPlayerId) {
+        SessionBinding binding = sessions.get(hostSessionId);
+        if (binding == null) throw new IllegalArgumentException("Host not in a room");
 
-        if (targetSessionId != null) {
-            sessionToRoom.remove(targetSessionId);
-            sessionToPlayer.remove(targetSessionId);
+        String roomId = binding.roomId();
+        Room room = rooms.get(roomId);
+        if (room == null) throw new IllegalArgumentException("Room not found");
+
+        String hostId = binding.playerId();
+        String targetSessionId;
+        String targetPrincipalName;
+        synchronized (room) {
+            if (!hostId.equals(room.getHostId())) {
+                throw new IllegalStateException("Only host can kick players");
+            }
+
+            if (hostId.equals(targetPlayerId)) {
+                throw new IllegalArgumentException("Host cannot kick themselves");
+            }
+
+            PlayerInfo targetPlayer = room.getPlayer(targetPlayerId);
+            if (targetPlayer == null) {
+                throw new IllegalArgumentException("Player not found in room");
+            }
+
+            targetSessionId = targetPlayer.getSessionId();
+            targetPrincipalName = targetPlayer.getPrincipalName();
+
+            room.removePlayer(targetPlayerId);
+
+            if (targetSessionId != null) {
+                sessions.remove(targetSessionId, new SessionBinding(roomId, targetPlayerId));
+            }
+            lobbyDirectory.update(room);
         }
+        expiryIndex.touch(roomId);
 
         // Return principal name if available, otherwise session ID as fallback
         return targetPrincipalName != null ? targetPrincipalName : targetSessionId;
@@ -206,31 +344,104 @@ public class RoomService {
             throw new IllegalArgumentException("Player not found in room");
         }
 
-        // Remove old session mappings
+        // Remove old session mapping
         String oldSessionId = player.getSessionId();
         if (oldSessionId != null) {
-            sessionToRoom.remove(oldSessionId);
-            sessionToPlayer.remove(oldSessionId);
+            sessions.remove(oldSessionId, new SessionBinding(roomId, playerId));
         }
 
         // Update player session
         player.setSessionId(newSessionId);
         player.setPrincipalName(newPrincipalName);
 
-        // Update mappings
-        sessionToRoom.put(newSessionId, roomId);
-        sessionToPlayer.put(newSessionId, playerId);
+        bind(newSessionId, roomId, playerId);
+        expiryIndex.touch(roomId);
 
         return room;
     }
 
-    private String generateRoomId() {
-        String chars = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < 6; i++) {
-            int index = (int) (Math.random() * chars.length());
-            sb.append(chars.charAt(index));
+    /**
+     * Session ids referenced by a binding or a seated player that are not in {@code liveSessionIds}.
+     */
+    public Set<String> findStaleSessions(Set<String> liveSessionIds) {
+        Set<String> stale = new HashSet<>();
+        for (String sessionId : sessions.keySet()) {
+            if (!liveSessionIds.contains(sessionId)) stale.add(sessionId);
+        }
+        for (Room room : rooms.values()) {
+            for (PlayerInfo player : room.getPlayers()) {
+                String sessionId = player.getSessionId();
+                if (sessionId != null && !liveSessionIds.contains(sessionId)) stale.add(sessionId);
+            }
+        }
+        return stale;
+    }
+
+    /**
+     * Drops bindings and seat sessions for dead sessions, plus bindings whose room or seat is gone.
+     * Players stay seated so they can still reconnect. Returns how many orphans of each kind were fixed.
+     */
+    public Map<String, Integer> reapSessions(Set<String> deadSessionIds) {
+        Map<String, Integer> reaped = new HashMap<>();
+
+        for (Map.Entry<String, SessionBinding> entry : sessions.entrySet()) {
+            String sessionId = entry.getKey();
+            SessionBinding binding = entry.getValue();
+            Room room = rooms.get(binding.roomId());
+            PlayerInfo player = room != null ? room.getPlayer(binding.playerId()) : null;
+
+            if (player == null || !sessionId.equals(player.getSessionId())) {
+                // Room evicted, player kicked, or the seat moved to another session
+                if (sessions.remove(sessionId, binding)) reaped.merge("dangling", 1, Integer::sum);
+            } else if (deadSessionIds.contains(sessionId) && sessions.remove(sessionId, binding)) {
+                clearSession(player, sessionId);
+                expiryIndex.touch(binding.roomId());
+                reaped.merge("binding", 1, Integer::sum);
+            }
+        }
+
+        for (Room room : rooms.values()) {
+            for (PlayerInfo player : room.getPlayers()) {
+                String sessionId = player.getSessionId();
+                if (sessionId != null && deadSessionIds.contains(sessionId) && !sessions.containsKey(sessionId)) {
+                    clearSession(player, sessionId);
+                    expiryIndex.touch(room.getId());
+                    reaped.merge("seat", 1, Integer::sum);
+                }
+            }
+        }
+        return reaped;
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private void bind(String sessionId, String roomId, String playerId) {
+        SessionBinding previous = sessions.put(sessionId, new SessionBinding(roomId, playerId));
+        // A session can only hold one seat, release the one it had before
+        if (previous != null && !previous.playerId().equals(playerId)) {
+            Room previousRoom = rooms.get(previous.roomId());
+            if (previousRoom != null) {
+                clearSession(previousRoom.getPlayer(previous.playerId()), sessionId);
+            }
+        }
+    }
+
+    private void clearSession(PlayerInfo player, String sessionId) {
+        if (player != null && sessionId.equals(player.getSessionId())) {
+            player.setSessionId(null);
+        }
+    }
+
+    // The code still belongs to the live room holding it, so it must not be released here
+    private void register(Room room) {
+        if (rooms.putIfAbsent(room.getId(), room) != null) {
+            throw new IllegalStateException("Room code collision: " + room.getId());
         }
-        return sb.toString();
     }
 }
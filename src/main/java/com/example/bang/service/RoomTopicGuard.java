@@ -0,0 +1,73 @@
+package com.example.bang.service;
+
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.Room;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the live game topics to the room's own players. The state and event topics carry the table as
+ * it happens, so an outsider subscribed there would see what spectators are only shown after the
+ * anti-ghosting delay; a player topic is for that one player. Room updates and the spectator stream stay
+ * open to anyone.
+ *
+ * <p>A reloaded client subscribes on its fresh session before {@code /app/room/reconnect} binds it, so a
+ * SUBSCRIBE may instead name its seat in a {@code playerId} header. That is the same claim reconnect
+ * accepts; bot seats can't be claimed.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomTopicGuard implements ChannelInterceptor {
+
+    static final String PLAYER_HEADER = "playerId";
+
+    private static final Pattern GAME_TOPIC = Pattern.compile("/topic/room/([^/]+)/(state|events|player/([^/]+))");
+
+    private final RoomService roomService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.SUBSCRIBE) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        Matcher topic = destination != null ? GAME_TOPIC.matcher(destination) : null;
+        if (topic == null || !topic.matches()) return message;
+
+        String roomId = topic.group(1);
+        String topicPlayerId = topic.group(3);
+        String playerId = playerOf(message, roomId);
+        if (playerId == null || topicPlayerId != null && !topicPlayerId.equals(playerId)) {
+            throw new MessageDeliveryException(message, "Only players of room " + roomId
+                    + " may subscribe to " + destination);
+        }
+        return message;
+    }
+
+    // The seat the session is bound to in this room, else the human seat its SUBSCRIBE claims
+    private String playerOf(Message<?> message, String roomId) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (roomId.equals(roomService.getRoomIdForSession(sessionId))) {
+            return roomService.getPlayerIdForSession(sessionId);
+        }
+
+        String claimed = NativeMessageHeaderAccessor.getFirstNativeHeader(PLAYER_HEADER, message.getHeaders());
+        if (claimed == null) return null;
+        Room room = roomService.getRoom(roomId).orElse(null);
+        if (room == null) return null;
+        synchronized (room) {
+            PlayerInfo seat = room.getPlayer(claimed);
+            return seat != null && !seat.isBot() ? claimed : null;
+        }
+    }
+}
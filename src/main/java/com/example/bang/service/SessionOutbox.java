@@ -0,0 +1,138 @@
+package com.example.bang.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks how many frames each session has queued but not yet written to its socket. While a session
+ * is over the limit its personal state frames are parked instead of sent, latest wins, and the
+ * newest one goes out once the socket drains. Events are never parked.
+ */
+@Slf4j
+@Component
+public class SessionOutbox {
+
+    private final ObjectProvider<SimpMessagingTemplate> messagingTemplate;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary lagSummary;
+    private final Map<String, SessionQueue> queues = new ConcurrentHashMap<>();
+
+    @Value("${bang.outbound.max-queued-frames:16}")
+    private int maxQueuedFrames;
+
+    public SessionOutbox(ObjectProvider<SimpMessagingTemplate> messagingTemplate, MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.meterRegistry = meterRegistry;
+        this.lagSummary = DistributionSummary.builder("bang.outbound.lag.frames")
+                .description("Frames queued for a session when a state frame is sent to it")
+                .register(meterRegistry);
+        meterRegistry.gauge("bang.outbound.lagging.sessions", queues,
+                q -> q.values().stream().filter(s -> s.parked != null).count());
+    }
+
+    /** Called by the outbound channel for every frame headed to a session. */
+    public void frameQueued(String sessionId) {
+        SessionQueue queue = queues.get(sessionId);
+        if (queue != null) queue.queued.incrementAndGet();
+    }
+
+    /** Called once a frame was actually written to the session's socket. */
+    public void frameWritten(String sessionId) {
+        SessionQueue queue = queues.get(sessionId);
+        if (queue == null) return;
+
+        // Frames written directly by the protocol handler never went through the channel
+        int depth = queue.queued.updateAndGet(n -> Math.max(0, n - 1));
+        if (depth <= maxQueuedFrames / 2 && queue.parked != null) {
+            flush(sessionId, queue);
+        }
+    }
+
+    public void sendState(String sessionId, String principalName, String destination, Object view) {
+        // Game states keep a player's last session id after a disconnect; don't track those again
+        SessionQueue queue = sessionId != null ? queues.get(sessionId) : null;
+        if (queue == null) {
+            messagingTemplate.getObject().convertAndSendToUser(principalName, destination, view);
+            return;
+        }
+
+        synchronized (queue) {
+            int depth = queue.queued.get();
+            lagSummary.record(depth);
+
+            if (depth > maxQueuedFrames) {
+                if (queue.parked != null) {
+                    meterRegistry.counter("bang.outbound.dropped", "kind", "state").increment();
+                }
+                queue.parked = new ParkedFrame(principalName, destination, view);
+                return;
+            }
+            if (queue.parked != null) {
+                // Superseded by the frame we are about to send
+                queue.parked = null;
+                meterRegistry.counter("bang.outbound.dropped", "kind", "state").increment();
+            }
+            messagingTemplate.getObject().convertAndSendToUser(principalName, destination, view);
+        }
+    }
+
+    public int getQueuedFrames(String sessionId) {
+        SessionQueue queue = queues.get(sessionId);
+        return queue != null ? queue.queued.get() : 0;
+    }
+
+    /** Safety net for sessions that drained without a write callback. */
+    @Scheduled(fixedDelayString = "${bang.outbound.flush-interval:1s}")
+    public void flushParked() {
+        queues.forEach((sessionId, queue) -> {
+            if (queue.parked != null && queue.queued.get() <= maxQueuedFrames) {
+                flush(sessionId, queue);
+            }
+        });
+    }
+
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null) {
+            queues.putIfAbsent(sessionId, new SessionQueue());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        queues.remove(event.getSessionId());
+    }
+
+    private void flush(String sessionId, SessionQueue queue) {
+        synchronized (queue) {
+            ParkedFrame frame = queue.parked;
+            if (frame == null) return;
+            queue.parked = null;
+            log.debug("Session {} drained, sending latest parked state", sessionId);
+            messagingTemplate.getObject().convertAndSendToUser(frame.principalName(), frame.destination(), frame.payload());
+        }
+    }
+
+    private static final class SessionQueue {
+        final AtomicInteger queued = new AtomicInteger();
+        volatile ParkedFrame parked;
+    }
+
+    private record ParkedFrame(String principalName, String destination, Object payload) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.bang.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.user.SimpSession;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reconciles RoomService session bookkeeping with the sessions the broker actually knows about.
+ * A session has to be missing on two sweeps in a row before it is reaped, so one that is still
+ * connecting is never mistaken for a ghost.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionReaper {
+
+    private final RoomService roomService;
+    private final SimpUserRegistry userRegistry;
+    private final MeterRegistry meterRegistry;
+
+    private Set<String> suspects = Set.of();
+
+    @Scheduled(fixedDelayString = "${bang.sessions.reap-interval:60s}")
+    public synchronized void reap() {
+        Set<String> live = new HashSet<>();
+        for (SimpUser user : userRegistry.getUsers()) {
+            for (SimpSession session : user.getSessions()) {
+                live.add(session.getId());
+            }
+        }
+
+        Set<String> stale = roomService.findStaleSessions(live);
+        Set<String> confirmed = new HashSet<>(stale);
+        confirmed.retainAll(suspects);
+        suspects = stale;
+
+        Map<String, Integer> reaped = roomService.reapSessions(confirmed);
+        reaped.forEach((kind, count) ->
+                meterRegistry.counter("bang.sessions.orphans.reaped", "kind", kind).increment(count));
+        if (!reaped.isEmpty()) {
+            log.warn("Reaped orphaned sessions {} ({} live, {} still suspect)", reaped, live.size(), stale.size() - confirmed.size());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.bang.service;
+
+import com.example.bang.dto.GameEvent;
+import com.example.bang.dto.SpectatorFrame;
+import com.example.bang.jfr.SerializeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Public stream for spectators. Each frame is serialized once into a shared message, optionally held
+ * back on the timing wheel, then handed to the broker, so a viewer costs no extra encoding; state frames
+ * embed the public view exactly as it was encoded for the players' topic. Rooms nobody watches encode
+ * nothing. The last released state is kept as a keyframe for late joiners.
+ */
+@Slf4j
+@Service
+public class SpectatorService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TimingWheel timingWheel;
+    private final ObjectMapper objectMapper;
+    private final FanoutAccounting fanoutAccounting;
+    private final Map<String, Stream> streams = new ConcurrentHashMap<>();
+    private final Map<String, String> spectators = new ConcurrentHashMap<>(); // sessionId -> roomId
+
+    @Value("${bang.spectate.delay:0s}")
+    private Duration delay;
+
+    public SpectatorService(SimpMessagingTemplate messagingTemplate, TimingWheel timingWheel,
+                            ObjectMapper objectMapper, FanoutAccounting fanoutAccounting, MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.timingWheel = timingWheel;
+        this.objectMapper = objectMapper;
+        this.fanoutAccounting = fanoutAccounting;
+        meterRegistry.gaugeMapSize("bang.spectators", Tags.empty(), spectators);
+    }
+
+    /**
+     * Called with the public view as already encoded for the players' topic; it carries no hands or
+     * hidden roles.
+     */
+    public void publishState(String roomId, long seq, byte[] publicView) {
+        Stream stream = streams.computeIfAbsent(roomId, id -> new Stream());
+        Keyframe keyframe = new Keyframe(roomId, seq, publicView);
+        if (stream.watched()) {
+            keyframe.frame(); // Encode now so the work is accounted to the command
+        }
+        release(roomId, stream, () -> {
+            stream.keyframe = keyframe;
+            if (stream.watched()) {
+                send(roomId, keyframe.frame());
+            }
+        });
+    }
+
+    public void publishEvent(String roomId, GameEvent event) {
+        Stream stream = streams.get(roomId);
+        if (stream == null || !stream.watched()) return;
+        Message<byte[]> frame = encode(SpectatorFrame.builder()
+                .type("EVENT").roomId(roomId).seq(event.getSeq()).payload(event).build());
+        release(roomId, stream, () -> send(roomId, frame));
+    }
+
+    /** Registers the session as a viewer and sends it the latest keyframe, if any. */
+    public boolean join(String roomId, String sessionId, String principalName) {
+        String previous = spectators.put(sessionId, roomId);
+        if (previous != null && !previous.equals(roomId)) {
+            leave(previous, sessionId);
+        }
+        Stream stream = streams.computeIfAbsent(roomId, id -> new Stream());
+        stream.viewers.add(sessionId);
+        Keyframe keyframe = stream.keyframe;
+        if (keyframe != null) {
+            messagingTemplate.send("/user/" + principalName + "/queue/spectate", keyframe.frame());
+        }
+        return keyframe != null;
+    }
+
+    public void forget(String roomId) {
+        streams.remove(roomId);
+        spectators.values().removeIf(roomId::equals);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        String roomId = spectators.remove(event.getSessionId());
+        if (roomId != null) {
+            leave(roomId, event.getSessionId());
+        }
+    }
+
+    private void leave(String roomId, String sessionId) {
+        Stream stream = streams.get(roomId);
+        if (stream != null) {
+            stream.viewers.remove(sessionId);
+        }
+    }
+
+    private void release(String roomId, Stream stream, Runnable send) {
+        if (delay.isZero()) {
+            send.run();
+        } else {
+            // Anti-ghosting: viewers see the table a fixed time behind the players. A room forgotten in
+            // the meantime gets nothing, so a late frame can't bring its stream back.
+            timingWheel.schedule(() -> {
+                if (streams.get(roomId) == stream) send.run();
+            }, timingWheel.now() + delay.toMillis());
+        }
+    }
+
+    private void send(String roomId, Message<byte[]> frame) {
+        messagingTemplate.send("/topic/room/" + roomId + "/spectate", frame);
+    }
+
+    private Message<byte[]> encode(SpectatorFrame frame) {
+        try {
+            SerializeEvent event = new SerializeEvent();
+            event.begin();
+            long start = System.nanoTime();
+            byte[] payload = objectMapper.writeValueAsBytes(frame);
+            fanoutAccounting.encoded(payload.length, System.nanoTime() - start);
+            if (event.shouldCommit()) {
+                fanoutAccounting.describe(event);
+                event.payloadType(SpectatorFrame.class);
+                event.payloadSize(payload.length);
+                event.commit();
+            }
+            return MessageBuilder.withPayload(payload)
+                    .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode spectator frame", e);
+        }
+    }
+
+    private static final class Stream {
+        final Set<String> viewers = ConcurrentHashMap.newKeySet();
+        volatile Keyframe keyframe;
+
+        boolean watched() {
+            return !viewers.isEmpty();
+        }
+    }
+
+    // Encoded on first use; two threads racing here just encode the same frame twice
+    private final class Keyframe {
+        final String roomId;
+        final long seq;
+        final byte[] view;
+        volatile Message<byte[]> frame;
+
+        Keyframe(String roomId, long seq, byte[] view) {
+            this.roomId = roomId;
+            this.seq = seq;
+            this.view = view;
+        }
+
+        Message<byte[]> frame() {
+            Message<byte[]> encoded = frame;
+            if (encoded == null) {
+                encoded = encode(SpectatorFrame.builder()
+                        .type("STATE").roomId(roomId).seq(seq)
+                        .payload(new RawValue(new String(view, StandardCharsets.UTF_8)))
+                        .build());
+                frame = encoded;
+            }
+            return encoded;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.bang.service;
+
+import com.example.bang.bot.MoveGenerator;
+import com.example.bang.dto.GameEvent;
+import com.example.bang.dto.GameStateView;
+import com.example.bang.dto.ResumePayload;
+import com.example.bang.jfr.ViewBuildEvent;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Player;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes games over STOMP: sequence-stamped events and views to the room topics and player
+ * queues, plus the spectator stream. Runs after sinks that update the state, like deadlines.
+ */
+@Component
+@Order(100)
+@RequiredArgsConstructor
+public class StompGameEventSink implements GameEventSink {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SessionOutbox outbox;
+    private final SpectatorService spectators;
+    private final MoveGenerator moveGenerator;
+    private final FanoutAccounting fanoutAccounting;
+    private final Map<String, EventJournal> journals = new ConcurrentHashMap<>();
+
+    @Value("${bang.resume.journal-size:256}")
+    private int journalSize;
+
+    @Override
+    public void onEvent(String roomId, GameEvent event) {
+        journal(roomId).append(event);
+        messagingTemplate.convertAndSend("/topic/room/" + roomId + "/events", event);
+        spectators.publishEvent(roomId, event);
+    }
+
+    @Override
+    public void onStateChanged(GameState state) {
+        String roomId = state.getRoomId();
+        long seq = journal(roomId).nextSeq();
+
+        // Broadcast to room topic for all players
+        GameStateView publicView = view(state, null);
+        publicView.setSeq(seq);
+        // Encoded once; the spectator stream reuses the same bytes
+        Message<?> encoded = messagingTemplate.getMessageConverter().toMessage(publicView, null);
+        messagingTemplate.send("/topic/room/" + roomId + "/state", encoded);
+        spectators.publishState(roomId, seq, (byte[]) encoded.getPayload());
+
+        // Also send personalized view to each player
+        for (Player player : state.getPlayers()) {
+            if (player.isBot()) continue; // BotDriver reads the live game and nobody subscribes for a bot
+            GameStateView view = view(state, player.getId());
+            view.setSeq(seq);
+            view.setLegalMoves(moveGenerator.generate(state, player));
+
+            if (player.getPrincipalName() != null) {
+                // Slow sessions only get the newest state once they catch up
+                outbox.sendState(player.getSessionId(), player.getPrincipalName(), "/queue/game", view);
+            } else {
+                messagingTemplate.convertAndSend(
+                        "/topic/room/" + roomId + "/player/" + player.getId(),
+                        view
+                );
+            }
+        }
+    }
+
+    @Override
+    public void onGameRemoved(String roomId) {
+        journals.remove(roomId);
+        spectators.forget(roomId);
+    }
+
+    /**
+     * Everything a reconnecting player missed since {@code lastSeq}: the missed events plus the latest
+     * personal view, or just the view when the journal no longer covers the gap.
+     */
+    public ResumePayload resume(GameState state, String playerId, long lastSeq) {
+        synchronized (state) {
+            EventJournal journal = journal(state.getRoomId());
+            List<GameEvent> missed = journal.since(lastSeq);
+            return ResumePayload.builder()
+                    .seq(journal.currentSeq())
+                    .snapshot(missed == null)
+                    .events(missed != null ? missed : List.of())
+                    .state(buildView(state, playerId))
+                    .build();
+        }
+    }
+
+    /**
+     * Personal view stamped with the current sequence, with the player's legal moves. Callers hold the
+     * game lock.
+     */
+    public GameStateView buildView(GameState state, String playerId) {
+        GameStateView view = view(state, playerId);
+        view.setSeq(journal(state.getRoomId()).currentSeq());
+        Player player = state.getPlayerById(playerId);
+        if (player != null) {
+            view.setLegalMoves(moveGenerator.generate(state, player));
+        }
+        return view;
+    }
+
+    private GameStateView view(GameState state, String playerId) {
+        ViewBuildEvent event = new ViewBuildEvent();
+        event.begin();
+        GameStateView view = GameStateView.fromGameState(state, playerId);
+        if (event.shouldCommit()) {
+            event.scope(state.getRoomId(), fanoutAccounting.currentCommand(),
+                    state.getPhase() != null ? state.getPhase().name() : null, state.getPlayers().size());
+            event.personal(playerId != null);
+            event.commit();
+        }
+        return view;
+    }
+
+    private EventJournal journal(String roomId) {
+        return journals.computeIfAbsent(roomId, id -> new EventJournal(journalSize));
+    }
+}
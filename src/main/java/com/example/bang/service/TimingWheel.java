@@ -0,0 +1,235 @@
+package com.example.bang.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel: scheduling and cancelling are O(1) lock-free queue operations, and each tick
+ * only visits the timeouts hashed into its bucket. Expired tasks run on the wheel thread, so they must be short.
+ */
+@Slf4j
+@Component
+public class TimingWheel {
+
+    private final Clock clock;
+    private final long tickMillis;
+    private final int mask;
+    private final Bucket[] buckets;
+    private final long startTime;
+    private final Queue<Timeout> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private long tick; // Next tick to process, only touched inside advance()
+    private volatile boolean running;
+    private Thread worker;
+
+    @Autowired
+    public TimingWheel(@Value("${bang.timeouts.tick:100ms}") Duration tickDuration,
+                       @Value("${bang.timeouts.wheel-size:512}") int wheelSize,
+                       Clock clock) {
+        this(tickDuration, wheelSize, clock, clock.millis());
+    }
+
+    public TimingWheel(Duration tickDuration, int wheelSize, long startTime) {
+        this(tickDuration, wheelSize, Clock.systemUTC(), startTime);
+    }
+
+    private TimingWheel(Duration tickDuration, int wheelSize, Clock clock, long startTime) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.clock = clock;
+        this.tickMillis = Math.max(1, tickDuration.toMillis());
+        this.mask = wheelSize - 1;
+        this.buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.startTime = startTime;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(() -> {
+            while (running) {
+                try {
+                    Thread.sleep(tickMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                advance(clock.millis());
+            }
+        }, "timing-wheel");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    public Timeout schedule(Runnable task, long deadline) {
+        Timeout timeout = new Timeout(this, deadline, task);
+        pending.incrementAndGet();
+        additions.add(timeout);
+        return timeout;
+    }
+
+    /** Current time on the wheel's clock; deadlines passed to {@link #schedule} are in the same base. */
+    public long now() {
+        return clock.millis();
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Processes every tick that has fully elapsed at {@code now}. Normally driven by the wheel thread,
+     * but can be called directly to drive the wheel from another clock.
+     */
+    public synchronized void advance(long now) {
+        long target = (now - startTime) / tickMillis;
+        while (tick < target) {
+            processCancellations();
+            transferAdditions();
+            buckets[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    private void transferAdditions() {
+        Timeout timeout;
+        while ((timeout = additions.poll()) != null) {
+            if (timeout.state.get() != Timeout.INIT) continue;
+            long calculated = Math.max((timeout.deadline - startTime) / tickMillis, tick);
+            timeout.remainingRounds = (calculated - tick) / buckets.length;
+            buckets[(int) (calculated & mask)].add(timeout);
+        }
+    }
+
+    private void processCancellations() {
+        Timeout timeout;
+        while ((timeout = cancellations.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    public static final class Timeout {
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final TimingWheel wheel;
+        private final long deadline;
+        private final Runnable task;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+        private Bucket bucket;
+
+        private Timeout(TimingWheel wheel, long deadline, Runnable task) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean cancel() {
+            if (!state.compareAndSet(INIT, CANCELLED)) {
+                return false;
+            }
+            wheel.pending.decrementAndGet();
+            wheel.cancellations.add(this);
+            return true;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(INIT, EXPIRED)) {
+                return;
+            }
+            wheel.pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("Timeout task failed", e);
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) return;
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
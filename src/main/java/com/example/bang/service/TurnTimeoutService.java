@@ -0,0 +1,242 @@
+package com.example.bang.service;
+
+import com.example.bang.model.Card;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Player;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps one deadline per room for whoever the game is waiting on. When it expires the default action
+ * is sent through the regular GameService commands, so AFK players can't freeze a table. The wheel only
+ * hands expiries to a small pool, so one slow room doesn't hold up every other deadline.
+ */
+@Slf4j
+@Service
+@Order(0)
+public class TurnTimeoutService implements GameEventSink {
+
+    private static final int MAX_DEFAULT_STEPS = 32;
+
+    private final TimingWheel timingWheel;
+    private final ObjectProvider<GameService> gameService;
+    private final FanoutAccounting fanoutAccounting;
+    private final Executor expiryExecutor;
+    private final Map<String, ArmedDeadline> armed = new ConcurrentHashMap<>();
+    private final Map<String, TurnDeadline> turns = new ConcurrentHashMap<>();
+
+    @Value("${bang.timeouts.turn:90s}")
+    private Duration turnTimeout;
+
+    @Value("${bang.timeouts.reaction:20s}")
+    private Duration reactionTimeout;
+
+    @Autowired
+    public TurnTimeoutService(TimingWheel timingWheel, ObjectProvider<GameService> gameService,
+                              FanoutAccounting fanoutAccounting,
+                              @Value("${bang.timeouts.threads:2}") int threads) {
+        this(timingWheel, gameService, fanoutAccounting, expiryPool(threads));
+    }
+
+    public TurnTimeoutService(TimingWheel timingWheel, ObjectProvider<GameService> gameService,
+                              FanoutAccounting fanoutAccounting, Executor expiryExecutor) {
+        this.timingWheel = timingWheel;
+        this.gameService = gameService;
+        this.fanoutAccounting = fanoutAccounting;
+        this.expiryExecutor = expiryExecutor;
+    }
+
+    private static ExecutorService expiryPool(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "turn-timeout-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (expiryExecutor instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Re-arms the room deadline if the game is now waiting on someone else. Called with the game state locked.
+     */
+    public void arm(GameState state) {
+        String roomId = state.getRoomId();
+        String key = deadlineKey(state);
+        if (key == null) {
+            disarm(roomId);
+            state.setActionDeadline(0);
+            state.setActionDeadlinePlayerId(null);
+            return;
+        }
+
+        ArmedDeadline current = armed.get(roomId);
+        if (current != null && current.key().equals(key)) {
+            return;
+        }
+
+        long deadline;
+        if (key.startsWith("TURN")) {
+            // Reactions the turn sets off don't extend it: back on the turn, its own deadline still holds
+            TurnDeadline turn = turns.get(roomId);
+            if (turn == null || !turn.key().equals(key)) {
+                turn = new TurnDeadline(key, timingWheel.now() + turnTimeout.toMillis());
+                turns.put(roomId, turn);
+            }
+            deadline = turn.deadline();
+        } else {
+            deadline = timingWheel.now() + reactionTimeout.toMillis();
+        }
+        TimingWheel.Timeout handle = timingWheel.schedule(() -> expireLater(roomId, key), deadline);
+
+        ArmedDeadline previous = armed.put(roomId, new ArmedDeadline(key, handle));
+        if (previous != null) {
+            previous.timeout().cancel();
+        }
+        state.setActionDeadline(deadline);
+        state.setActionDeadlinePlayerId(awaitedPlayerId(state));
+    }
+
+    @Override
+    public void onStateChanged(GameState state) {
+        arm(state);
+    }
+
+    @Override
+    public void onGameRemoved(String roomId) {
+        disarm(roomId);
+    }
+
+    public void disarm(String roomId) {
+        turns.remove(roomId);
+        ArmedDeadline previous = armed.remove(roomId);
+        if (previous != null) {
+            previous.timeout().cancel();
+        }
+    }
+
+    // Runs on the wheel thread, which must not wait on a game lock or run the defaults itself
+    private void expireLater(String roomId, String key) {
+        try {
+            expiryExecutor.execute(() -> expire(roomId, key));
+        } catch (RejectedExecutionException e) {
+            log.debug("Deadline in room {} expired during shutdown", roomId);
+        }
+    }
+
+    private void expire(String roomId, String key) {
+        GameService games = gameService.getObject();
+        GameState state = games.getGame(roomId);
+        if (state == null) return;
+
+        synchronized (state) {
+            ArmedDeadline current = armed.get(roomId);
+            if (current == null || !current.key().equals(key) || !key.equals(deadlineKey(state))) {
+                return; // The game moved on before the deadline fired
+            }
+            armed.remove(roomId);
+            log.info("Deadline expired in room {} ({}), applying default action", roomId, key);
+
+            fanoutAccounting.begin(roomId, "timeout", state);
+            try {
+                for (int step = 0; step < MAX_DEFAULT_STEPS && key.equals(deadlineKey(state)); step++) {
+                    applyDefault(games, state);
+                }
+            } finally {
+                fanoutAccounting.end();
+            }
+            // No default could move the game along, give the player another full deadline and tell
+            // the table, since nothing else would publish the new one
+            if (key.equals(deadlineKey(state))) {
+                turns.remove(roomId);
+                arm(state);
+                games.republishGameState(state);
+            }
+        }
+    }
+
+    private void applyDefault(GameService games, GameState state) {
+        String roomId = state.getRoomId();
+        String playerId = awaitedPlayerId(state);
+        switch (state.getPhase()) {
+            case REACTION_PHASE -> games.respondToAction(roomId, playerId, null, false);
+            case GENERAL_STORE_PHASE -> games.pickGeneralStoreCard(roomId, playerId, firstCardId(state.getGeneralStoreCards()));
+            case LUCKY_DUKE_RESOLVE -> games.handleLuckyDukeChoice(roomId, playerId, firstCardId(state.getLuckyDukeCardsToChooseFrom()));
+            case KIT_CARLSON_PHASE -> games.selectKitCarlsonCards(roomId, playerId,
+                    state.getDrawnCardsToChooseFrom().stream()
+                            .limit(GameService.kitCarlsonKeepCount(state))
+                            .map(Card::getId)
+                            .toList());
+            case DRAW_PHASE -> games.drawCards(roomId, playerId);
+            case PLAY_PHASE -> games.passTurn(roomId, playerId);
+            case DISCARD_PHASE -> {
+                Player player = state.getPlayerById(playerId);
+                List<Card> hand = player.getHand();
+                games.discardCard(roomId, playerId, hand.get(hand.size() - 1).getId());
+            }
+            default -> { }
+        }
+    }
+
+    private String firstCardId(List<Card> cards) {
+        return cards.isEmpty() ? null : cards.get(0).getId();
+    }
+
+    public static String awaitedPlayerId(GameState state) {
+        Player current = state.getCurrentPlayer();
+        return switch (state.getPhase()) {
+            case REACTION_PHASE -> state.isConcurrentReaction()
+                    ? state.getPendingActionPlayers().stream()
+                        .filter(id -> !state.hasSubmittedReaction(id))
+                        .findFirst().orElse(null)
+                    : state.getPendingActionPlayerId();
+            case GENERAL_STORE_PHASE -> state.getPendingActionPlayerId();
+            case LUCKY_DUKE_RESOLVE -> state.getPendingActionPlayerId() != null
+                    ? state.getPendingActionPlayerId()
+                    : current != null ? current.getId() : null;
+            case DRAW_PHASE, PLAY_PHASE, DISCARD_PHASE, KIT_CARLSON_PHASE -> current != null ? current.getId() : null;
+            default -> null;
+        };
+    }
+
+    private static String deadlineKey(GameState state) {
+        String playerId = awaitedPlayerId(state);
+        if (playerId == null) return null;
+        if (state.isConcurrentReaction()) {
+            // All targets answer against one shared deadline
+            return "REACTION:" + state.getPendingActionType() + ":" + state.getTurnNumber();
+        }
+        return switch (state.getPhase()) {
+            // The whole turn shares one deadline, reactions get their own per responder
+            case DRAW_PHASE, PLAY_PHASE, DISCARD_PHASE, KIT_CARLSON_PHASE ->
+                    "TURN:" + state.getTurnNumber() + ":" + playerId;
+            default -> state.getPhase() + ":" + state.getPendingActionType() + ":" + playerId;
+        };
+    }
+
+    private record ArmedDeadline(String key, TimingWheel.Timeout timeout) {
+    }
+
+    private record TurnDeadline(String key, long deadline) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.bang.sim;
+
+import com.example.bang.model.BotDifficulty;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs a batch of simulated games and exits, e.g.
+ * {@code mvn spring-boot:run -Dspring-boot.run.profiles=simulation -Dspring-boot.run.arguments=--bang.sim.games=1000000}
+ */
+@Slf4j
+@Component
+@Profile("simulation")
+@RequiredArgsConstructor
+public class SimulationCommand implements ApplicationRunner {
+
+    private final ConfigurableApplicationContext context;
+
+    @Value("${bang.sim.games:10000}")
+    private long games;
+
+    @Value("${bang.sim.player-counts:4,5,6,7}")
+    private List<Integer> playerCounts;
+
+    @Value("${bang.sim.seed:1}")
+    private long seed;
+
+    @Value("${bang.sim.bots:HEURISTIC}")
+    private List<BotDifficulty> bots;
+
+    @Value("${bang.sim.force-kit-carlson-and-lucky-duke:true}")
+    private boolean forceKitCarlsonAndLuckyDuke;
+
+    @Value("${bang.sim.report:simulation-report.md}")
+    private Path report;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        SimulationConfig config = SimulationConfig.builder()
+                .games(games)
+                .playerCounts(playerCounts)
+                .seed(seed)
+                .bots(bots)
+                .forceKitCarlsonAndLuckyDuke(forceKitCarlsonAndLuckyDuke)
+                .build();
+        log.info("Simulating {} games on {} workers", games, config.getParallelism());
+
+        long start = System.nanoTime();
+        SimulationStats stats = new SimulationRunner().run(config);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Files.writeString(report, SimulationReport.render(config, stats, elapsed));
+        log.info("Simulated {} games in {}s, report written to {}", stats.getGames(), elapsed.toSeconds(), report.toAbsolutePath());
+        System.exit(SpringApplication.exit(context));
+    }
+}
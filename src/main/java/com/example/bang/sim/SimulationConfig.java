@@ -0,0 +1,39 @@
+package com.example.bang.sim;
+
+import com.example.bang.model.BotDifficulty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationConfig {
+    @Builder.Default
+    private long games = 10_000;
+
+    // Game i is played with playerCounts[i % size] seats
+    @Builder.Default
+    private List<Integer> playerCounts = List.of(4, 5, 6, 7);
+
+    // Game i is seeded from (seed, i), so any single game can be replayed
+    private long seed;
+
+    // Seat s is played by bots[s % size]
+    @Builder.Default
+    private List<BotDifficulty> bots = List.of(BotDifficulty.HEURISTIC);
+
+    @Builder.Default
+    private boolean forceKitCarlsonAndLuckyDuke = true;
+
+    // Games still running after this many moves are counted as stalled
+    @Builder.Default
+    private int maxActions = 5_000;
+
+    @Builder.Default
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+}
@@ -0,0 +1,68 @@
+package com.example.bang.sim;
+
+import com.example.bang.model.CardType;
+import com.example.bang.model.CharacterType;
+import com.example.bang.model.Role;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Renders simulation results as a Markdown report.
+ */
+public final class SimulationReport {
+
+    private SimulationReport() {
+    }
+
+    public static String render(SimulationConfig config, SimulationStats stats, Duration elapsed) {
+        StringBuilder out = new StringBuilder();
+        out.append("# BANG! simulation report\n\n");
+        line(out, "- Games: %d (%d stalled), seed %d", stats.getGames(), stats.getStalled(), config.getSeed());
+        line(out, "- Bots: %s, forced Kit Carlson/Lucky Duke: %s", config.getBots(), config.isForceKitCarlsonAndLuckyDuke());
+        line(out, "- Wall time: %.1fs on %d workers (%.0f games/s)", elapsed.toMillis() / 1000.0,
+                config.getParallelism(), stats.getGames() * 1000.0 / Math.max(1, elapsed.toMillis()));
+        line(out, "- Turns per game: mean %.1f, min %d, max %d", stats.getTurns().getAverage(),
+                stats.getTurns().getMin(), stats.getTurns().getMax());
+        line(out, "- Moves per game: mean %.1f", stats.getActions().getAverage());
+
+        out.append("\n## Win rate by player count\n\n| Players | Games |");
+        for (Role role : Role.values()) {
+            if (role != Role.DEPUTY) out.append(' ').append(role.getDisplayName()).append(" |");
+        }
+        out.append("\n|---|---|---|---|---|\n");
+        for (int players = 0; players <= SimulationStats.MAX_PLAYERS; players++) {
+            long games = stats.getGamesByPlayerCount()[players];
+            if (games == 0) continue;
+            out.append("| ").append(players).append(" | ").append(games).append(" |");
+            for (Role role : Role.values()) {
+                if (role == Role.DEPUTY) continue; // Deputies win with the Sheriff
+                out.append(' ').append(percent(stats.getWinsByPlayerCount()[players][role.ordinal()], games)).append(" |");
+            }
+            out.append('\n');
+        }
+
+        out.append("\n## Win rate by character\n\n| Character | Seats | Wins |\n|---|---|---|\n");
+        for (CharacterType character : CharacterType.values()) {
+            long seats = stats.getCharacterSeats()[character.ordinal()];
+            if (seats == 0) continue;
+            line(out, "| %s | %d | %s |", character.name(), seats, percent(stats.getCharacterWins()[character.ordinal()], seats));
+        }
+
+        out.append("\n## Cards played per game\n\n| Card | Per game |\n|---|---|\n");
+        for (CardType type : CardType.values()) {
+            long played = stats.getCardsPlayed()[type.ordinal()];
+            if (played == 0) continue;
+            line(out, "| %s | %.2f |", type.name(), (double) played / Math.max(1, stats.getGames()));
+        }
+        return out.toString();
+    }
+
+    private static String percent(long part, long whole) {
+        return String.format(Locale.ROOT, "%.1f%%", 100.0 * part / whole);
+    }
+
+    private static void line(StringBuilder out, String format, Object... args) {
+        out.append(String.format(Locale.ROOT, format, args)).append('\n');
+    }
+}
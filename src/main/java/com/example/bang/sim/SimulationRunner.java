@@ -0,0 +1,164 @@
+package com.example.bang.sim;
+
+import com.example.bang.bot.BotStrategy;
+import com.example.bang.bot.HeuristicBotStrategy;
+import com.example.bang.bot.MoveGenerator;
+import com.example.bang.bot.RandomBotStrategy;
+import com.example.bang.dto.GameEvent;
+import com.example.bang.model.BotDifficulty;
+import com.example.bang.model.CardType;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Move;
+import com.example.bang.model.Player;
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.Room;
+import com.example.bang.model.RoomSettings;
+import com.example.bang.service.DeckBuilder;
+import com.example.bang.service.GameEventSink;
+import com.example.bang.service.GameService;
+import com.example.bang.service.TurnTimeoutService;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays bot-only games on a fork-join pool. Every leaf task owns its engine, strategies and counters and
+ * nothing is shared between games, so throughput grows with the number of cores. Each game gets its own
+ * seed, which makes any one of them reproducible on its own.
+ */
+public class SimulationRunner {
+
+    private static final int MIN_BATCH = 64;
+
+    public SimulationStats run(SimulationConfig config) {
+        if (config.getBots().contains(BotDifficulty.SEARCH)) {
+            throw new IllegalArgumentException("Search bots are too slow for mass simulation");
+        }
+        long batch = Math.max(MIN_BATCH, config.getGames() / (config.getParallelism() * 8L));
+        ForkJoinPool pool = new ForkJoinPool(config.getParallelism());
+        try {
+            return pool.invoke(new Batch(config, 0, config.getGames(), batch));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Seed of game {@code index}; a SplitMix64 step so neighbouring games get unrelated decks.
+     */
+    static long gameSeed(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Batch extends RecursiveTask<SimulationStats> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient SimulationConfig config; // Fork/join tasks are never actually serialized
+        private final long from;
+        private final long to;
+        private final long batch;
+
+        Batch(SimulationConfig config, long from, long to, long batch) {
+            this.config = config;
+            this.from = from;
+            this.to = to;
+            this.batch = batch;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= batch) {
+                return new Table(config).play(from, to);
+            }
+            long mid = (from + to) >>> 1;
+            Batch left = new Batch(config, from, mid, batch);
+            left.fork();
+            SimulationStats right = new Batch(config, mid, to, batch).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /** One worker's engine; plays games one after another. */
+    private static final class Table implements GameEventSink {
+        private final transient SimulationConfig config; // Fork/join tasks are never actually serialized
+        private final GameService engine;
+        private final MoveGenerator moveGenerator = new MoveGenerator();
+        private final Map<BotDifficulty, BotStrategy> strategies = new EnumMap<>(BotDifficulty.class);
+        private final long[] cardsPlayed = new long[CardType.values().length];
+
+        Table(SimulationConfig config) {
+            this.config = config;
+            this.engine = new GameService(new DeckBuilder(), List.of(this));
+            strategies.put(BotDifficulty.RANDOM, new RandomBotStrategy());
+            strategies.put(BotDifficulty.HEURISTIC, new HeuristicBotStrategy());
+        }
+
+        SimulationStats play(long from, long to) {
+            SimulationStats stats = new SimulationStats();
+            for (long i = from; i < to; i++) {
+                playGame(i, stats);
+            }
+            return stats;
+        }
+
+        private void playGame(long index, SimulationStats stats) {
+            List<Integer> counts = config.getPlayerCounts();
+            int playerCount = counts.get((int) (index % counts.size()));
+            Room room = Room.builder()
+                    .id("SIM" + index)
+                    .name("simulation")
+                    .settings(RoomSettings.builder()
+                            .forceKitCarlsonAndLuckyDuke(config.isForceKitCarlsonAndLuckyDuke())
+                            .build())
+                    .build();
+            List<BotDifficulty> bots = config.getBots();
+            for (int seat = 0; seat < playerCount; seat++) {
+                room.addPlayer(PlayerInfo.builder()
+                        .id("s" + seat)
+                        .name("Seat " + seat)
+                        .ready(true)
+                        .bot(true)
+                        .botDifficulty(bots.get(seat % bots.size()))
+                        .build());
+            }
+
+            Arrays.fill(cardsPlayed, 0);
+            GameState state = engine.initializeGame(room, new Random(gameSeed(config.getSeed(), index)));
+            int actions = 0;
+            while (!state.isGameOver() && actions < config.getMaxActions()) {
+                String playerId = TurnTimeoutService.awaitedPlayerId(state);
+                Player player = playerId != null ? state.getPlayerById(playerId) : null;
+                if (player == null) break;
+                List<Move> moves = moveGenerator.generate(state, player);
+                if (moves.isEmpty()) break;
+
+                Move move = strategies.get(player.getBotDifficulty()).choose(state, player, moves);
+                try {
+                    engine.apply(room.getId(), playerId, move);
+                } catch (RuntimeException e) {
+                    break; // Rejected move, recorded as a stalled game
+                }
+                actions++;
+            }
+            stats.record(state, actions, cardsPlayed);
+            engine.removeGame(room.getId());
+        }
+
+        @Override
+        public void onEvent(String roomId, GameEvent event) {
+            if ("CARD_PLAYED".equals(event.getType()) && event.getCardType() != null) {
+                cardsPlayed[CardType.valueOf(event.getCardType()).ordinal()]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.bang.sim;
+
+import com.example.bang.model.CardType;
+import com.example.bang.model.CharacterType;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Player;
+import com.example.bang.model.Role;
+import lombok.Getter;
+
+import java.util.LongSummaryStatistics;
+
+/**
+ * Streaming counters for a batch of simulated games. Batches are merged pairwise, so any split of the
+ * games over workers adds up to the same totals.
+ */
+@Getter
+public class SimulationStats {
+
+    static final int MAX_PLAYERS = 7;
+
+    private long games;
+    private long stalled;
+    private final LongSummaryStatistics turns = new LongSummaryStatistics();
+    private final LongSummaryStatistics actions = new LongSummaryStatistics();
+    private final long[] gamesByPlayerCount = new long[MAX_PLAYERS + 1];
+    private final long[][] winsByPlayerCount = new long[MAX_PLAYERS + 1][Role.values().length];
+    private final long[] characterSeats = new long[CharacterType.values().length];
+    private final long[] characterWins = new long[CharacterType.values().length];
+    private final long[] cardsPlayed = new long[CardType.values().length];
+
+    /** Adds one finished (or stalled) game. */
+    public void record(GameState state, int actionCount, long[] cardsPlayedInGame) {
+        games++;
+        for (int i = 0; i < cardsPlayed.length; i++) {
+            cardsPlayed[i] += cardsPlayedInGame[i];
+        }
+        if (!state.isGameOver()) {
+            stalled++;
+            return;
+        }
+
+        int playerCount = state.getPlayers().size();
+        turns.accept(state.getTurnNumber());
+        actions.accept(actionCount);
+        gamesByPlayerCount[playerCount]++;
+        winsByPlayerCount[playerCount][state.getWinningTeam().ordinal()]++;
+        for (Player player : state.getPlayers()) {
+            int character = player.getCharacter().ordinal();
+            characterSeats[character]++;
+            if (won(state, player)) characterWins[character]++;
+        }
+    }
+
+    public SimulationStats merge(SimulationStats other) {
+        games += other.games;
+        stalled += other.stalled;
+        turns.combine(other.turns);
+        actions.combine(other.actions);
+        add(gamesByPlayerCount, other.gamesByPlayerCount);
+        for (int i = 0; i < winsByPlayerCount.length; i++) {
+            add(winsByPlayerCount[i], other.winsByPlayerCount[i]);
+        }
+        add(characterSeats, other.characterSeats);
+        add(characterWins, other.characterWins);
+        add(cardsPlayed, other.cardsPlayed);
+        return this;
+    }
+
+    static boolean won(GameState state, Player player) {
+        Role winners = state.getWinningTeam();
+        return switch (player.getRole()) {
+            case SHERIFF, DEPUTY -> winners == Role.SHERIFF;
+            case OUTLAW -> winners == Role.OUTLAW;
+            case RENEGADE -> winners == Role.RENEGADE && player.getId().equals(state.getWinnerId());
+        };
+    }
+
+    private static void add(long[] into, long[] from) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += from[i];
+        }
+    }
+}
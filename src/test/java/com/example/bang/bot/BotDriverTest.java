@@ -0,0 +1,137 @@
+package com.example.bang.bot;
+
+import com.example.bang.model.BotDifficulty;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Move;
+import com.example.bang.model.Player;
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.Room;
+import com.example.bang.service.DeckBuilder;
+import com.example.bang.service.FanoutAccounting;
+import com.example.bang.service.GameService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BotDriverTest {
+
+    @Test
+    void botsPlayAGameToTheEnd() throws InterruptedException {
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        BotDriver driver = new BotDriver(beans.getBeanProvider(GameService.class), new MoveGenerator(),
+                new IsmctsBotStrategy(new MoveGenerator(), new SimpleMeterRegistry(), 1, 1, Duration.ofMillis(20), 200),
+                new FanoutAccounting(new SimpleMeterRegistry(), Clock.systemUTC()), 1);
+        ReflectionTestUtils.setField(driver, "thinkTime", Duration.ZERO);
+        GameService engine = new GameService(new DeckBuilder(), List.of(driver));
+        beans.registerSingleton("gameService", engine);
+
+        Room room = Room.builder().id("BOTS01").name("bots").build();
+        for (int i = 0; i < 5; i++) {
+            room.addPlayer(PlayerInfo.builder()
+                    .id("bot" + i)
+                    .name("Bot " + i)
+                    .ready(true)
+                    .bot(true)
+                    .botDifficulty(i % 2 == 0 ? BotDifficulty.HEURISTIC : BotDifficulty.RANDOM)
+                    .build());
+        }
+        GameState state = engine.initializeGame(room);
+
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (!state.isGameOver() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        driver.shutdown();
+        assertTrue(state.isGameOver(), "Bots got stuck in " + state.getPhase() + " (turn " + state.getTurnNumber() + ")");
+    }
+
+    @Test
+    void aBotWhoseMovesAreAllIgnoredStopsAfterItsBudget() throws InterruptedException {
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        BotDriver driver = new BotDriver(beans.getBeanProvider(GameService.class), new MoveGenerator(),
+                new IsmctsBotStrategy(new MoveGenerator(), new SimpleMeterRegistry(), 1, 1, Duration.ofMillis(20), 200),
+                new FanoutAccounting(new SimpleMeterRegistry(), Clock.systemUTC()), 1);
+        ReflectionTestUtils.setField(driver, "thinkTime", Duration.ZERO);
+        AtomicInteger applied = new AtomicInteger();
+        GameService engine = new GameService(new DeckBuilder(), List.of(driver)) {
+            @Override
+            public void apply(String roomId, String playerId, Move move) {
+                applied.incrementAndGet(); // An engine that ignores everything, the fallback included
+            }
+        };
+        beans.registerSingleton("gameService", engine);
+
+        Room room = Room.builder().id("BOTS03").name("bots").build();
+        for (int i = 0; i < 4; i++) {
+            room.addPlayer(PlayerInfo.builder()
+                    .id("bot" + i)
+                    .name("Bot " + i)
+                    .ready(true)
+                    .bot(true)
+                    .botDifficulty(BotDifficulty.HEURISTIC)
+                    .build());
+        }
+        engine.initializeGame(room);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (applied.get() <= 40 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(200);
+        driver.shutdown();
+        assertEquals(41, applied.get(), "40 tries and one fallback, then the turn deadline's job");
+    }
+
+    @Test
+    void searchBotsThinkWithoutTheGameLock() throws InterruptedException {
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        List<Boolean> lockHeld = new CopyOnWriteArrayList<>();
+        IsmctsBotStrategy search = new IsmctsBotStrategy(new MoveGenerator(), new SimpleMeterRegistry(),
+                1, 1, Duration.ofMillis(5), 50) {
+            @Override
+            public Move choose(GameState state, Player bot, List<Move> moves) {
+                // The first step can run before initializeGame returns, so look the live game up
+                GameState live = beans.getBean(GameService.class).getGame("BOTS02");
+                lockHeld.add(state == live || Thread.holdsLock(live));
+                return super.choose(state, bot, moves);
+            }
+        };
+        BotDriver driver = new BotDriver(beans.getBeanProvider(GameService.class), new MoveGenerator(), search,
+                new FanoutAccounting(new SimpleMeterRegistry(), Clock.systemUTC()), 1);
+        ReflectionTestUtils.setField(driver, "thinkTime", Duration.ZERO);
+        GameService engine = new GameService(new DeckBuilder(), List.of(driver));
+        beans.registerSingleton("gameService", engine);
+
+        Room room = Room.builder().id("BOTS02").name("bots").build();
+        for (int i = 0; i < 4; i++) {
+            room.addPlayer(PlayerInfo.builder()
+                    .id("bot" + i)
+                    .name("Bot " + i)
+                    .ready(true)
+                    .bot(true)
+                    .botDifficulty(BotDifficulty.SEARCH)
+                    .build());
+        }
+        GameState state = engine.initializeGame(room);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (lockHeld.size() < 10 && !state.isGameOver() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        driver.shutdown();
+        search.shutdown();
+        assertFalse(lockHeld.isEmpty(), "No search bot was asked for a move");
+        assertFalse(lockHeld.contains(true), "A search ran on the live game or under its lock");
+    }
+}
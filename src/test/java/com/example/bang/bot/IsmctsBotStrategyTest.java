@@ -0,0 +1,90 @@
+package com.example.bang.bot;
+
+import com.example.bang.model.GameState;
+import com.example.bang.model.Player;
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.Room;
+import com.example.bang.service.DeckBuilder;
+import com.example.bang.service.GameService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IsmctsBotStrategyTest {
+
+    @Test
+    void searchesCopiesAndLeavesTheGameAlone() {
+        GameService engine = new GameService(new DeckBuilder(), List.of());
+        Room room = Room.builder().id("MCTS01").name("search").build();
+        for (int i = 0; i < 5; i++) {
+            room.addPlayer(PlayerInfo.builder().id("p" + i).name("Player " + i).ready(true).build());
+        }
+        GameState state = engine.initializeGame(room);
+        Player current = state.getCurrentPlayer();
+        engine.drawCards("MCTS01", current.getId());
+
+        int drawPile = state.getDrawPile().size();
+        List<Integer> hands = state.getPlayers().stream().map(p -> p.getHand().size()).toList();
+
+        IsmctsBotStrategy strategy = new IsmctsBotStrategy(new MoveGenerator(), new SimpleMeterRegistry(),
+                2, 2, Duration.ofMillis(100), 100);
+        try {
+            IsmctsBotStrategy.SearchResult result = strategy.search(state, current.getId(), Duration.ofMillis(100));
+
+            assertTrue(result.playouts() > 0);
+            assertTrue(result.maxDepth() > 0);
+            assertTrue(!result.visits().isEmpty());
+        } finally {
+            strategy.shutdown();
+        }
+        assertEquals(drawPile, state.getDrawPile().size());
+        assertEquals(hands, state.getPlayers().stream().map(p -> p.getHand().size()).toList());
+    }
+
+    @Test
+    void searchLeavesTheGameRandomSequenceAlone() {
+        GameService engine = new GameService(new DeckBuilder(), List.of());
+        Room room = Room.builder().id("MCTS03").name("search").build();
+        for (int i = 0; i < 5; i++) {
+            room.addPlayer(PlayerInfo.builder().id("p" + i).name("Player " + i).ready(true).build());
+        }
+        GameState searched = engine.initializeGame(room, new Random(11));
+        GameState untouched = engine.initializeGame(room, new Random(11));
+
+        IsmctsBotStrategy strategy = new IsmctsBotStrategy(new MoveGenerator(), new SimpleMeterRegistry(),
+                2, 2, Duration.ofMillis(50), 50);
+        try {
+            strategy.search(searched, searched.getCurrentPlayer().getId(), Duration.ofMillis(50));
+        } finally {
+            strategy.shutdown();
+        }
+        assertEquals(untouched.getRandom().nextLong(), searched.getRandom().nextLong());
+    }
+
+    @Test
+    void determinizationKeepsWhatTheObserverKnows() {
+        GameService engine = new GameService(new DeckBuilder(), List.of());
+        Room room = Room.builder().id("MCTS02").name("search").build();
+        for (int i = 0; i < 6; i++) {
+            room.addPlayer(PlayerInfo.builder().id("p" + i).name("Player " + i).ready(true).build());
+        }
+        GameState state = engine.initializeGame(room);
+        Player observer = state.getPlayers().get(2);
+
+        GameState sample = Determinizer.sample(state, observer.getId(), new Random(7));
+
+        assertEquals(observer.getHand(), sample.getPlayerById(observer.getId()).getHand());
+        assertEquals(observer.getRole(), sample.getPlayerById(observer.getId()).getRole());
+        assertEquals(state.getSheriff().getId(), sample.getSheriff().getId());
+        for (Player player : state.getPlayers()) {
+            assertEquals(player.getHand().size(), sample.getPlayerById(player.getId()).getHand().size());
+        }
+        assertEquals(state.getDrawPile().size(), sample.getDrawPile().size());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.bang.bot;
+
+import com.example.bang.model.Card;
+import com.example.bang.model.CardColor;
+import com.example.bang.model.CardSuit;
+import com.example.bang.model.CardType;
+import com.example.bang.model.CharacterType;
+import com.example.bang.model.GamePhase;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Move;
+import com.example.bang.model.Player;
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.Room;
+import com.example.bang.service.DeckBuilder;
+import com.example.bang.service.GameService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoveGeneratorTest {
+
+    private final MoveGenerator generator = new MoveGenerator();
+
+    @Test
+    void reactionOffersValidCardsAbilitiesAndTakingTheHit() {
+        GameService engine = new GameService(new DeckBuilder(), List.of());
+        Room room = Room.builder().id("MOVES1").name("moves").build();
+        for (int i = 0; i < 4; i++) {
+            room.addPlayer(PlayerInfo.builder().id("p" + i).name("Player " + i).ready(true).build());
+        }
+        GameState state = engine.initializeGame(room, new Random(3));
+        Player shooter = state.getCurrentPlayer();
+        Player target = state.getNextAlivePlayer(shooter);
+
+        target.setCharacter(CharacterType.BART_CASSIDY);
+        target.setHand(new ArrayList<>(List.of(card("m1", CardType.MISSED, CardColor.BROWN),
+                card("b1", CardType.BEER, CardColor.BROWN))));
+        target.setInPlay(new ArrayList<>(List.of(card("barrel1", CardType.BARREL, CardColor.BLUE))));
+        state.setPhase(GamePhase.REACTION_PHASE);
+        state.setPendingActionType("BANG");
+        state.setPendingActionPlayerId(target.getId());
+        state.setPendingActionSourcePlayerId(shooter.getId());
+        state.setMissedCardsRequired(1);
+
+        assertEquals(List.of(
+                Move.withCard(Move.Type.RESPOND, "m1"),
+                Move.withCard(Move.Type.USE_ABILITY, "barrel1"),
+                Move.of(Move.Type.TAKE_HIT)
+        ), generator.generate(state, target));
+        assertTrue(generator.generate(state, shooter).isEmpty());
+
+        // A Barrel that already failed can't be drawn for again
+        state.getUsedReactionAbilities().add("barrel1");
+        assertEquals(List.of(
+                Move.withCard(Move.Type.RESPOND, "m1"),
+                Move.of(Move.Type.TAKE_HIT)
+        ), generator.generate(state, target));
+    }
+
+    private static Card card(String id, CardType type, CardColor color) {
+        return Card.builder().id(id).type(type).suit(CardSuit.SPADES).value("5").color(color).build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.bang.controller;
+
+import com.example.bang.model.Room;
+import com.example.bang.service.GameService;
+import com.example.bang.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class GameControllerTest {
+
+    @Autowired
+    @Qualifier("brokerChannel")
+    private AbstractSubscribableChannel brokerChannel;
+
+    @Autowired
+    private GameController gameController;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Test
+    void stateRequestsAreAnsweredEvenWhenNothingMoved() {
+        Room room = roomService.createRoom("state", "state-0", "state-0", "Player 0");
+        for (int i = 1; i < 4; i++) {
+            roomService.joinRoom(room.getId(), "state-" + i, "state-" + i, "Player " + i);
+        }
+        roomService.markGameStarted(room.getId());
+        gameService.initializeGame(room);
+
+        List<Message<?>> replies = new CopyOnWriteArrayList<>();
+        ChannelInterceptor capture = new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                if ("/user/state-0/queue/game".equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                    replies.add(message);
+                }
+                return message;
+            }
+        };
+        brokerChannel.addInterceptor(capture);
+        try {
+            // A remounted page asks again on the same session without anything having changed
+            gameController.getGameState(request("state-0"));
+            gameController.getGameState(request("state-0"));
+        } finally {
+            brokerChannel.removeInterceptor(capture);
+            gameService.removeGame(room.getId());
+            roomService.removeRoom(room.getId());
+        }
+
+        assertEquals(2, replies.size());
+    }
+
+    private static SimpMessageHeaderAccessor request(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setSessionId(sessionId);
+        return accessor;
+    }
+}
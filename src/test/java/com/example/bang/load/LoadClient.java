@@ -0,0 +1,190 @@
+package com.example.bang.load;
+
+import com.example.bang.model.Move;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * One simulated player on its own STOMP session. Counts every frame and byte it receives and times each
+ * game command until the next personal state frame arrives.
+ */
+class LoadClient {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final byte[] ERROR_PREFIX = "{\"type\":\"ERROR\"".getBytes();
+    // Commands the engine ignores get no frame back; stop waiting for them after this long
+    private static final long UNANSWERED_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    final String name;
+    final CompletableFuture<JsonNode> seated = new CompletableFuture<>();
+    private StompSession session;
+
+    volatile String roomId;
+    volatile String playerId;
+    private volatile long commandSentAt;
+
+    // Written by this session's receive thread only, read after the run
+    long frames;
+    long bytes;
+    long errors;
+    private long[] latencies = new long[256];
+    private int latencyCount;
+
+    LoadClient(String name) {
+        this.name = name;
+    }
+
+    void attach(StompSession session) {
+        this.session = session;
+        session.subscribe("/user/queue/lobby", handler(this::onLobby));
+        session.subscribe("/user/queue/game", handler(this::onGame));
+    }
+
+    void create() {
+        send("/app/room/create", Map.of("roomName", "load " + name, "playerName", name));
+    }
+
+    void join(String roomId) {
+        send("/app/room/join", Map.of("roomId", roomId, "playerName", name));
+    }
+
+    void ready() {
+        send("/app/room/ready", Map.of("ready", true));
+    }
+
+    void start() {
+        send("/app/room/start", Map.of());
+    }
+
+    void watchRoom() {
+        session.subscribe("/topic/room/" + roomId, handler(frame -> { }));
+        session.subscribe("/topic/room/" + roomId + "/events", handler(frame -> { }));
+    }
+
+    boolean awaitingFrame() {
+        long sentAt = commandSentAt;
+        return sentAt != 0 && System.nanoTime() - sentAt < UNANSWERED_NANOS;
+    }
+
+    void sendMove(Move move) {
+        Map<String, Object> payload = new HashMap<>();
+        String destination = switch (move.type()) {
+            case DRAW -> "/app/game/draw";
+            case PASS -> "/app/game/pass";
+            case PLAY -> "/app/game/play";
+            case DISCARD -> "/app/game/discard";
+            case RESPOND, TAKE_HIT -> "/app/game/respond";
+            case USE_ABILITY -> "/app/game/useAbility";
+            case STORE_PICK -> "/app/game/pickGeneralStore";
+            case KIT_CARLSON_KEEP -> "/app/game/kitCarlsonSelect";
+            case LUCKY_DUKE_PICK -> "/app/game/luckyDukeSelect";
+        };
+        payload.put("type", move.type().name());
+        if (move.cardId() != null) payload.put("cardId", move.cardId());
+        if (move.targetPlayerId() != null) payload.put("targetPlayerId", move.targetPlayerId());
+        if (move.targetCardId() != null) payload.put("targetCardId", move.targetCardId());
+        if (move.cardIds() != null) payload.put("cardIds", move.cardIds());
+
+        commandSentAt = System.nanoTime();
+        send(destination, payload);
+    }
+
+    long[] latencies() {
+        return Arrays.copyOf(latencies, latencyCount);
+    }
+
+    boolean isConnected() {
+        return session != null && session.isConnected();
+    }
+
+    void disconnect() {
+        if (session != null && session.isConnected()) {
+            session.disconnect();
+        }
+    }
+
+    private void onLobby(byte[] frame) {
+        try {
+            JsonNode message = JSON.readTree(frame);
+            String type = message.path("type").asText();
+            if (type.equals("ROOM_CREATED") || type.equals("ROOM_JOINED")) {
+                roomId = message.path("roomId").asText();
+                playerId = message.path("playerId").asText();
+                seated.complete(message);
+            } else if (type.equals("ERROR")) {
+                errors++;
+                seated.completeExceptionally(new IllegalStateException(message.path("payload").asText()));
+            }
+        } catch (IOException e) {
+            seated.completeExceptionally(e);
+        }
+    }
+
+    private void onGame(byte[] frame) {
+        if (startsWith(frame, ERROR_PREFIX)) {
+            errors++;
+            return;
+        }
+        long sentAt = commandSentAt;
+        if (sentAt != 0) {
+            record(System.nanoTime() - sentAt);
+            commandSentAt = 0;
+        }
+    }
+
+    private void record(long nanos) {
+        if (latencyCount == latencies.length) {
+            latencies = Arrays.copyOf(latencies, latencyCount * 2);
+        }
+        latencies[latencyCount++] = nanos;
+    }
+
+    private void send(String destination, Object payload) {
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination(destination);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        try {
+            session.send(headers, JSON.writeValueAsBytes(payload));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private StompFrameHandler handler(Consumer<byte[]> consumer) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                byte[] frame = (byte[]) payload;
+                frames++;
+                bytes += frame.length;
+                consumer.accept(frame);
+            }
+        };
+    }
+
+    private static boolean startsWith(byte[] frame, byte[] prefix) {
+        if (frame.length < prefix.length) return false;
+        for (int i = 0; i < prefix.length; i++) {
+            if (frame[i] != prefix[i]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.bang.load;
+
+import com.example.bang.bot.HeuristicBotStrategy;
+import com.example.bang.bot.MoveGenerator;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Move;
+import com.example.bang.model.Player;
+import com.example.bang.service.GameService;
+import com.example.bang.service.RoomService;
+import com.example.bang.service.TurnTimeoutService;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load run against the real app on a random port: every simulated player is a SockJS/STOMP
+ * client that creates or joins a room, readies up, and plays through {@code /app/game/*} with moves picked
+ * by the heuristic bot from the server-side state. Off by default; run it with e.g.
+ * {@code mvn test -Dtest=LoadHarnessTest -Dbang.load.clients=2000}. Optional: {@code bang.load.duration}
+ * (seconds, default 300) and {@code bang.load.report} (default target/load-report.md).
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "bang.load.clients", matches = "\\d+")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.example.bang=WARN",
+        "bang.admission.max-sessions=1000000"
+})
+class LoadHarnessTest {
+
+    private static final int CONNECT_PARALLELISM = 64;
+    private static final int MAX_FRAME_BYTES = 1024 * 1024;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private RoomService roomService;
+
+    private final MoveGenerator moveGenerator = new MoveGenerator();
+    private final HeuristicBotStrategy strategy = new HeuristicBotStrategy();
+
+    @Test
+    void peakLoad() throws Exception {
+        int clientCount = Integer.getInteger("bang.load.clients");
+        Duration maxDuration = Duration.ofSeconds(Long.getLong("bang.load.duration", 300));
+        Path reportFile = Path.of(System.getProperty("bang.load.report", "target/load-report.md"));
+
+        // Personal state frames outgrow the default 8KB client buffer at 7 players
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxTextMessageBufferSize(MAX_FRAME_BYTES);
+        WebSocketStompClient stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient(container)))));
+        stompClient.setInboundMessageSizeLimit(MAX_FRAME_BYTES);
+        String url = "http://localhost:" + port + "/ws";
+
+        List<List<LoadClient>> tables = new ArrayList<>();
+        for (int seated = 0, size = 4; seated < clientCount; seated += size, size = size == 7 ? 4 : size + 1) {
+            List<LoadClient> table = new ArrayList<>();
+            for (int seat = 0; seat < size && seated + seat < clientCount; seat++) {
+                table.add(new LoadClient("c" + (seated + seat)));
+            }
+            if (table.size() >= 4) tables.add(table);
+        }
+        List<LoadClient> clients = tables.stream().flatMap(List::stream).toList();
+
+        long setupStart = System.nanoTime();
+        ExecutorService setup = Executors.newFixedThreadPool(CONNECT_PARALLELISM);
+        List<Future<?>> seating = new ArrayList<>();
+        for (List<LoadClient> table : tables) {
+            seating.add(setup.submit(() -> seat(stompClient, url, table)));
+        }
+        int failedTables = 0;
+        for (Future<?> future : seating) {
+            try {
+                future.get(2, TimeUnit.MINUTES);
+            } catch (Exception e) {
+                failedTables++;
+                log.warn("Table failed to start: {}", e.toString());
+            }
+        }
+        setup.shutdown();
+        Duration setupTime = Duration.ofNanos(System.nanoTime() - setupStart);
+
+        long playStart = System.nanoTime();
+        long deadline = playStart + maxDuration.toNanos();
+        while (System.nanoTime() < deadline && !allOver(tables)) {
+            for (LoadClient client : clients) {
+                act(client);
+            }
+            Thread.sleep(20);
+        }
+        Duration playTime = Duration.ofNanos(System.nanoTime() - playStart);
+        long finished = tables.stream().filter(t -> isOver(t.get(0))).count();
+        clients.forEach(LoadClient::disconnect);
+
+        String report = report(clients, tables.size(), failedTables, finished, setupTime, playTime);
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        Files.writeString(reportFile, report);
+        log.warn("Load run finished\n{}", report);
+        assertTrue(finished > 0, "No game finished");
+    }
+
+    private void seat(WebSocketStompClient stompClient, String url, List<LoadClient> table) {
+        try {
+            for (LoadClient client : table) {
+                StompSession session = stompClient.connectAsync(url, new StompSessionHandlerAdapter() { })
+                        .get(30, TimeUnit.SECONDS);
+                client.attach(session);
+            }
+            LoadClient host = table.get(0);
+            host.create();
+            host.seated.get(30, TimeUnit.SECONDS);
+            for (LoadClient guest : table.subList(1, table.size())) {
+                guest.join(host.roomId);
+                guest.seated.get(30, TimeUnit.SECONDS);
+                guest.ready();
+            }
+            table.forEach(LoadClient::watchRoom);
+
+            long readyBy = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (!roomService.canStartGame(host.roomId)) {
+                if (System.nanoTime() > readyBy) throw new IllegalStateException("Room " + host.roomId + " never got ready");
+                Thread.sleep(10);
+            }
+            host.start();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Sends the next move for a client the game is waiting on, unless its last command is still unanswered
+    private void act(LoadClient client) {
+        if (client.roomId == null || !client.isConnected() || client.awaitingFrame()) return;
+        GameState state = gameService.getGame(client.roomId);
+        if (state == null) return;
+
+        Move move;
+        synchronized (state) {
+            if (state.isGameOver() || !client.playerId.equals(TurnTimeoutService.awaitedPlayerId(state))) return;
+            Player player = state.getPlayerById(client.playerId);
+            List<Move> moves = moveGenerator.generate(state, player);
+            if (moves.isEmpty()) return;
+            move = strategy.choose(state, player, moves);
+        }
+        client.sendMove(move);
+    }
+
+    private boolean allOver(List<List<LoadClient>> tables) {
+        return tables.stream().allMatch(table -> isOver(table.get(0)));
+    }
+
+    private boolean isOver(LoadClient host) {
+        if (host.roomId == null) return true;
+        GameState state = gameService.getGame(host.roomId);
+        return state != null && state.isGameOver();
+    }
+
+    private String report(List<LoadClient> clients, int tables, int failedTables, long finished,
+                          Duration setupTime, Duration playTime) {
+        long frames = 0;
+        long bytes = 0;
+        long maxBytes = 0;
+        long errors = 0;
+        List<long[]> samples = new ArrayList<>();
+        for (LoadClient client : clients) {
+            frames += client.frames;
+            bytes += client.bytes;
+            maxBytes = Math.max(maxBytes, client.bytes);
+            errors += client.errors;
+            samples.add(client.latencies());
+        }
+        long[] latencies = samples.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        double seconds = Math.max(0.001, playTime.toNanos() / 1e9);
+
+        StringBuilder out = new StringBuilder("# Load run\n\n");
+        line(out, "- Clients: %d at %d tables (%d failed to start), %d games finished", clients.size(), tables,
+                failedTables, finished);
+        line(out, "- Setup: %.1fs, play: %.1fs", setupTime.toNanos() / 1e9, seconds);
+        line(out, "- Frames received: %d (%.0f/s), errors: %d", frames, frames / seconds, errors);
+        line(out, "- Bytes per session: mean %d, max %d", bytes / Math.max(1, clients.size()), maxBytes);
+        line(out, "- Commands timed: %d", latencies.length);
+        line(out, "- Command to state frame: p50 %.2fms, p90 %.2fms, p99 %.2fms, p99.9 %.2fms, max %.2fms",
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                percentile(latencies, 0.999), percentile(latencies, 1.0));
+        return out.toString();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static void line(StringBuilder out, String format, Object... args) {
+        out.append(String.format(Locale.ROOT, format, args)).append('\n');
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.bang.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AdmissionControl admission = new AdmissionControl(registry);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(admission, "maxRooms", 2);
+        ReflectionTestUtils.setField(admission, "maxSessions", 1);
+        ReflectionTestUtils.setField(admission, "maxInboundLatency", Duration.ofMillis(100));
+    }
+
+    @Test
+    void refusesRoomsAtCapacity() {
+        assertDoesNotThrow(() -> admission.checkNewRoom(1));
+        AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class, () -> admission.checkNewRoom(2));
+        assertEquals("rooms", e.getReason());
+        assertEquals("Server is at room capacity, please try again later", e.getMessage());
+        assertEquals(1, registry.get("bang.admission.rejected").tag("reason", "rooms").counter().count());
+    }
+
+    @Test
+    void refusesJoinsOverSessionCapacity() {
+        admission.onConnected(connected("s1"));
+        assertDoesNotThrow(admission::checkJoin);
+        admission.onConnected(connected("s2"));
+        assertEquals("sessions", assertThrows(AdmissionRejectedException.class, admission::checkJoin).getReason());
+    }
+
+    private static SessionConnectedEvent connected(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        accessor.setSessionId(sessionId);
+        return new SessionConnectedEvent(new Object(),
+                MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+
+    @Test
+    void refusesJoinsWhileSlowerThanTheSlo() {
+        ReflectionTestUtils.setField(admission, "latencyEwmaMillis", 150.0);
+        assertEquals("latency", assertThrows(AdmissionRejectedException.class, admission::checkJoin).getReason());
+    }
+
+    @Test
+    void latencyIsSampledForMappingDispatchOnly() throws InterruptedException {
+        Message<byte[]> message = MessageBuilder.withPayload(new byte[0]).build();
+        MessageHandler broker = m -> { };
+        SimpAnnotationMethodMessageHandler mappings = new SimpAnnotationMethodMessageHandler(
+                new ExecutorSubscribableChannel(), new ExecutorSubscribableChannel(),
+                new SimpMessagingTemplate(new ExecutorSubscribableChannel()));
+
+        admission.beforeHandle(message, null, broker);
+        Thread.sleep(20);
+        admission.afterMessageHandled(message, null, broker, null);
+        assertEquals(0.0, admission.getLatencyEwmaMillis());
+
+        admission.beforeHandle(message, null, mappings);
+        Thread.sleep(20);
+        admission.afterMessageHandled(message, null, mappings, null);
+        assertTrue(admission.getLatencyEwmaMillis() >= 2.0);
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.bang.service;
+
+import com.example.bang.bot.HeuristicBotStrategy;
+import com.example.bang.bot.MoveGenerator;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Move;
+import com.example.bang.model.Player;
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.ReactionPolicy;
+import com.example.bang.model.Room;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import static java.util.Map.entry;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Bytes allocated per call on the calling thread, checked against a budget for every GameService command
+ * and for a state broadcast. Commands are measured in seeded bot games on an engine without sinks, so
+ * their numbers cover the rules alone. Budgets are means with some headroom over what the code needs
+ * today; raise one only together with the change that justifies it.
+ */
+class AllocationBudgetTest {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final Map<String, Long> COMMAND_BUDGETS = Map.ofEntries(
+            entry("initializeGame", 40_000L),
+            entry("getGame", 0L),
+            entry("registerGame", 0L),
+            entry("removeGame", 64L),
+            entry("updatePlayerSession", 0L),
+            entry("setReactionPolicies", 192L),
+            entry("drawCards", 400L),
+            entry("playCard", 800L),
+            entry("passTurn", 128L),
+            entry("discardCard", 320L),
+            entry("respondToAction", 600L),
+            entry("useAbility", 800L),
+            entry("pickGeneralStoreCard", 512L),
+            entry("selectKitCarlsonCards", 640L),
+            entry("handleLuckyDukeChoice", 1_400L)
+    );
+
+    // One broadcast: public view, spectator frame and a personal view per player, serialized to JSON
+    private static final long BROADCAST_BUDGET_PER_PLAYER = 16_384L;
+
+    private static final int WARMUP_GAMES = 300;
+    private static final int MEASURED_GAMES = 300;
+    private static final int MAX_ACTIONS = 5000;
+
+    private final MoveGenerator moveGenerator = new MoveGenerator();
+    private final HeuristicBotStrategy strategy = new HeuristicBotStrategy();
+
+    @BeforeAll
+    static void enableCounters() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Per-thread allocation counters unavailable");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void commandsStayWithinBudget() {
+        GameService engine = new GameService(new DeckBuilder(), List.of());
+        Map<String, LongSummaryStatistics> warmup = new TreeMap<>();
+        for (int i = 0; i < WARMUP_GAMES; i++) {
+            playGame(engine, i, warmup);
+        }
+        Map<String, LongSummaryStatistics> measured = new TreeMap<>();
+        for (int i = 0; i < MEASURED_GAMES; i++) {
+            playGame(engine, WARMUP_GAMES + i, measured);
+        }
+
+        assertTrue(measured.keySet().containsAll(COMMAND_BUDGETS.keySet()),
+                "Not every command was exercised: " + measured.keySet());
+        StringBuilder over = new StringBuilder();
+        measured.forEach((command, stats) -> {
+            long budget = COMMAND_BUDGETS.getOrDefault(command, 0L);
+            if (stats.getAverage() > budget) {
+                over.append(String.format("%n  %s: %.0f bytes/call over %d calls, budget %d",
+                        command, stats.getAverage(), stats.getCount(), budget));
+            }
+        });
+        assertTrue(over.isEmpty(), "Allocation budget exceeded:" + over);
+    }
+
+    @Test
+    void broadcastStaysWithinBudget() {
+        StompGameEventSink sink = stompSink();
+        GameService engine = new GameService(new DeckBuilder(), List.of());
+        StringBuilder over = new StringBuilder();
+        for (int players = 4; players <= 7; players++) {
+            GameState state = engine.initializeGame(room("BCAST" + players, players), new Random(players));
+            for (int i = 0; i < 500; i++) {
+                sink.onStateChanged(state);
+            }
+            LongSummaryStatistics stats = new LongSummaryStatistics();
+            for (int i = 0; i < 500; i++) {
+                stats.accept(allocated(() -> sink.onStateChanged(state)));
+            }
+            long budget = BROADCAST_BUDGET_PER_PLAYER * players;
+            if (stats.getAverage() > budget) {
+                over.append(String.format("%n  %d players: %.0f bytes/broadcast, budget %d",
+                        players, stats.getAverage(), budget));
+            }
+        }
+        assertTrue(over.isEmpty(), "Broadcast allocation budget exceeded:" + over);
+    }
+
+    private void playGame(GameService engine, long index, Map<String, LongSummaryStatistics> measured) {
+        int playerCount = 4 + (int) (index % 4);
+        Room room = room("ALLOC" + index, playerCount);
+        GameState state = measure(measured, "initializeGame",
+                () -> engine.initializeGame(room, new Random(index)));
+        String roomId = state.getRoomId();
+
+        measure(measured, "getGame", () -> engine.getGame(roomId));
+        measure(measured, "registerGame", () -> engine.registerGame(state));
+        Set<ReactionPolicy> askMe = EnumSet.of(ReactionPolicy.ASK_ME);
+        for (Player player : state.getPlayers()) {
+            measure(measured, "updatePlayerSession",
+                    () -> engine.updatePlayerSession(roomId, player.getId(), player.getSessionId(), player.getPrincipalName()));
+            measure(measured, "setReactionPolicies", () -> engine.setReactionPolicies(roomId, player.getId(), askMe));
+        }
+
+        for (int actions = 0; !state.isGameOver() && actions < MAX_ACTIONS; actions++) {
+            String playerId = TurnTimeoutService.awaitedPlayerId(state);
+            Player player = playerId != null ? state.getPlayerById(playerId) : null;
+            if (player == null) break;
+            List<Move> moves = moveGenerator.generate(state, player);
+            if (moves.isEmpty()) break;
+            Move move = strategy.choose(state, player, moves);
+            measure(measured, command(move), () -> engine.apply(roomId, playerId, move));
+        }
+        measure(measured, "removeGame", () -> engine.removeGame(roomId));
+    }
+
+    private static String command(Move move) {
+        return switch (move.type()) {
+            case DRAW -> "drawCards";
+            case PLAY -> "playCard";
+            case PASS -> "passTurn";
+            case DISCARD -> "discardCard";
+            case RESPOND, TAKE_HIT -> "respondToAction";
+            case USE_ABILITY -> "useAbility";
+            case STORE_PICK -> "pickGeneralStoreCard";
+            case KIT_CARLSON_KEEP -> "selectKitCarlsonCards";
+            case LUCKY_DUKE_PICK -> "handleLuckyDukeChoice";
+        };
+    }
+
+    private static void measure(Map<String, LongSummaryStatistics> measured, String command, Runnable call) {
+        measured.computeIfAbsent(command, c -> new LongSummaryStatistics()).accept(allocated(call));
+    }
+
+    private static <T> T measure(Map<String, LongSummaryStatistics> measured, String command, Supplier<T> call) {
+        Object[] result = new Object[1];
+        measure(measured, command, () -> {
+            result[0] = call.get();
+        });
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+
+    private static long allocated(Runnable call) {
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        call.run();
+        return THREADS.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    private static Room room(String id, int players) {
+        Room room = Room.builder().id(id).name("allocation").build();
+        for (int i = 0; i < players; i++) {
+            room.addPlayer(PlayerInfo.builder()
+                    .id("p" + i)
+                    .sessionId("s" + i)
+                    .principalName("user" + i)
+                    .name("Player " + i)
+                    .ready(true)
+                    .build());
+        }
+        return room;
+    }
+
+    // STOMP sink over a channel that accepts and drops every message, so serialization is still counted
+    private static StompGameEventSink stompSink() {
+        SimpMessagingTemplate template = new SimpMessagingTemplate((MessageChannel) (message, timeout) -> true);
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("template", template);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SessionOutbox outbox = new SessionOutbox(beans.getBeanProvider(SimpMessagingTemplate.class), registry);
+        ReflectionTestUtils.setField(outbox, "maxQueuedFrames", 16);
+        FanoutAccounting fanout = new FanoutAccounting(registry, Clock.systemUTC());
+        SpectatorService spectators = new SpectatorService(template,
+                new TimingWheel(Duration.ofMillis(100), 512, Clock.systemUTC()), new ObjectMapper(), fanout, registry);
+        ReflectionTestUtils.setField(spectators, "delay", Duration.ZERO);
+
+        StompGameEventSink sink = new StompGameEventSink(template, outbox, spectators, new MoveGenerator(), fanout);
+        ReflectionTestUtils.setField(sink, "journalSize", 256);
+        return sink;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.bang.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class CommandMetricsTest {
+
+    @Autowired
+    @Qualifier("clientInboundChannel")
+    private AbstractSubscribableChannel clientInboundChannel;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CommandMetrics commandMetrics;
+
+    @Autowired
+    private RoomService roomService;
+
+    private InboundFrames frames;
+
+    @BeforeEach
+    void setUp() {
+        frames = new InboundFrames(clientInboundChannel);
+    }
+
+    @Test
+    void eachCommandIsTimedOnce() {
+        long before = commands("/lobby/rooms");
+        frames.send("metrics-1", "/app/lobby/rooms", "{}");
+        assertEquals(before + 1, commands("/lobby/rooms"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void eachCommandCountsOnceTowardsItsRoomRate() {
+        frames.send("metrics-2", "/app/room/create", "{\"roomName\":\"rates\",\"playerName\":\"Host\"}");
+        String roomId = roomService.getRoomIdForSession("metrics-2");
+        commandMetrics.publishRoomRates();
+
+        frames.send("metrics-2", "/app/room/ready", "{}");
+        Map<String, LongAdder> counts = (Map<String, LongAdder>) ReflectionTestUtils.getField(commandMetrics, "roomCommands");
+        assertEquals(1, counts.get(roomId).sum());
+    }
+
+    private long commands(String destination) {
+        Timer timer = meterRegistry.find("bang.commands").tags("destination", destination, "outcome", "ok").timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
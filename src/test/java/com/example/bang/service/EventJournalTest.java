@@ -0,0 +1,37 @@
+package com.example.bang.service;
+
+import com.example.bang.dto.GameEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EventJournalTest {
+
+    @Test
+    void returnsOnlyMissedEventsWhileRetained() {
+        EventJournal journal = new EventJournal(4);
+        for (int i = 0; i < 3; i++) {
+            journal.append(GameEvent.create("E" + i));
+        }
+        journal.nextSeq(); // A state frame in between
+
+        List<GameEvent> missed = journal.since(1);
+        assertEquals(List.of(2L, 3L), missed.stream().map(GameEvent::getSeq).toList());
+        assertEquals(0, journal.since(4).size());
+    }
+
+    @Test
+    void reportsGapOnceEventsFellOutOfTheRing() {
+        EventJournal journal = new EventJournal(2);
+        for (int i = 0; i < 5; i++) {
+            journal.append(GameEvent.create("E" + i));
+        }
+
+        assertNull(journal.since(1));
+        assertEquals(2, journal.since(3).size());
+        assertNull(journal.since(99)); // Client is ahead, e.g. after a restart
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.bang.service;
+
+import com.example.bang.dto.FanoutReport;
+import com.example.bang.model.GamePhase;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Player;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FanoutAccountingTest {
+
+    @Test
+    void broadcastsAreChargedToTheCommandThatCausedThem() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RoomCodeAllocatorTest.MutableClock clock = new RoomCodeAllocatorTest.MutableClock();
+        FanoutAccounting fanout = new FanoutAccounting(registry, clock);
+
+        fanout.begin("ROOM01", "/game/play", game(4));
+        fanout.begin("ROOM01", "nested", game(4)); // Joins the open context
+        fanout.encoded(100, 1_000);
+        for (int i = 0; i < 4; i++) fanout.frameQueued(100);
+        fanout.end();
+        fanout.encoded(50, 1_000);
+        fanout.frameQueued(50);
+        fanout.end();
+
+        fanout.begin("ROOM02", "timeout", game(2));
+        fanout.frameQueued(10);
+        fanout.end();
+
+        fanout.frameQueued(7); // No command open
+
+        assertEquals(5, registry.get("bang.fanout.frames").tags("command", "/game/play", "players", "4")
+                .counter().count());
+        assertEquals(450, registry.get("bang.fanout.bytes").tags("command", "/game/play", "kind", "sent")
+                .counter().count());
+        assertEquals(150, registry.get("bang.fanout.bytes").tags("command", "/game/play", "kind", "encoded")
+                .counter().count());
+        assertEquals(7, registry.get("bang.fanout.bytes").tags("command", "unattributed", "kind", "sent")
+                .counter().count());
+
+        FanoutReport report = fanout.report();
+        assertEquals("ROOM01", report.getRooms().get(0).getRoomId());
+        assertEquals(2, report.getRooms().get(0).getMessages());
+        assertEquals(Map.of("/game/play", 450L), report.getRooms().get(0).getSentBytesByCommand());
+        assertEquals("ROOM02", report.getRooms().get(1).getRoomId());
+
+        assertNull(fanout.getPreviousReport());
+        fanout.rollWindow();
+        assertNull(fanout.getPreviousReport(), "Closed a window before it ran its length");
+        clock.advance(Duration.ofMinutes(5));
+        fanout.rollWindow();
+        assertEquals(2, fanout.getPreviousReport().getRooms().size());
+        assertEquals(0, fanout.report().getRooms().size());
+    }
+
+    @Test
+    void theWindowClosesOnTheClockAsCommandsEnd() {
+        RoomCodeAllocatorTest.MutableClock clock = new RoomCodeAllocatorTest.MutableClock();
+        FanoutAccounting fanout = new FanoutAccounting(new SimpleMeterRegistry(), clock);
+
+        fanout.begin("ROOM01", "/game/play", game(4));
+        fanout.end();
+        clock.advance(Duration.ofMinutes(5));
+        fanout.begin("ROOM02", "/game/play", game(4));
+        fanout.end();
+
+        assertEquals("ROOM01", fanout.getPreviousReport().getRooms().get(0).getRoomId());
+        assertEquals(1, fanout.report().getRooms().size());
+        assertEquals("ROOM02", fanout.report().getRooms().get(0).getRoomId());
+    }
+
+    private static GameState game(int players) {
+        GameState state = GameState.builder().phase(GamePhase.PLAY_PHASE).build();
+        for (int i = 0; i < players; i++) {
+            state.getPlayers().add(Player.builder().id("p" + i).build());
+        }
+        return state;
+    }
+}
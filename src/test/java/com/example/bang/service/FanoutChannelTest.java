@@ -0,0 +1,59 @@
+package com.example.bang.service;
+
+import com.example.bang.dto.FanoutReport;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Fan-out accounting over the app's real channels rather than direct begin/end calls. */
+@SpringBootTest
+class FanoutChannelTest {
+
+    @Autowired
+    @Qualifier("clientInboundChannel")
+    private AbstractSubscribableChannel clientInboundChannel;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private FanoutAccounting fanoutAccounting;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Test
+    void aBroadcastIsChargedOnceToTheCommandThatSentIt() {
+        InboundFrames frames = new InboundFrames(clientInboundChannel);
+        frames.connect("fanout-1");
+        frames.connect("fanout-2");
+        frames.send("fanout-1", "/app/room/create", "{\"roomName\":\"fanout\",\"playerName\":\"Host\"}");
+        String roomId = roomService.getRoomIdForSession("fanout-1");
+        frames.send("fanout-2", "/app/room/join", "{\"roomId\":\"" + roomId + "\",\"playerName\":\"Guest\"}");
+        frames.subscribe("fanout-1", "/topic/room/" + roomId);
+        frames.subscribe("fanout-2", "/topic/room/" + roomId);
+
+        DistributionSummary perCommand = meterRegistry.find("bang.fanout.frames.per.command")
+                .tags("command", "/room/ready").summary();
+        long before = perCommand != null ? perCommand.count() : 0;
+        double framesBefore = perCommand != null ? perCommand.totalAmount() : 0;
+
+        frames.send("fanout-1", "/app/room/ready", "{\"ready\":true}");
+
+        perCommand = meterRegistry.get("bang.fanout.frames.per.command").tags("command", "/room/ready").summary();
+        assertEquals(before + 1, perCommand.count());
+        assertEquals(framesBefore + 2, perCommand.totalAmount()); // Room update to both subscribers
+
+        FanoutReport.RoomFanout room = fanoutAccounting.report().getRooms().stream()
+                .filter(r -> r.getRoomId().equals(roomId))
+                .findFirst().orElseThrow();
+        assertEquals(1, room.getCommands());
+        assertEquals(2, room.getFrames());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.bang.service;
+
+import com.example.bang.bot.MoveGenerator;
+import com.example.bang.model.GameState;
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.Room;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class FlightEventsTest {
+
+    @Autowired
+    @Qualifier("clientInboundChannel")
+    private AbstractSubscribableChannel clientInboundChannel;
+
+    @Test
+    void oneCommandEventPerInboundFrame(@TempDir Path dir) throws Exception {
+        InboundFrames frames = new InboundFrames(clientInboundChannel);
+        Path file = dir.resolve("commands.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("bang.Command");
+            recording.start();
+            for (int i = 0; i < 3; i++) {
+                frames.send("jfr-" + i, "/app/lobby/rooms", "{}");
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> commands = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("bang.Command"))
+                .toList();
+        assertEquals(3, commands.size());
+        for (RecordedEvent command : commands) {
+            assertEquals("/lobby/rooms", command.getString("command"));
+            assertEquals("ok", command.getString("outcome"));
+            assertEquals(2, command.getLong("payloadSize"));
+        }
+    }
+
+    @Test
+    void broadcastEventsCarryTheCommandThatCausedThem(@TempDir Path dir) throws Exception {
+        SimpMessagingTemplate template = new SimpMessagingTemplate((MessageChannel) (message, timeout) -> true);
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("template", template);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FanoutAccounting fanout = new FanoutAccounting(registry, Clock.systemUTC());
+        SpectatorService spectators = new SpectatorService(template,
+                new TimingWheel(Duration.ofMillis(100), 512, Clock.systemUTC()), new ObjectMapper(), fanout, registry);
+        ReflectionTestUtils.setField(spectators, "delay", Duration.ZERO);
+        StompGameEventSink sink = new StompGameEventSink(template,
+                new SessionOutbox(beans.getBeanProvider(SimpMessagingTemplate.class), registry),
+                spectators, new MoveGenerator(), fanout);
+        ReflectionTestUtils.setField(sink, "journalSize", 16);
+
+        Room room = Room.builder().id("JFR001").name("jfr").build();
+        for (int i = 0; i < 5; i++) {
+            room.addPlayer(PlayerInfo.builder().id("p" + i).name("Player " + i).ready(true).build());
+        }
+        GameState state = new GameService(new DeckBuilder(), List.of()).initializeGame(room, new Random(3));
+        spectators.join("JFR001", "viewer", "viewer"); // Unwatched rooms encode no spectator frames
+
+        Path file = dir.resolve("bang.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("bang.ViewBuild");
+            recording.enable("bang.Serialize");
+            recording.start();
+            fanout.begin("JFR001", "/game/draw", state);
+            sink.onStateChanged(state);
+            fanout.end();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        List<RecordedEvent> views = events.stream().filter(e -> e.getEventType().getName().equals("bang.ViewBuild")).toList();
+        assertEquals(6, views.size()); // Public view plus one per player
+        assertEquals(5, views.stream().filter(e -> e.getBoolean("personal")).count());
+        for (RecordedEvent view : views) {
+            assertEquals("JFR001", view.getString("roomId"));
+            assertEquals("/game/draw", view.getString("command"));
+            assertEquals(state.getPhase().name(), view.getString("phase"));
+            assertEquals(5, view.getInt("players"));
+        }
+
+        RecordedEvent frame = events.stream()
+                .filter(e -> e.getEventType().getName().equals("bang.Serialize"))
+                .findFirst().orElseThrow();
+        assertEquals("SpectatorFrame", frame.getString("payloadType"));
+        assertEquals("/game/draw", frame.getString("command"));
+        assertTrue(frame.getLong("payloadSize") > 0);
+    }
+}
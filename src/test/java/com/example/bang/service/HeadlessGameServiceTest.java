@@ -0,0 +1,333 @@
+package com.example.bang.service;
+
+import com.example.bang.dto.GameEvent;
+import com.example.bang.model.Card;
+import com.example.bang.model.CardColor;
+import com.example.bang.model.CardSuit;
+import com.example.bang.model.CardType;
+import com.example.bang.model.CharacterType;
+import com.example.bang.model.GamePhase;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Player;
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.ReactionPolicy;
+import com.example.bang.model.Room;
+import com.example.bang.model.RoomSettings;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeadlessGameServiceTest {
+
+    private final List<GameEvent> events = new ArrayList<>();
+    private final GameService engine = new GameService(new DeckBuilder(), List.of(new GameEventSink() {
+        @Override
+        public void onEvent(String roomId, GameEvent event) {
+            events.add(event);
+        }
+    }));
+
+    @Test
+    void runsRulesWithoutTransport() {
+        List<GameEvent> events = new ArrayList<>();
+        List<GamePhase> phases = new ArrayList<>();
+        GameEventSink recorder = new GameEventSink() {
+            @Override
+            public void onEvent(String roomId, GameEvent event) {
+                events.add(event);
+            }
+
+            @Override
+            public void onStateChanged(GameState state) {
+                phases.add(state.getPhase());
+            }
+        };
+        GameService engine = new GameService(new DeckBuilder(), List.of(recorder));
+
+        Room room = Room.builder().id("HEADLS").name("headless").build();
+        for (int i = 0; i < 4; i++) {
+            room.addPlayer(PlayerInfo.builder().id("p" + i).name("Player " + i).ready(true).build());
+        }
+        GameState state = engine.initializeGame(room);
+        String current = state.getCurrentPlayer().getId();
+
+        engine.drawCards("HEADLS", current);
+
+        // Initial deal plus the draw, whatever the character's draw rule turned out to be
+        assertEquals(2, phases.size());
+        assertEquals(GamePhase.DRAW_PHASE, phases.get(0));
+        assertNotEquals(GamePhase.DRAW_PHASE, state.getPhase());
+        assertEquals(current, state.getCurrentPlayer().getId());
+        assertTrue(events.stream().allMatch(e -> e.getType() != null));
+    }
+
+    @Test
+    void autoMissedAnswersABangFromTheHand() {
+        GameState state = table("POLI01", new RoomSettings());
+        Player target = state.getPlayers().get(1);
+        target.getHand().add(card("missed-1", CardType.MISSED, CardSuit.SPADES));
+        target.setReactionPolicies(Set.of(ReactionPolicy.AUTO_MISSED));
+
+        shoot(state, target);
+
+        assertEquals(GamePhase.PLAY_PHASE, state.getPhase());
+        assertEquals(4, target.getHealth());
+        assertTrue(target.getHand().isEmpty());
+    }
+
+    @Test
+    void autoBarrelDrawsBeforeTheHandIsTouched() {
+        GameState state = table("POLI02", new RoomSettings());
+        Player target = state.getPlayers().get(1);
+        target.getInPlay().add(card("barrel-1", CardType.BARREL, CardSuit.SPADES));
+        target.getHand().add(card("missed-1", CardType.MISSED, CardSuit.SPADES));
+        target.setReactionPolicies(Set.of(ReactionPolicy.AUTO_BARREL, ReactionPolicy.AUTO_MISSED));
+        state.getDrawPile().add(0, card("heart-1", CardType.BEER, CardSuit.HEARTS));
+
+        shoot(state, target);
+
+        assertEquals(GamePhase.PLAY_PHASE, state.getPhase());
+        assertEquals(4, target.getHealth());
+        assertEquals(1, target.getHand().size(), "The Barrel's Heart should have spared the Missed!");
+    }
+
+    @Test
+    void autoTakeDamageKeepsTheHandForLater() {
+        GameState state = table("POLI03", new RoomSettings());
+        Player target = state.getPlayers().get(1);
+        target.getHand().add(card("missed-1", CardType.MISSED, CardSuit.SPADES));
+        target.setReactionPolicies(Set.of(ReactionPolicy.AUTO_TAKE_DAMAGE));
+
+        shoot(state, target);
+
+        assertEquals(GamePhase.PLAY_PHASE, state.getPhase());
+        assertEquals(3, target.getHealth());
+        assertEquals(1, target.getHand().size());
+    }
+
+    @Test
+    void aPolicySetWhileBeingWaitedOnAppliesStraightAway() {
+        GameState state = table("POLI04", new RoomSettings());
+        Player target = state.getPlayers().get(1);
+        target.getHand().add(card("missed-1", CardType.MISSED, CardSuit.SPADES));
+        engine.setReactionPolicies("POLI04", target.getId(), Set.of(ReactionPolicy.ASK_ME, ReactionPolicy.AUTO_MISSED));
+
+        shoot(state, target);
+        assertEquals(GamePhase.REACTION_PHASE, state.getPhase(), "Ask me overrides every other policy");
+
+        engine.setReactionPolicies("POLI04", target.getId(), Set.of(ReactionPolicy.AUTO_MISSED));
+
+        assertEquals(GamePhase.PLAY_PHASE, state.getPhase());
+        assertTrue(target.getHand().isEmpty());
+    }
+
+    @Test
+    void aTargetWithNoAnswerTakesTheHitWithoutBeingAsked() {
+        GameState state = table("AUTO01", new RoomSettings());
+        Player target = state.getPlayers().get(1);
+        target.getHand().add(card("bang-1", CardType.BANG, CardSuit.SPADES));
+
+        shoot(state, target);
+
+        assertEquals(GamePhase.PLAY_PHASE, state.getPhase());
+        assertEquals(3, target.getHealth());
+    }
+
+    @Test
+    void calamityJanetsBangCountsAsAnAnswer() {
+        GameState state = table("AUTO02", new RoomSettings());
+        Player janet = state.getPlayers().get(1);
+        janet.setCharacter(CharacterType.CALAMITY_JANET);
+        janet.getHand().add(card("bang-1", CardType.BANG, CardSuit.SPADES));
+
+        shoot(state, janet);
+
+        assertEquals(GamePhase.REACTION_PHASE, state.getPhase());
+        assertEquals(janet.getId(), state.getPendingActionPlayerId());
+        assertEquals(4, janet.getHealth());
+    }
+
+    @Test
+    void aBarrelInPlayCountsAsAnAnswer() {
+        GameState state = table("AUTO03", new RoomSettings());
+        Player target = state.getPlayers().get(1);
+        target.getInPlay().add(card("barrel-1", CardType.BARREL, CardSuit.SPADES));
+
+        shoot(state, target);
+
+        assertEquals(GamePhase.REACTION_PHASE, state.getPhase());
+        assertEquals(4, target.getHealth());
+    }
+
+    @Test
+    void indiansResolveEveryoneUpToTheFirstBang() {
+        GameState state = table("AUTO04", new RoomSettings());
+        List<Player> players = state.getPlayers();
+        players.get(2).getHand().add(card("bang-2", CardType.BANG, CardSuit.SPADES));
+
+        play(state, CardType.INDIANS, null);
+
+        assertEquals(GamePhase.REACTION_PHASE, state.getPhase());
+        assertEquals(players.get(2).getId(), state.getPendingActionPlayerId());
+        assertEquals(3, players.get(1).getHealth());
+        assertEquals(4, players.get(2).getHealth());
+        assertEquals(4, players.get(3).getHealth(), "Resolved past the player holding a BANG!");
+    }
+
+    @Test
+    void duelsResolveOnlyWhenThereIsNothingToAnswerWith() {
+        GameState state = table("AUTO05", new RoomSettings());
+        Player unarmed = state.getPlayers().get(1);
+
+        play(state, CardType.DUEL, unarmed);
+
+        assertEquals(GamePhase.PLAY_PHASE, state.getPhase());
+        assertEquals(3, unarmed.getHealth());
+
+        Player armed = state.getPlayers().get(2);
+        armed.getHand().add(card("bang-2", CardType.BANG, CardSuit.SPADES));
+        armed.setReactionPolicies(Set.of(ReactionPolicy.AUTO_MISSED, ReactionPolicy.AUTO_TAKE_DAMAGE));
+
+        play(state, CardType.DUEL, armed);
+
+        assertEquals(GamePhase.REACTION_PHASE, state.getPhase(), "Duels stay a manual decision");
+        assertEquals(armed.getId(), state.getPendingActionPlayerId());
+        assertEquals(1, armed.getHand().size());
+    }
+
+    @Test
+    void roomsCanTurnAutomaticResolutionOff() {
+        RoomSettings settings = new RoomSettings();
+        settings.setAutoResolveReactions(false);
+        GameState state = table("AUTO06", settings);
+        Player target = state.getPlayers().get(1);
+
+        shoot(state, target);
+
+        assertEquals(GamePhase.REACTION_PHASE, state.getPhase());
+        assertEquals(4, target.getHealth());
+    }
+
+    @Test
+    void concurrentAnswersResolveTogetherInSeatOrder() {
+        GameState state = table("CONC01", concurrent());
+        List<Player> players = state.getPlayers();
+        players.get(1).getHand().add(card("missed-1", CardType.MISSED, CardSuit.SPADES));
+
+        play(state, CardType.GATLING, null);
+        events.clear();
+        engine.respondToAction("CONC01", "p3", null, false);
+        engine.respondToAction("CONC01", "p1", "missed-1", true);
+
+        // Nothing resolves while a target is still deciding
+        assertEquals(GamePhase.REACTION_PHASE, state.getPhase());
+        assertEquals(4, players.get(3).getHealth());
+        assertTrue(events.isEmpty());
+
+        engine.respondToAction("CONC01", "p2", null, false);
+
+        assertEquals(GamePhase.PLAY_PHASE, state.getPhase());
+        assertEquals(List.of(4, 3, 3), List.of(players.get(1).getHealth(), players.get(2).getHealth(),
+                players.get(3).getHealth()));
+        assertEquals(List.of("CARD_PLAYED p1", "PLAYER_DAMAGED p2", "PLAYER_DAMAGED p3"), eventLog());
+    }
+
+    @Test
+    void concurrentAnswersCanBeResentUntilEveryoneHasAnswered() {
+        GameState state = table("CONC02", concurrent());
+        Player first = state.getPlayers().get(1);
+        first.getHand().add(card("missed-1", CardType.MISSED, CardSuit.SPADES));
+
+        play(state, CardType.GATLING, null);
+        engine.respondToAction("CONC02", "p1", "missed-1", true);
+        engine.respondToAction("CONC02", "p1", null, false); // Already answered, ignored
+
+        engine.respondToAction("CONC02", "p2", null, false);
+        engine.respondToAction("CONC02", "p3", null, false);
+
+        assertEquals(4, first.getHealth());
+        assertTrue(first.getHand().isEmpty());
+    }
+
+    @Test
+    void jourdonnaisWithABarrelDrawsTwiceInEitherMode() {
+        for (boolean concurrent : List.of(false, true)) {
+            RoomSettings settings = concurrent ? concurrent() : new RoomSettings();
+            settings.setAutoResolveReactions(false);
+            String roomId = concurrent ? "CONC03" : "CONC04";
+            GameState state = table(roomId, settings);
+            Player jourdonnais = state.getPlayers().get(1);
+            jourdonnais.setCharacter(CharacterType.JOURDONNAIS);
+            jourdonnais.getInPlay().add(card("barrel-1", CardType.BARREL, CardSuit.SPADES));
+
+            play(state, CardType.GATLING, null);
+            // Jourdonnais misses, the Barrel comes up Hearts
+            state.getDrawPile().add(0, card("heart-1", CardType.BEER, CardSuit.HEARTS));
+            state.getDrawPile().add(0, card("spade-1", CardType.BEER, CardSuit.SPADES));
+            engine.useAbility(roomId, "p1", "JOURDONNAIS");
+            engine.useAbility(roomId, "p1", "barrel-1");
+            for (Player player : state.getPlayers().subList(1, 4)) {
+                engine.respondToAction(roomId, player.getId(), null, false);
+            }
+
+            assertEquals(GamePhase.PLAY_PHASE, state.getPhase(), concurrent ? "concurrent" : "sequential");
+            assertEquals(4, jourdonnais.getHealth(), concurrent ? "concurrent" : "sequential");
+        }
+    }
+
+    // Four plain characters with empty hands and nothing in play, the first one in their play phase
+    private GameState table(String roomId, RoomSettings settings) {
+        Room room = Room.builder().id(roomId).name("reactions").settings(settings).build();
+        for (int i = 0; i < 4; i++) {
+            room.addPlayer(PlayerInfo.builder().id("p" + i).name("Player " + i).ready(true).build());
+        }
+        GameState state = engine.initializeGame(room, new Random(11));
+        for (Player player : state.getPlayers()) {
+            player.setCharacter(CharacterType.SID_KETCHUM);
+            player.setMaxHealth(4);
+            player.setHealth(4);
+            player.getHand().clear();
+            player.getInPlay().clear();
+            player.setWeapon(null);
+        }
+        state.setCurrentPlayerIndex(0);
+        state.setPhase(GamePhase.PLAY_PHASE);
+        return state;
+    }
+
+    private void shoot(GameState state, Player target) {
+        play(state, CardType.BANG, target);
+    }
+
+    private void play(GameState state, CardType type, Player target) {
+        Player current = state.getCurrentPlayer();
+        Card card = card(type.name().toLowerCase() + "-" + state.getDiscardPile().size(), type, CardSuit.CLUBS);
+        current.getHand().add(card);
+        engine.playCard(state.getRoomId(), current.getId(), card.getId(), target != null ? target.getId() : null, null);
+    }
+
+    private static RoomSettings concurrent() {
+        RoomSettings settings = new RoomSettings();
+        settings.setConcurrentReactions(true);
+        settings.setAutoResolveReactions(false);
+        return settings;
+    }
+
+    private List<String> eventLog() {
+        return events.stream()
+                .map(e -> e.getType() + " " + ("PLAYER_DAMAGED".equals(e.getType()) ? e.getTargetPlayerId() : e.getSourcePlayerId()))
+                .toList();
+    }
+
+    private static Card card(String id, CardType type, CardSuit suit) {
+        CardColor color = type == CardType.BARREL ? CardColor.BLUE : CardColor.BROWN;
+        return Card.builder().id(id).type(type).suit(suit).value("5").color(color).build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.bang.service;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/** Feeds STOMP frames into the app's real inbound channel, as the WebSocket handler would, and waits for them. */
+class InboundFrames {
+
+    private static final String FRAME_HEADER = "inboundFrame";
+    private static final Map<Object, CountDownLatch> pending = new ConcurrentHashMap<>();
+
+    // Every subscriber of the channel handles a frame as its own task; counts them down as they finish
+    private static final ExecutorChannelInterceptor HANDLED = new ExecutorChannelInterceptor() {
+        @Override
+        public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                        Exception ex) {
+            Object frame = message.getHeaders().get(FRAME_HEADER);
+            CountDownLatch latch = frame != null ? pending.get(frame) : null;
+            if (latch != null) latch.countDown();
+        }
+    };
+
+    private final AbstractSubscribableChannel channel;
+
+    InboundFrames(AbstractSubscribableChannel clientInboundChannel) {
+        this.channel = clientInboundChannel;
+        synchronized (InboundFrames.class) {
+            // First in the chain, so its afterMessageHandled runs after every app interceptor's. Adding at
+            // an index doesn't reorder the executor interceptors, setting the whole chain does.
+            if (!channel.getInterceptors().contains(HANDLED)) {
+                List<ChannelInterceptor> chain = new ArrayList<>(channel.getInterceptors());
+                chain.add(0, HANDLED);
+                channel.setInterceptors(chain);
+            }
+        }
+    }
+
+    /** The simple broker only delivers to sessions it has seen connect. */
+    void connect(String sessionId) {
+        send(StompHeaderAccessor.create(StompCommand.CONNECT), sessionId, "");
+    }
+
+    void send(String sessionId, String destination, String json) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setDestination(destination);
+        send(accessor, sessionId, json);
+    }
+
+    void subscribe(String sessionId, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setSubscriptionId("sub-" + destination);
+        send(accessor, sessionId, "");
+    }
+
+    private void send(StompHeaderAccessor accessor, String sessionId, String json) {
+        accessor.setSessionId(sessionId);
+        accessor.setSessionAttributes(new HashMap<>());
+        UUID id = UUID.randomUUID();
+        accessor.setHeader(FRAME_HEADER, id);
+        Message<byte[]> frame = MessageBuilder.createMessage(json.getBytes(StandardCharsets.UTF_8),
+                accessor.getMessageHeaders());
+        CountDownLatch handled = new CountDownLatch(channel.getSubscribers().size());
+        pending.put(id, handled);
+        try {
+            channel.send(frame);
+            if (!handled.await(10, TimeUnit.SECONDS)) fail("Inbound channel did not handle " + accessor.getCommand());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("Interrupted waiting for the inbound channel");
+        } finally {
+            pending.remove(id);
+        }
+    }
+}
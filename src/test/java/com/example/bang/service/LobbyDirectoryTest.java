@@ -0,0 +1,57 @@
+package com.example.bang.service;
+
+import com.example.bang.dto.LobbyPage;
+import com.example.bang.dto.RoomListing;
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.Room;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LobbyDirectoryTest {
+
+    private final LobbyDirectory directory = new LobbyDirectory(null);
+
+    @Test
+    void pagesOpenRoomsNewestFirstAcrossSeatBuckets() {
+        for (int i = 0; i < 5; i++) {
+            directory.update(room("R" + i, i, i % 3 + 1));
+        }
+        directory.update(room("FULL", 10, 7));
+
+        LobbyPage first = directory.query(LobbyDirectory.State.OPEN, 0, null, 3);
+        assertEquals(List.of("R4", "R3", "R2"), ids(first));
+
+        LobbyPage second = directory.query(LobbyDirectory.State.OPEN, 0, first.getNextCursor(), 3);
+        assertEquals(List.of("R1", "R0"), ids(second));
+        assertNull(second.getNextCursor());
+
+        assertEquals(List.of("FULL"), ids(directory.query(LobbyDirectory.State.FULL, 0, null, 10)));
+    }
+
+    @Test
+    void filtersOnFreeSeatsAndDropsRemovedRooms() {
+        directory.update(room("A", 1, 6)); // 1 free seat
+        directory.update(room("B", 2, 2)); // 5 free seats
+        directory.remove("B");
+        directory.update(room("C", 3, 1)); // 6 free seats
+
+        assertEquals(List.of("C"), ids(directory.query(LobbyDirectory.State.OPEN, 2, null, 10)));
+        assertEquals(2, directory.size());
+    }
+
+    private Room room(String id, long createdAt, int players) {
+        Room room = Room.builder().id(id).name(id).createdAt(createdAt).build();
+        for (int i = 0; i < players; i++) {
+            room.addPlayer(PlayerInfo.builder().id(id + "-" + i).build());
+        }
+        return room;
+    }
+
+    private List<String> ids(LobbyPage page) {
+        return page.getRooms().stream().map(RoomListing::getRoomId).toList();
+    }
+}
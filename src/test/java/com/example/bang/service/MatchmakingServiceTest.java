@@ -0,0 +1,126 @@
+package com.example.bang.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchmakingServiceTest {
+
+    private static final long WINDOW = 10_000;
+
+    private final Clock clock = Clock.fixed(Instant.EPOCH, ZoneOffset.UTC);
+    private final RoomService rooms = RoomServiceTest.roomService(new RoomCodeAllocator(clock));
+    private final MatchmakingService matchmaking = matchmaking();
+    private final Set<String> sessions = new LinkedHashSet<>();
+
+    @Test
+    void waitsForTheFillWindowBelowAFullTable() {
+        queue(5);
+
+        assertEquals(0, matchmaking.formTables(WINDOW - 1));
+        assertEquals(1, matchmaking.formTables(WINDOW));
+        assertEquals(List.of(5), tableSizes());
+        assertEquals(0, matchmaking.getWaitingCount());
+    }
+
+    @Test
+    void splitsEveryoneIntoBalancedTables() {
+        queue(15);
+
+        assertEquals(3, matchmaking.formTables(0)); // A full table's worth is waiting, no need to wait
+        assertEquals(List.of(5, 5, 5), tableSizes());
+    }
+
+    @Test
+    void aCancelRacingTheBatcherRequeuesTheRest() {
+        queue(4);
+        // Cancel has flipped the ticket but not yet decremented the count the batcher reads
+        Map<String, MatchmakingService.Ticket> tickets = ticketsBySession();
+        tickets.get("s0").state().set(MatchmakingService.Ticket.CANCELLED);
+        tickets.remove("s0");
+
+        assertEquals(0, matchmaking.formTables(WINDOW));
+        assertEquals(0, rooms.getRoomCount(), "Started a table below the minimum");
+        waitingCount().decrementAndGet(); // The cancel finishes
+        assertEquals(3, matchmaking.getWaitingCount());
+
+        enqueue("s4");
+        assertEquals(1, matchmaking.formTables(WINDOW));
+        assertEquals(List.of(4), tableSizes());
+        for (String session : List.of("s1", "s2", "s3", "s4")) {
+            assertTrue(rooms.getRoomIdForSession(session) != null, session + " was not seated");
+        }
+    }
+
+    @Test
+    void aRequeuedPlayerCanStillCancel() {
+        queue(4);
+        Map<String, MatchmakingService.Ticket> tickets = ticketsBySession();
+        tickets.get("s0").state().set(MatchmakingService.Ticket.CANCELLED);
+        tickets.remove("s0");
+        matchmaking.formTables(WINDOW);
+        waitingCount().decrementAndGet();
+
+        assertTrue(matchmaking.cancel("s1"));
+        assertEquals(2, matchmaking.getWaitingCount());
+    }
+
+    private void queue(int players) {
+        for (int i = 0; i < players; i++) {
+            enqueue("s" + i);
+        }
+    }
+
+    private void enqueue(String sessionId) {
+        matchmaking.enqueue(sessionId, sessionId, "Player " + sessionId);
+        sessions.add(sessionId);
+    }
+
+    private List<Integer> tableSizes() {
+        return sessions.stream()
+                .map(rooms::getRoomIdForSession)
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(roomId -> rooms.getRoom(roomId).orElseThrow().getPlayers().size())
+                .sorted()
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, MatchmakingService.Ticket> ticketsBySession() {
+        return (Map<String, MatchmakingService.Ticket>) ReflectionTestUtils.getField(matchmaking, "tickets");
+    }
+
+    private AtomicInteger waitingCount() {
+        return (AtomicInteger) ReflectionTestUtils.getField(matchmaking, "waiting");
+    }
+
+    private MatchmakingService matchmaking() {
+        SimpMessagingTemplate template = new SimpMessagingTemplate((MessageChannel) (message, timeout) -> true);
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+        AdmissionControl admission = new AdmissionControl(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(admission, "maxSessions", Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(admission, "maxInboundLatency", Duration.ofDays(1));
+        MatchmakingService service = new MatchmakingService(rooms, admission,
+                new GameService(new DeckBuilder(), List.of()), template, new SimpleMeterRegistry(), clock);
+        ReflectionTestUtils.setField(service, "fillWindow", Duration.ofMillis(WINDOW));
+        return service;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.bang.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomCodeAllocatorTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void codesAreUnique() {
+        RoomCodeAllocator allocator = new RoomCodeAllocator(clock);
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(codes.add(allocator.allocate()));
+        }
+        assertEquals(20_000, allocator.getAllocatedCount());
+    }
+
+    @Test
+    void aCodeInUseIsDrawnAgain() {
+        ScriptedAllocator allocator = new ScriptedAllocator(clock, "AAAAAA", "AAAAAA", "BBBBBB");
+        assertEquals("AAAAAA", allocator.allocate());
+        assertEquals("BBBBBB", allocator.allocate());
+    }
+
+    @Test
+    void aReleasedCodeIsQuarantined() {
+        ScriptedAllocator allocator = new ScriptedAllocator(clock, "AAAAAA", "AAAAAA", "BBBBBB", "AAAAAA");
+        allocator.allocate();
+        allocator.release("AAAAAA");
+        assertEquals(0, allocator.getAllocatedCount());
+
+        assertEquals("BBBBBB", allocator.allocate());
+        clock.advance(Duration.ofHours(1));
+        assertEquals("AAAAAA", allocator.allocate());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void expiredQuarantineIsPurged() {
+        ScriptedAllocator allocator = new ScriptedAllocator(clock, "AAAAAA");
+        allocator.allocate();
+        allocator.release("AAAAAA");
+        Map<String, Long> quarantine = (Map<String, Long>) ReflectionTestUtils.getField(allocator, "quarantine");
+
+        clock.advance(Duration.ofMinutes(59));
+        allocator.purgeQuarantine();
+        assertEquals(Set.of("AAAAAA"), quarantine.keySet());
+        clock.advance(Duration.ofMinutes(1));
+        allocator.purgeQuarantine();
+        assertTrue(quarantine.isEmpty());
+    }
+
+    @Test
+    void releasingAnUnknownCodeDoesNothing() {
+        ScriptedAllocator allocator = new ScriptedAllocator(clock, "AAAAAA", "AAAAAA");
+        allocator.release("AAAAAA");
+        assertEquals("AAAAAA", allocator.allocate());
+    }
+
+    @Test
+    void givesUpWhenEveryDrawCollides() {
+        ScriptedAllocator allocator = new ScriptedAllocator(clock, "AAAAAA");
+        allocator.allocate();
+        allocator.script.clear();
+        assertThrows(IllegalStateException.class, allocator::allocate);
+    }
+
+    /** Draws the scripted codes in order, then repeats the last one. */
+    static class ScriptedAllocator extends RoomCodeAllocator {
+        final Deque<String> script;
+        private String last;
+
+        ScriptedAllocator(Clock clock, String... codes) {
+            super(clock);
+            ReflectionTestUtils.setField(this, "quarantineTime", Duration.ofHours(1));
+            script = new ArrayDeque<>(List.of(codes));
+            last = codes[codes.length - 1];
+        }
+
+        @Override
+        String randomCode() {
+            if (!script.isEmpty()) last = script.poll();
+            return last;
+        }
+    }
+
+    static class MutableClock extends Clock {
+        private long millis = 1_000_000;
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.bang.service;
+
+import com.example.bang.model.GamePhase;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Room;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomEvictionServiceTest {
+
+    private final RoomCodeAllocatorTest.MutableClock clock = new RoomCodeAllocatorTest.MutableClock();
+    private final RoomExpiryIndex expiryIndex = new RoomExpiryIndex(clock);
+    private final RoomService rooms = RoomServiceTest.roomService(expiryIndex, clock);
+    private final GameService games = new GameService(new DeckBuilder(), List.of(expiryIndex));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Message<?>> sent = new ArrayList<>();
+    private final RoomEvictionService eviction = eviction();
+
+    @Test
+    void anIdleLobbyIsEvictedOnceItHasBeenOpenTooLong() {
+        Room room = rooms.createRoom("idle", "s1", "u1", "Host");
+
+        assertEquals(0, eviction.sweep(clock.millis()));
+        clock.advance(Duration.ofMinutes(29));
+        assertEquals(0, eviction.sweep(clock.millis()));
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals(1, eviction.sweep(clock.millis()));
+
+        assertClosed(room.getId(), RoomEvictionService.Reason.IDLE_LOBBY);
+    }
+
+    @Test
+    void aFinishedGameIsEvictedAfterItsTtl() {
+        Room room = startedRoom("finished");
+        GameState state = games.getGame(room.getId());
+        state.setPhase(GamePhase.GAME_OVER);
+        games.republishGameState(state);
+
+        assertEquals(0, eviction.sweep(clock.millis()));
+        clock.advance(Duration.ofMinutes(5));
+        assertEquals(1, eviction.sweep(clock.millis()));
+
+        assertClosed(room.getId(), RoomEvictionService.Reason.FINISHED_GAME);
+        assertNull(games.getGame(room.getId()));
+    }
+
+    @Test
+    void aGameEveryoneLeftIsEvictedEvenWhileItsDeadlinesKeepItMoving() {
+        Room room = startedRoom("abandoned");
+        for (int i = 0; i < 4; i++) {
+            rooms.handleDisconnect("s" + i);
+        }
+
+        assertEquals(0, eviction.sweep(clock.millis()));
+        clock.advance(Duration.ofMinutes(5));
+        games.republishGameState(games.getGame(room.getId())); // A timeout played for someone
+        clock.advance(Duration.ofMinutes(5));
+        assertEquals(1, eviction.sweep(clock.millis()));
+
+        assertClosed(room.getId(), RoomEvictionService.Reason.ABANDONED_GAME);
+        assertNull(games.getGame(room.getId()));
+    }
+
+    @Test
+    void activityPushesTheNextCheckBack() {
+        Room room = rooms.createRoom("empty", "s1", "u1", "Host");
+        rooms.handleDisconnect("s1");
+        assertEquals(0, eviction.sweep(clock.millis()));
+
+        clock.advance(Duration.ofMinutes(1));
+        rooms.reconnect(room.getId(), room.getHostId(), "s2", "u1");
+        rooms.handleDisconnect("s2");
+        clock.advance(Duration.ofMinutes(1));
+
+        assertEquals(0, eviction.sweep(clock.millis()));
+        assertTrue(rooms.getRoom(room.getId()).isPresent());
+
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals(1, eviction.sweep(clock.millis()));
+        assertClosed(room.getId(), RoomEvictionService.Reason.EMPTY_LOBBY);
+    }
+
+    private Room startedRoom(String name) {
+        Room room = rooms.createRoom(name, "s0", "u0", "Player 0");
+        for (int i = 1; i < 4; i++) {
+            rooms.joinRoom(room.getId(), "s" + i, "u" + i, "Player " + i);
+        }
+        rooms.markGameStarted(room.getId());
+        games.initializeGame(room, new Random(3));
+        return room;
+    }
+
+    private void assertClosed(String roomId, RoomEvictionService.Reason reason) {
+        assertTrue(rooms.getRoom(roomId).isEmpty());
+        assertEquals(0, expiryIndex.size());
+        assertEquals(1, sent.size());
+        assertEquals(1, meterRegistry.get("bang.rooms.evicted").tag("reason", reason.name()).counter().count());
+    }
+
+    private RoomEvictionService eviction() {
+        SimpMessagingTemplate template = new SimpMessagingTemplate((MessageChannel) (message, timeout) -> sent.add(message));
+        template.setMessageConverter(new MappingJackson2MessageConverter(new ObjectMapper()));
+        RoomEvictionService eviction = new RoomEvictionService(rooms, games, expiryIndex, template, meterRegistry, clock);
+        ReflectionTestUtils.setField(eviction, "emptyLobbyTtl", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(eviction, "idleLobbyTtl", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(eviction, "finishedGameTtl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(eviction, "abandonedGameTtl", Duration.ofMinutes(10));
+        return eviction;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.bang.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomExpiryIndexTest {
+
+    private final RoomCodeAllocatorTest.MutableClock clock = new RoomCodeAllocatorTest.MutableClock();
+    private final RoomExpiryIndex index = new RoomExpiryIndex(clock);
+
+    @Test
+    void onlyDueRoomsArePolledInDueOrder() {
+        long now = clock.millis();
+        index.schedule("LATE", now + 2_000);
+        index.schedule("SOON", now + 1_000);
+        index.schedule("LATER", now + 3_000);
+
+        assertEquals(List.of("SOON", "LATE"), index.pollDue(now + 2_000, 10));
+        assertEquals(List.of("LATER"), index.pollDue(now + 3_000, 10));
+    }
+
+    @Test
+    void aRescheduleReplacesTheEarlierCheck() {
+        long now = clock.millis();
+        index.schedule("ROOM01", now + 1_000);
+        index.schedule("ROOM01", now + 5_000);
+
+        assertTrue(index.pollDue(now + 1_000, 10).isEmpty());
+        assertEquals(List.of("ROOM01"), index.pollDue(now + 5_000, 10));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void touchingKeepsThePendingCheckButRecordsTheActivity() {
+        index.touch("ROOM01");
+        clock.advance(Duration.ofMinutes(1));
+        index.touch("ROOM01");
+
+        assertEquals(clock.millis(), index.getLastActivity("ROOM01"));
+        assertEquals(List.of("ROOM01"), index.pollDue(clock.millis() - Duration.ofMinutes(1).toMillis(), 10));
+    }
+
+    @Test
+    void aForgottenRoomIsNeverPolled() {
+        index.touch("ROOM01");
+        index.forget("ROOM01");
+
+        assertTrue(index.pollDue(clock.millis(), 10).isEmpty());
+        assertEquals(0, index.getLastActivity("ROOM01"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.bang.service;
+
+import com.example.bang.model.BotDifficulty;
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.Room;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomServiceTest {
+
+    @Test
+    void aCodeCollisionLeavesTheLiveRoomsCodeAllocated() {
+        List<String> released = new ArrayList<>();
+        // Stands in for an allocator bug that hands out a code twice
+        RoomCodeAllocator duplicating = new RoomCodeAllocator(Clock.systemUTC()) {
+            @Override
+            public String allocate() {
+                return "AAAAAA";
+            }
+
+            @Override
+            public void release(String code) {
+                released.add(code);
+            }
+        };
+        RoomService rooms = roomService(duplicating);
+
+        Room first = rooms.createRoom("first", "s1", "p1", "Host");
+        assertThrows(IllegalStateException.class, () -> rooms.createRoom("second", "s2", "p2", "Host"));
+
+        assertTrue(released.isEmpty());
+        assertEquals(first, rooms.getRoom("AAAAAA").orElseThrow());
+        assertEquals("AAAAAA", rooms.getRoomIdForSession("s1"));
+    }
+
+    @Test
+    void admissionRejectionsReachTheCaller() {
+        AdmissionControl admission = admission(1);
+        RoomService rooms = new RoomService(new RoomExpiryIndex(Clock.systemUTC()), new LobbyDirectory(null),
+                new RoomCodeAllocator(Clock.systemUTC()), admission, Clock.systemUTC());
+
+        rooms.createRoom("first", "s1", "p1", "Host");
+        AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+                () -> rooms.createRoom("second", "s2", "p2", "Host"));
+        assertEquals("rooms", e.getReason());
+    }
+
+    @Test
+    void hostActionsWaitForTheRoomLock() throws InterruptedException {
+        RoomService rooms = roomService(new RoomCodeAllocator(Clock.systemUTC()));
+        Room room = rooms.createRoom("locked", "host", "host", "Host");
+        rooms.joinRoom(room.getId(), "guest", "guest", "Guest");
+        String guestId = rooms.getPlayerIdForSession("guest");
+
+        List<Runnable> actions = List.of(
+                () -> rooms.addBot("host", BotDifficulty.RANDOM),
+                () -> rooms.kickPlayer("host", guestId));
+        for (Runnable action : actions) {
+            Thread thread = new Thread(action);
+            int players;
+            synchronized (room) {
+                players = room.getPlayers().size();
+                thread.start();
+                long deadline = System.currentTimeMillis() + 5_000;
+                while (thread.getState() != Thread.State.BLOCKED && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(1);
+                }
+                assertEquals(Thread.State.BLOCKED, thread.getState());
+                assertEquals(players, room.getPlayers().size());
+            }
+            thread.join(5_000);
+            assertNotEquals(players, room.getPlayers().size());
+        }
+        assertTrue(room.getPlayers().stream().anyMatch(PlayerInfo::isBot));
+        assertNull(rooms.getRoomIdForSession("guest"));
+    }
+
+    static RoomService roomService(RoomCodeAllocator codes) {
+        return new RoomService(new RoomExpiryIndex(Clock.systemUTC()), new LobbyDirectory(null), codes,
+                admission(Integer.MAX_VALUE), Clock.systemUTC());
+    }
+
+    static RoomService roomService(RoomExpiryIndex expiryIndex, Clock clock) {
+        RoomCodeAllocator codes = new RoomCodeAllocator(clock);
+        ReflectionTestUtils.setField(codes, "quarantineTime", Duration.ofHours(1));
+        return new RoomService(expiryIndex, new LobbyDirectory(null), codes, admission(Integer.MAX_VALUE), clock);
+    }
+
+    private static AdmissionControl admission(int maxRooms) {
+        AdmissionControl admission = new AdmissionControl(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(admission, "maxRooms", maxRooms);
+        ReflectionTestUtils.setField(admission, "maxSessions", Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(admission, "maxInboundLatency", Duration.ofDays(1));
+        return admission;
+    }
+}
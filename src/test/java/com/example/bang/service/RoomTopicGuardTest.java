@@ -0,0 +1,87 @@
+package com.example.bang.service;
+
+import com.example.bang.model.BotDifficulty;
+import com.example.bang.model.Room;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.Clock;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RoomTopicGuardTest {
+
+    private final RoomService rooms = RoomServiceTest.roomService(new RoomCodeAllocator(Clock.systemUTC()));
+    private final RoomTopicGuard guard = new RoomTopicGuard(rooms);
+
+    @Test
+    void outsidersCannotWatchTheLiveGameTopics() {
+        Room room = rooms.createRoom("guarded", "player-1", "player-1", "Host");
+        String playerId = rooms.getPlayerIdForSession("player-1");
+
+        accepted("player-1", "/topic/room/" + room.getId() + "/state");
+        accepted("player-1", "/topic/room/" + room.getId() + "/events");
+        accepted("player-1", "/topic/room/" + room.getId() + "/player/" + playerId);
+        accepted("outsider", "/topic/room/" + room.getId());
+        accepted("outsider", "/topic/room/" + room.getId() + "/spectate");
+
+        rejected("outsider", "/topic/room/" + room.getId() + "/state");
+        rejected("outsider", "/topic/room/" + room.getId() + "/events");
+        rejected("player-1", "/topic/room/" + room.getId() + "/player/someone-else");
+    }
+
+    @Test
+    void aReloadedClientSubscribesBeforeItReconnects() {
+        Room room = rooms.createRoom("guarded", "player-1", "player-1", "Host");
+        String playerId = rooms.getPlayerIdForSession("player-1");
+        Room withBot = rooms.addBot("player-1", BotDifficulty.RANDOM);
+        String botId = withBot.getPlayers().get(1).getId();
+
+        // The fresh session names its seat, as /app/room/reconnect is about to
+        accepted("reloaded", playerId, "/topic/room/" + room.getId() + "/state");
+        accepted("reloaded", playerId, "/topic/room/" + room.getId() + "/events");
+        accepted("reloaded", playerId, "/topic/room/" + room.getId() + "/player/" + playerId);
+        rejected("reloaded", botId, "/topic/room/" + room.getId() + "/state");
+        rejected("reloaded", "no-such-seat", "/topic/room/" + room.getId() + "/state");
+        rejected("reloaded", playerId, "/topic/room/" + room.getId() + "/player/" + botId);
+
+        rooms.reconnect(room.getId(), playerId, "reloaded", "reloaded");
+
+        accepted("reloaded", "/topic/room/" + room.getId() + "/player/" + playerId);
+        rejected("player-1", "/topic/room/" + room.getId() + "/state"); // The old session lost its seat
+    }
+
+    private void accepted(String sessionId, String destination) {
+        accepted(sessionId, null, destination);
+    }
+
+    private void accepted(String sessionId, String playerId, String destination) {
+        Message<?> subscribe = subscribe(sessionId, playerId, destination);
+        assertSame(subscribe, guard.preSend(subscribe, null));
+    }
+
+    private void rejected(String sessionId, String destination) {
+        rejected(sessionId, null, destination);
+    }
+
+    private void rejected(String sessionId, String playerId, String destination) {
+        assertThrows(MessageDeliveryException.class,
+                () -> guard.preSend(subscribe(sessionId, playerId, destination), null));
+    }
+
+    private static Message<?> subscribe(String sessionId, String playerId, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destination);
+        if (playerId != null) {
+            accessor.setNativeHeader(RoomTopicGuard.PLAYER_HEADER, playerId);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.bang.service;
+
+import com.example.bang.bot.MoveGenerator;
+import com.example.bang.dto.GameEvent;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Player;
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.Room;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionOutboxTest {
+
+    private static final int MAX_QUEUED = 4;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Message<?>> sent = new ArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SimpMessagingTemplate template = template();
+    private final SessionOutbox outbox = outbox();
+    private final StompGameEventSink sink = sink();
+
+    @Test
+    void aLaggingSessionGetsOnlyTheNewestStateButEveryEvent() throws Exception {
+        GameState state = game("SLOW01");
+        Player slow = state.getPlayers().get(0);
+        connect("slow-1");
+        slow.setSessionId("slow-1");
+        slow.setPrincipalName("slow");
+        for (int i = 0; i <= MAX_QUEUED; i++) {
+            outbox.frameQueued("slow-1");
+        }
+
+        for (int i = 0; i < 3; i++) {
+            sink.onStateChanged(state);
+            sink.onEvent("SLOW01", GameEvent.builder().type("CARD_PLAYED").build());
+        }
+
+        assertTrue(sentTo("/user/slow/queue/game").isEmpty());
+        assertEquals(3, sentTo("/topic/room/SLOW01/events").size());
+        assertEquals(2, registry.get("bang.outbound.dropped").tag("kind", "state").counter().count());
+
+        while (outbox.getQueuedFrames("slow-1") > 0) {
+            outbox.frameWritten("slow-1");
+        }
+
+        List<Message<?>> states = sentTo("/user/slow/queue/game");
+        assertEquals(1, states.size());
+        assertEquals(5, objectMapper.readTree((byte[]) states.get(0).getPayload()).get("seq").asLong());
+    }
+
+    @Test
+    void aSessionKeepingUpGetsEveryState() {
+        GameState state = game("SLOW02");
+        Player player = state.getPlayers().get(0);
+        connect("fast-1");
+        player.setSessionId("fast-1");
+        player.setPrincipalName("fast");
+
+        sink.onStateChanged(state);
+        sink.onStateChanged(state); // Republished with only the deadline moved
+
+        assertEquals(2, sentTo("/user/fast/queue/game").size());
+    }
+
+    @Test
+    void botSeatsGetNoPersonalView() {
+        GameState state = game("SLOW03");
+        Player bot = state.getPlayers().get(0);
+        Player human = state.getPlayers().get(1);
+        bot.setBot(true);
+
+        sink.onStateChanged(state);
+
+        assertTrue(sentTo("/topic/room/SLOW03/player/" + bot.getId()).isEmpty());
+        assertEquals(1, sentTo("/topic/room/SLOW03/player/" + human.getId()).size());
+    }
+
+    private GameState game(String roomId) {
+        Room room = Room.builder().id(roomId).name("outbox").build();
+        for (int i = 0; i < 4; i++) {
+            room.addPlayer(PlayerInfo.builder().id("p" + i).name("Player " + i).ready(true).build());
+        }
+        return new GameService(new DeckBuilder(), List.of()).initializeGame(room, new Random(9));
+    }
+
+    private void connect(String sessionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        outbox.onConnect(new SessionConnectEvent(this, MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders())));
+    }
+
+    private List<Message<?>> sentTo(String destination) {
+        return sent.stream()
+                .filter(m -> destination.equals(SimpMessageHeaderAccessor.getDestination(m.getHeaders())))
+                .toList();
+    }
+
+    private SimpMessagingTemplate template() {
+        SimpMessagingTemplate template = new SimpMessagingTemplate((MessageChannel) (message, timeout) -> sent.add(message));
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+        return template;
+    }
+
+    private SessionOutbox outbox() {
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("template", template);
+        SessionOutbox outbox = new SessionOutbox(beans.getBeanProvider(SimpMessagingTemplate.class), registry);
+        ReflectionTestUtils.setField(outbox, "maxQueuedFrames", MAX_QUEUED);
+        return outbox;
+    }
+
+    private StompGameEventSink sink() {
+        FanoutAccounting fanout = new FanoutAccounting(registry, Clock.systemUTC());
+        SpectatorService spectators = new SpectatorService(template,
+                new TimingWheel(Duration.ofMillis(100), 512, Clock.systemUTC()), objectMapper, fanout, registry);
+        ReflectionTestUtils.setField(spectators, "delay", Duration.ZERO);
+        StompGameEventSink sink = new StompGameEventSink(template, outbox, spectators, new MoveGenerator(), fanout);
+        ReflectionTestUtils.setField(sink, "journalSize", 16);
+        return sink;
+    }
+}
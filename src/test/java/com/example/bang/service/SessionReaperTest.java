@@ -0,0 +1,102 @@
+package com.example.bang.service;
+
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.Room;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.messaging.DefaultSimpUserRegistry;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+
+import java.time.Clock;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SessionReaperTest {
+
+    private final RoomService rooms = RoomServiceTest.roomService(new RoomCodeAllocator(Clock.systemUTC()));
+    private final DefaultSimpUserRegistry userRegistry = new DefaultSimpUserRegistry();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SessionReaper reaper = new SessionReaper(rooms, userRegistry, meterRegistry);
+
+    @Test
+    void staleSessionsComeFromBindingsAndSeats() {
+        Room room = rooms.createRoom("stale", "s1", "u1", "Host");
+        rooms.joinRoom(room.getId(), "s2", "u2", "Guest");
+        room.addPlayer(PlayerInfo.builder().id("ghost").name("Ghost").sessionId("s3").build());
+
+        assertEquals(Set.of("s2", "s3"), rooms.findStaleSessions(Set.of("s1")));
+    }
+
+    @Test
+    void aLiveSessionIsNeverReapedOnItsFirstMiss() {
+        Room room = rooms.createRoom("connecting", "s1", "u1", "Host");
+
+        reaper.reap(); // Bound before the broker registered it
+        connect("u1", "s1");
+        reaper.reap();
+
+        assertEquals(room.getId(), rooms.getRoomIdForSession("s1"));
+        assertEquals("s1", room.getPlayers().get(0).getSessionId());
+    }
+
+    @Test
+    void deadBindingsAreReapedOnTheSecondMiss() {
+        Room room = rooms.createRoom("dead", "s1", "u1", "Host");
+
+        reaper.reap();
+        assertEquals(room.getId(), rooms.getRoomIdForSession("s1"));
+        reaper.reap();
+
+        assertNull(rooms.getRoomIdForSession("s1"));
+        assertNull(room.getPlayers().get(0).getSessionId());
+        assertEquals(1, room.getPlayers().size(), "the player keeps the seat to reconnect");
+        assertEquals(1, reaped("binding"));
+    }
+
+    @Test
+    void danglingBindingsAreDroppedEvenForLiveSessions() {
+        Room room = rooms.createRoom("dangling", "s1", "u1", "Host");
+        PlayerInfo guest = rooms.joinRoom(room.getId(), "s2", "u2", "Guest").getPlayers().get(1);
+        connect("u1", "s1");
+        connect("u2", "s2");
+        room.removePlayer(guest.getId()); // The seat went away without its binding
+
+        reaper.reap();
+
+        assertNull(rooms.getRoomIdForSession("s2"));
+        assertEquals(room.getId(), rooms.getRoomIdForSession("s1"));
+        assertEquals(1, reaped("dangling"));
+    }
+
+    @Test
+    void orphanedSeatsAreClearedOnTheSecondMiss() {
+        Room room = rooms.createRoom("orphan", "s1", "u1", "Host");
+        connect("u1", "s1");
+        PlayerInfo ghost = PlayerInfo.builder().id("ghost").name("Ghost").sessionId("s3").build();
+        room.addPlayer(ghost); // Seated on a session nothing is bound to
+
+        reaper.reap();
+        assertEquals("s3", ghost.getSessionId());
+        reaper.reap();
+
+        assertNull(ghost.getSessionId());
+        assertEquals("s1", room.getPlayers().get(0).getSessionId());
+        assertEquals(1, reaped("seat"));
+    }
+
+    private void connect(String user, String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        accessor.setSessionId(sessionId);
+        userRegistry.onApplicationEvent(new SessionConnectedEvent(this,
+                MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), () -> user));
+    }
+
+    private double reaped(String kind) {
+        return meterRegistry.get("bang.sessions.orphans.reaped").tag("kind", kind).counter().count();
+    }
+}
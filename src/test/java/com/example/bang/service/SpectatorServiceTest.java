@@ -0,0 +1,108 @@
+package com.example.bang.service;
+
+import com.example.bang.dto.GameEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpectatorServiceTest {
+
+    private static final byte[] VIEW = "{\"phase\":\"PLAY_PHASE\",\"seq\":4}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Message<?>> sent = new ArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TimingWheel wheel = new TimingWheel(Duration.ofMillis(10), 64,
+            Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+    private final SpectatorService spectators = new SpectatorService(
+            new SimpMessagingTemplate((MessageChannel) (message, timeout) -> sent.add(message)),
+            wheel, objectMapper, new FanoutAccounting(registry, Clock.systemUTC()), registry);
+
+    @Test
+    void unwatchedRoomsEncodeNothingButKeepAKeyframe() throws Exception {
+        ReflectionTestUtils.setField(spectators, "delay", Duration.ZERO);
+
+        spectators.publishState("SPEC01", 4, VIEW);
+        spectators.publishEvent("SPEC01", GameEvent.builder().type("CARD_PLAYED").seq(5).build());
+
+        assertTrue(sent.isEmpty());
+        assertEquals(0, encodedBytes());
+
+        assertTrue(spectators.join("SPEC01", "viewer-1", "viewer-1"));
+        assertEquals(1, sent.size());
+        assertEquals("/user/viewer-1/queue/spectate", destination(sent.get(0)));
+        assertEquals(4, frame(sent.get(0)).get("seq").asLong());
+    }
+
+    @Test
+    void stateFramesEmbedThePlayersEncoding() throws Exception {
+        ReflectionTestUtils.setField(spectators, "delay", Duration.ZERO);
+        spectators.join("SPEC02", "viewer-1", "viewer-1");
+
+        spectators.publishState("SPEC02", 4, VIEW);
+
+        assertEquals(1, sent.size());
+        assertEquals("/topic/room/SPEC02/spectate", destination(sent.get(0)));
+        JsonNode frame = frame(sent.get(0));
+        assertEquals("STATE", frame.get("type").asText());
+        assertEquals(objectMapper.readTree(VIEW), frame.get("payload"));
+    }
+
+    @Test
+    void delayedFramesOfAForgottenRoomAreDropped() {
+        ReflectionTestUtils.setField(spectators, "delay", Duration.ofMillis(100));
+        spectators.join("SPEC03", "viewer-1", "viewer-1");
+
+        spectators.publishState("SPEC03", 4, VIEW);
+        spectators.publishEvent("SPEC03", GameEvent.builder().type("CARD_PLAYED").seq(5).build());
+        spectators.forget("SPEC03");
+        wheel.advance(200);
+
+        assertTrue(sent.isEmpty());
+        assertFalse(spectators.join("SPEC03", "viewer-2", "viewer-2"), "Forgotten room got its keyframe back");
+    }
+
+    @Test
+    void disconnectedViewersStopTheEncoding() {
+        ReflectionTestUtils.setField(spectators, "delay", Duration.ZERO);
+        spectators.join("SPEC04", "viewer-1", "viewer-1");
+        spectators.join("SPEC05", "viewer-1", "viewer-1"); // Moving on leaves the first room unwatched
+
+        spectators.publishEvent("SPEC04", GameEvent.builder().type("CARD_PLAYED").seq(5).build());
+
+        assertTrue(sent.isEmpty());
+        assertEquals(0, encodedBytes());
+    }
+
+    private double encodedBytes() {
+        return registry.get("bang.fanout.bytes").tag("kind", "encoded").counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    private String destination(Message<?> message) {
+        return SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+    }
+
+    private JsonNode frame(Message<?> message) throws Exception {
+        return objectMapper.readTree((byte[]) message.getPayload());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.bang.service;
+
+import com.example.bang.bot.HeuristicBotStrategy;
+import com.example.bang.bot.MoveGenerator;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Move;
+import com.example.bang.model.Player;
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.ReactionPolicy;
+import com.example.bang.model.Room;
+import com.example.bang.model.StateHash;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StateHashTest {
+
+    @Test
+    void replayingASeedGivesTheSameHashes() {
+        List<Long> first = play(new Random(11));
+        List<Long> second = play(new Random(11));
+
+        assertTrue(first.size() > 20);
+        assertEquals(first, second);
+        assertNotEquals(first, play(new Random(12)));
+    }
+
+    @Test
+    void unchangedStatesAreNotBroadcast() {
+        AtomicInteger broadcasts = new AtomicInteger();
+        GameEventSink counter = new GameEventSink() {
+            @Override
+            public void onStateChanged(GameState state) {
+                broadcasts.incrementAndGet();
+            }
+        };
+        GameService engine = new GameService(new DeckBuilder(), List.of(counter));
+        GameState state = engine.initializeGame(room("HASH01", 4), new Random(5));
+        Player current = state.getCurrentPlayer();
+        assertEquals(1, broadcasts.get());
+
+        long hash = StateHash.of(state);
+        engine.playCard("HASH01", current.getId(), "no-such-card", null, null);
+        engine.setReactionPolicies("HASH01", current.getId(), EnumSet.of(ReactionPolicy.ASK_ME));
+        assertEquals(hash, StateHash.of(state));
+        assertEquals(1, broadcasts.get());
+
+        engine.drawCards("HASH01", current.getId());
+        assertNotEquals(hash, StateHash.of(state));
+        assertEquals(2, broadcasts.get());
+    }
+
+    // Hash after every move of a heuristic bot game
+    private static List<Long> play(Random random) {
+        GameService engine = new GameService(new DeckBuilder(), List.of());
+        MoveGenerator moves = new MoveGenerator();
+        HeuristicBotStrategy strategy = new HeuristicBotStrategy();
+        GameState state = engine.initializeGame(room("REPLAY", 5), random);
+
+        List<Long> hashes = new ArrayList<>();
+        for (int i = 0; i < 2000 && !state.isGameOver(); i++) {
+            String playerId = TurnTimeoutService.awaitedPlayerId(state);
+            Player player = state.getPlayerById(playerId);
+            Move move = strategy.choose(state, player, moves.generate(state, player));
+            engine.apply("REPLAY", playerId, move);
+            hashes.add(StateHash.of(state));
+        }
+        return hashes;
+    }
+
+    private static Room room(String id, int players) {
+        Room room = Room.builder().id(id).name("hash").build();
+        for (int i = 0; i < players; i++) {
+            room.addPlayer(PlayerInfo.builder().id("p" + i).name("Player " + i).ready(true).build());
+        }
+        return room;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.bang.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    @Test
+    void firesOnlyAfterDeadlineAcrossRounds() {
+        TimingWheel wheel = new TimingWheel(Duration.ofMillis(10), 8, 0);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(() -> fired.add("short"), 25);
+        wheel.schedule(() -> fired.add("long"), 500); // Several laps around an 8-slot wheel
+
+        wheel.advance(20);
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(30);
+        assertEquals(List.of("short"), fired);
+
+        wheel.advance(499);
+        assertEquals(List.of("short"), fired);
+
+        wheel.advance(510);
+        assertEquals(List.of("short", "long"), fired);
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    void cancelledTimeoutNeverFires() {
+        TimingWheel wheel = new TimingWheel(Duration.ofMillis(10), 8, 0);
+        List<String> fired = new ArrayList<>();
+        TimingWheel.Timeout timeout = wheel.schedule(() -> fired.add("cancelled"), 40);
+        wheel.schedule(() -> fired.add("kept"), 40);
+
+        wheel.advance(15);
+        assertTrue(timeout.cancel());
+
+        wheel.advance(100);
+        assertEquals(List.of("kept"), fired);
+        assertEquals(0, wheel.getPendingCount());
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.bang.service;
+
+import com.example.bang.model.Card;
+import com.example.bang.model.CardColor;
+import com.example.bang.model.CardSuit;
+import com.example.bang.model.CardType;
+import com.example.bang.model.CharacterType;
+import com.example.bang.model.GamePhase;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Player;
+import com.example.bang.model.PlayerInfo;
+import com.example.bang.model.Room;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TurnTimeoutServiceTest {
+
+    private static final Duration TURN = Duration.ofSeconds(90);
+
+    private final RoomCodeAllocatorTest.MutableClock clock = new RoomCodeAllocatorTest.MutableClock();
+    private final TimingWheel wheel = new TimingWheel(Duration.ofMillis(100), 512, clock);
+    private final List<Long> publishedDeadlines = new ArrayList<>();
+    private final List<Runnable> expiries = new ArrayList<>();
+    private final GameService engine = engine();
+
+    @Test
+    void kitCarlsonDefaultKeepsWhatWasDrawnWhenTheDeckRanShort() {
+        GameState state = game("TIME01");
+        Player kit = kitCarlsonChoosing(state, 1);
+
+        expireTurn();
+
+        // The single card is kept and the rest of the turn defaults through to the next player
+        assertTrue(state.getDrawnCardsToChooseFrom().isEmpty());
+        assertNotEquals(kit.getId(), state.getCurrentPlayer().getId());
+    }
+
+    @Test
+    void aDeadlineNoDefaultCouldMeetIsRearmedAndPublished() {
+        GameState state = game("TIME02");
+        kitCarlsonChoosing(state, 0); // Nothing to keep, so the engine ignores the default
+        long firstDeadline = state.getActionDeadline();
+        assertTrue(firstDeadline > 0);
+        int published = publishedDeadlines.size();
+
+        expireTurn();
+
+        assertEquals(GamePhase.KIT_CARLSON_PHASE, state.getPhase());
+        assertEquals(clock.millis() + TURN.toMillis(), state.getActionDeadline());
+        assertEquals(published + 1, publishedDeadlines.size());
+        assertEquals(state.getActionDeadline(), publishedDeadlines.get(publishedDeadlines.size() - 1));
+    }
+
+    @Test
+    void concurrentTargetsWhoNeverAnswerTakeTheHitAtTheDeadline() {
+        GameState state = game("TIME03");
+        state.getSettings().setConcurrentReactions(true);
+        Player shooter = state.getCurrentPlayer();
+        List<Player> targets = new ArrayList<>();
+        for (Player player : state.getPlayers()) {
+            player.setCharacter(CharacterType.SID_KETCHUM);
+            player.setHealth(4);
+            player.getHand().clear();
+            player.getInPlay().clear();
+            if (player != shooter) {
+                player.getHand().add(Card.builder().id("missed-" + player.getId()).type(CardType.MISSED)
+                        .suit(CardSuit.SPADES).value("5").color(CardColor.BROWN).build());
+                targets.add(player);
+            }
+        }
+        Card gatling = Card.builder().id("gatling").type(CardType.GATLING).suit(CardSuit.SPADES).value("5")
+                .color(CardColor.BROWN).build();
+        shooter.getHand().add(gatling);
+        state.setPhase(GamePhase.PLAY_PHASE);
+        engine.playCard("TIME03", shooter.getId(), gatling.getId(), null, null);
+        Player answered = targets.get(0);
+        engine.respondToAction("TIME03", answered.getId(), "missed-" + answered.getId(), true);
+
+        advance(Duration.ofSeconds(20).plusMillis(100));
+
+        assertEquals(GamePhase.PLAY_PHASE, state.getPhase());
+        assertEquals(4, answered.getHealth());
+        for (Player missing : targets.subList(1, targets.size())) {
+            assertEquals(3, missing.getHealth(), missing.getId() + " was not defaulted to taking the hit");
+        }
+    }
+
+    @Test
+    void aReactionDoesNotExtendTheTurn() {
+        GameState state = game("TIME04");
+        state.getSettings().setAutoResolveReactions(false);
+        Player shooter = state.getCurrentPlayer();
+        Player target = state.getPlayers().get((state.getCurrentPlayerIndex() + 1) % 4);
+        for (Player player : state.getPlayers()) {
+            player.setCharacter(CharacterType.SID_KETCHUM);
+            player.setHealth(4);
+            player.getHand().clear();
+            player.getInPlay().clear();
+        }
+        target.getHand().add(Card.builder().id("missed").type(CardType.MISSED).suit(CardSuit.SPADES).value("5")
+                .color(CardColor.BROWN).build());
+        shooter.getHand().add(Card.builder().id("bang").type(CardType.BANG).suit(CardSuit.SPADES).value("6")
+                .color(CardColor.BROWN).build());
+        state.setPhase(GamePhase.PLAY_PHASE);
+        long turnDeadline = state.getActionDeadline();
+
+        advance(Duration.ofSeconds(60));
+        engine.playCard("TIME04", shooter.getId(), "bang", target.getId(), null);
+        assertEquals(clock.millis() + Duration.ofSeconds(20).toMillis(), state.getActionDeadline());
+        engine.respondToAction("TIME04", target.getId(), "missed", true);
+
+        assertEquals(shooter.getId(), state.getCurrentPlayer().getId());
+        assertEquals(turnDeadline, state.getActionDeadline());
+
+        advance(Duration.ofSeconds(30).plusMillis(100));
+
+        assertNotEquals(shooter.getId(), state.getCurrentPlayer().getId());
+    }
+
+    @Test
+    void theWheelOnlyHandsExpiriesToTheExecutor() {
+        GameState state = game("TIME05");
+        Player kit = kitCarlsonChoosing(state, 1);
+
+        clock.advance(TURN.plusMillis(100));
+        wheel.advance(clock.millis());
+
+        assertEquals(GamePhase.KIT_CARLSON_PHASE, state.getPhase());
+        assertEquals(1, expiries.size());
+
+        runExpiries();
+
+        assertNotEquals(kit.getId(), state.getCurrentPlayer().getId());
+    }
+
+    private GameState game(String roomId) {
+        Room room = Room.builder().id(roomId).name("timeouts").build();
+        for (int i = 0; i < 4; i++) {
+            room.addPlayer(PlayerInfo.builder().id("p" + i).name("Player " + i).ready(true).build());
+        }
+        return engine.initializeGame(room, new Random(5));
+    }
+
+    // The current player's turn deadline is already armed; its key doesn't change with the draw
+    private static Player kitCarlsonChoosing(GameState state, int drawn) {
+        Player kit = state.getCurrentPlayer();
+        kit.setCharacter(CharacterType.KIT_CARLSON);
+        List<Card> choices = new ArrayList<>();
+        for (int i = 0; i < drawn; i++) {
+            choices.add(state.drawCard());
+        }
+        state.setDrawnCardsToChooseFrom(choices);
+        state.setPhase(GamePhase.KIT_CARLSON_PHASE);
+        return kit;
+    }
+
+    private void expireTurn() {
+        advance(TURN.plusMillis(100)); // The wheel fires once the deadline's tick has fully passed
+    }
+
+    private void advance(Duration duration) {
+        clock.advance(duration);
+        wheel.advance(clock.millis());
+        runExpiries();
+    }
+
+    private void runExpiries() {
+        while (!expiries.isEmpty()) {
+            expiries.remove(0).run();
+        }
+    }
+
+    private GameService engine() {
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        TurnTimeoutService timeouts = new TurnTimeoutService(wheel, beans.getBeanProvider(GameService.class),
+                new FanoutAccounting(new SimpleMeterRegistry(), clock), expiries::add);
+        ReflectionTestUtils.setField(timeouts, "turnTimeout", TURN);
+        ReflectionTestUtils.setField(timeouts, "reactionTimeout", Duration.ofSeconds(20));
+        GameEventSink recorder = new GameEventSink() {
+            @Override
+            public void onStateChanged(GameState state) {
+                publishedDeadlines.add(state.getActionDeadline());
+            }
+        };
+        GameService engine = new GameService(new DeckBuilder(), List.of(timeouts, recorder));
+        beans.registerSingleton("gameService", engine);
+        return engine;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bang.sim;
+
+import com.example.bang.model.BotDifficulty;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulationRunnerTest {
+
+    @Test
+    void seededRunsAreReproducibleAcrossSplits() {
+        SimulationConfig config = SimulationConfig.builder()
+                .games(300)
+                .seed(42)
+                .bots(List.of(BotDifficulty.HEURISTIC, BotDifficulty.RANDOM))
+                .parallelism(4)
+                .build();
+        SimulationStats parallel = new SimulationRunner().run(config);
+        config.setParallelism(1);
+        SimulationStats serial = new SimulationRunner().run(config);
+
+        assertEquals(300, parallel.getGames());
+        assertTrue(parallel.getStalled() < 5, parallel.getStalled() + " stalled games");
+        assertEquals(serial.getStalled(), parallel.getStalled());
+        assertEquals(serial.getTurns().getSum(), parallel.getTurns().getSum());
+        assertArrayEquals(serial.getCharacterWins(), parallel.getCharacterWins());
+        assertArrayEquals(serial.getCardsPlayed(), parallel.getCardsPlayed());
+        for (int players = 4; players <= 7; players++) {
+            assertArrayEquals(serial.getWinsByPlayerCount()[players], parallel.getWinsByPlayerCount()[players]);
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package com.example.bang.soak;
+
+import com.example.bang.bot.HeuristicBotStrategy;
+import com.example.bang.bot.MoveGenerator;
+import com.example.bang.model.BotDifficulty;
+import com.example.bang.model.GameState;
+import com.example.bang.model.Move;
+import com.example.bang.model.Player;
+import com.example.bang.model.Room;
+import com.example.bang.service.FanoutAccounting;
+import com.example.bang.service.GameService;
+import com.example.bang.service.LobbyDirectory;
+import com.example.bang.service.MatchmakingService;
+import com.example.bang.service.RoomCodeAllocator;
+import com.example.bang.service.RoomEvictionService;
+import com.example.bang.service.RoomService;
+import com.example.bang.service.TimingWheel;
+import com.example.bang.service.TurnTimeoutService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Soak run of the real services against a virtual clock, compressing days of room churn into minutes.
+ * Simulated players arrive at a steady rate and host bot tables, use quick play, idle in lobbies or walk
+ * away mid-game; their commands go straight to the services and connects and disconnects are published
+ * as the usual session events, so no socket is involved. Every step the clock moves on and the deadlines,
+ * sweeps and matchmaking it drives are run; heap after GC, the size of every map and collection held by
+ * the app's beans, and command latency are sampled over virtual time. After the traffic stops and every
+ * TTL has run out, each collection must be back at its starting size.
+ *
+ * <p>Off by default; run it with e.g. {@code mvn test -Dtest=SoakTest -Dbang.soak.days=2}. Optional:
+ * {@code bang.soak.rooms-per-hour} (default 600), {@code bang.soak.step} (virtual seconds, default 1),
+ * {@code bang.soak.sample} (virtual minutes, default 60) and {@code bang.soak.report} (default
+ * target/soak-report.md).
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "bang.soak.days", matches = "\\d+(\\.\\d+)?")
+@SpringBootTest(properties = {
+        "logging.level.com.example.bang=WARN",
+        "bang.admission.max-sessions=1000000",
+        "bang.bots.think-time=0ms",
+        "bang.bots.threads=4",
+        // The reaper reconciles against the broker's user registry, which never sees in-memory sessions
+        "bang.sessions.reap-interval=3650d"
+})
+class SoakTest {
+
+    private static final Duration DRAIN = Duration.ofHours(2);
+    private static final long BOT_WAIT_NANOS = 50_000_000L;
+    // Keyed by command and table size rather than by room or session, so they level off instead of draining
+    private static final Set<String> BOUNDED = Set.of("FanoutAccounting.meters");
+
+    @Autowired
+    private VirtualClock clock;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private MatchmakingService matchmakingService;
+
+    @Autowired
+    private RoomEvictionService evictionService;
+
+    @Autowired
+    private RoomCodeAllocator codeAllocator;
+
+    @Autowired
+    private LobbyDirectory lobbyDirectory;
+
+    @Autowired
+    private TimingWheel timingWheel;
+
+    @Autowired
+    private FanoutAccounting fanoutAccounting;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final MoveGenerator moveGenerator = new MoveGenerator();
+    private final HeuristicBotStrategy strategy = new HeuristicBotStrategy();
+    private final Random random = new Random(42);
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private final List<SimPlayer> players = new ArrayList<>();
+    private final Set<String> liveRooms = new HashSet<>();
+    private final List<Long> latencies = new ArrayList<>();
+    private final List<Sample> samples = new ArrayList<>();
+    private final Map<String, Integer> peaks = new TreeMap<>();
+    private long nextSession;
+    private long roomsOpened;
+    private long gamesStarted;
+    private long rejected;
+    private long botStalls;
+
+    @TestConfiguration
+    static class VirtualClockConfig {
+        @Bean
+        @Primary
+        VirtualClock virtualClock() {
+            return new VirtualClock(Instant.now().toEpochMilli());
+        }
+    }
+
+    @Test
+    void soak() throws Exception {
+        double days = Double.parseDouble(System.getProperty("bang.soak.days"));
+        double roomsPerHour = Double.parseDouble(System.getProperty("bang.soak.rooms-per-hour", "600"));
+        Duration step = Duration.ofSeconds(Long.getLong("bang.soak.step", 1));
+        Duration sampleEvery = Duration.ofMinutes(Long.getLong("bang.soak.sample", 60));
+        Path reportFile = Path.of(System.getProperty("bang.soak.report", "target/soak-report.md"));
+
+        long realStart = System.nanoTime();
+        long start = clock.millis();
+        long end = start + (long) (days * Duration.ofDays(1).toMillis());
+        double arrivalsPerStep = roomsPerHour * step.toSeconds() / 3600.0;
+        Map<String, Integer> baseline = collectionSizes();
+        sample(start, realStart, baseline);
+
+        double arrivals = 0;
+        long nextSample = start + sampleEvery.toMillis();
+        while (clock.millis() < end) {
+            clock.advance(step);
+            for (arrivals += arrivalsPerStep; arrivals >= 1; arrivals--) {
+                arrive();
+            }
+            tick();
+            if (clock.millis() >= nextSample) {
+                sample(start, realStart, collectionSizes());
+                nextSample += sampleEvery.toMillis();
+            }
+        }
+
+        // Everyone leaves; rooms, games, codes and deadlines must all run out on their own
+        for (SimPlayer player : players) {
+            player.leaveAt = Math.min(player.leaveAt, clock.millis());
+        }
+        long drainEnd = clock.millis() + DRAIN.toMillis();
+        while (clock.millis() < drainEnd) {
+            clock.advance(step);
+            tick();
+        }
+        Map<String, Integer> drained = collectionSizes();
+        sample(start, realStart, drained);
+
+        List<String> leaks = new ArrayList<>();
+        drained.forEach((name, size) -> {
+            if (!BOUNDED.contains(name) && size > baseline.getOrDefault(name, 0)) {
+                leaks.add(name + " " + baseline.getOrDefault(name, 0) + " -> " + size);
+            }
+        });
+
+        String report = report(days, step, Duration.ofNanos(System.nanoTime() - realStart), baseline, drained, leaks);
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        Files.writeString(reportFile, report);
+        log.warn("Soak run finished\n{}", report);
+        assertTrue(gamesStarted > 0, "No game started");
+        assertTrue(leaks.isEmpty(), "Collections still holding entries after the drain: " + leaks);
+    }
+
+    // One step of virtual time: players act, then the clock-driven jobs catch up and bots get to move
+    private void tick() {
+        long now = clock.millis();
+        for (Iterator<SimPlayer> it = players.iterator(); it.hasNext(); ) {
+            SimPlayer player = it.next();
+            if (!act(player, now)) {
+                disconnect(player.sessionId);
+                it.remove();
+            }
+        }
+        matchmakingService.formTables(now);
+        lobbyDirectory.publishDeltas();
+        timingWheel.advance(now);
+        fanoutAccounting.rollWindow(now);
+        if (now / 1000 % 60 == 0) {
+            evictionService.sweep(now);
+            codeAllocator.purgeQuarantine();
+        }
+        awaitBots();
+    }
+
+    private void arrive() {
+        SimPlayer player = new SimPlayer("soak-" + nextSession++, pickPlan());
+        connect(player.sessionId);
+        long now = clock.millis();
+        try {
+            switch (player.plan) {
+                case HOST_BOTS -> {
+                    Room room = openRoom(player);
+                    for (int bots = 3 + random.nextInt(4); bots > 0; bots--) {
+                        roomService.addBot(player.sessionId, BotDifficulty.HEURISTIC);
+                    }
+                    roomService.setPlayerReady(player.sessionId, true);
+                    roomService.markGameStarted(room.getId());
+                    gameService.initializeGame(room);
+                    gamesStarted++;
+                    if (random.nextDouble() < 0.15) {
+                        player.leaveAt = now + minutes(1 + random.nextInt(20));
+                    }
+                }
+                case QUICK_PLAY -> {
+                    matchmakingService.enqueue(player.sessionId, player.sessionId, player.sessionId);
+                    player.leaveAt = now + minutes(5);
+                }
+                case IDLE_LOBBY -> openRoom(player);
+                case LEAVE_LOBBY -> {
+                    openRoom(player);
+                    player.leaveAt = now + minutes(random.nextInt(10));
+                }
+            }
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            rejected++;
+            disconnect(player.sessionId);
+            return;
+        }
+        players.add(player);
+    }
+
+    private Room openRoom(SimPlayer player) {
+        Room room = roomService.createRoom("Soak " + player.sessionId, player.sessionId, player.sessionId, player.sessionId);
+        player.roomId = room.getId();
+        player.playerId = roomService.getPlayerIdForSession(player.sessionId);
+        liveRooms.add(room.getId());
+        roomsOpened++;
+        return room;
+    }
+
+    /** Returns false once the player is gone for good. */
+    private boolean act(SimPlayer player, long now) {
+        if (player.roomId == null) {
+            player.roomId = roomService.getRoomIdForSession(player.sessionId);
+            if (player.roomId != null) {
+                // Seated by matchmaking, stay for the game
+                player.playerId = roomService.getPlayerIdForSession(player.sessionId);
+                player.leaveAt = random.nextDouble() < 0.10 ? now + minutes(1 + random.nextInt(20)) : Long.MAX_VALUE;
+                liveRooms.add(player.roomId);
+                gamesStarted++;
+            }
+        }
+        if (now >= player.leaveAt) {
+            matchmakingService.cancel(player.sessionId);
+            if (random.nextBoolean()) {
+                roomService.leaveRoom(player.sessionId);
+            }
+            return false;
+        }
+        if (player.roomId == null) return true;
+        if (roomService.getRoom(player.roomId).isEmpty()) return false; // Evicted
+
+        GameState state = gameService.getGame(player.roomId);
+        if (state == null || now < player.nextActAt) return true;
+
+        Move move;
+        synchronized (state) {
+            if (state.isGameOver()) {
+                if (player.leaveAt == Long.MAX_VALUE) {
+                    player.leaveAt = now + minutes(random.nextInt(6));
+                }
+                return true;
+            }
+            if (!player.playerId.equals(TurnTimeoutService.awaitedPlayerId(state))) return true;
+            Player self = state.getPlayerById(player.playerId);
+            List<Move> moves = moveGenerator.generate(state, self);
+            if (moves.isEmpty()) return true;
+            move = strategy.choose(state, self, moves);
+        }
+        long started = System.nanoTime();
+        gameService.apply(player.roomId, player.playerId, move);
+        latencies.add(System.nanoTime() - started);
+        player.nextActAt = now + 1000L + random.nextInt(4000);
+        return true;
+    }
+
+    // Bot seats move on the driver's own threads; let them catch up before virtual time moves on
+    private void awaitBots() {
+        long deadline = System.nanoTime() + BOT_WAIT_NANOS;
+        for (Iterator<String> it = liveRooms.iterator(); it.hasNext(); ) {
+            String roomId = it.next();
+            if (gameService.getGame(roomId) == null && roomService.getRoom(roomId).isEmpty()) {
+                it.remove();
+                continue;
+            }
+            while (awaitsBot(roomId)) {
+                if (System.nanoTime() > deadline) {
+                    botStalls++;
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private boolean awaitsBot(String roomId) {
+        GameState state = gameService.getGame(roomId);
+        if (state == null) return false;
+        synchronized (state) {
+            if (state.isGameOver()) return false;
+            String awaited = TurnTimeoutService.awaitedPlayerId(state);
+            Player player = awaited != null ? state.getPlayerById(awaited) : null;
+            return player != null && player.isBot() && player.isAlive();
+        }
+    }
+
+    private PlayerPlan pickPlan() {
+        double roll = random.nextDouble();
+        if (roll < 0.60) return PlayerPlan.HOST_BOTS;
+        if (roll < 0.85) return PlayerPlan.QUICK_PLAY;
+        if (roll < 0.95) return PlayerPlan.IDLE_LOBBY;
+        return PlayerPlan.LEAVE_LOBBY;
+    }
+
+    private void connect(String sessionId) {
+        context.publishEvent(new SessionConnectEvent(this, sessionMessage(StompCommand.CONNECT, sessionId)));
+        context.publishEvent(new SessionConnectedEvent(this, sessionMessage(StompCommand.CONNECTED, sessionId)));
+    }
+
+    private void disconnect(String sessionId) {
+        context.publishEvent(new SessionDisconnectEvent(this, sessionMessage(StompCommand.DISCONNECT, sessionId),
+                sessionId, CloseStatus.NORMAL));
+    }
+
+    private static Message<byte[]> sessionMessage(StompCommand command, String sessionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    /** Size of every Map and Collection field held by the app's own beans. */
+    private Map<String, Integer> collectionSizes() throws IllegalAccessException {
+        Map<String, Integer> sizes = new TreeMap<>();
+        for (Object bean : context.getBeansWithAnnotation(Component.class).values()) {
+            Class<?> type = ClassUtils.getUserClass(bean);
+            if (!type.getPackageName().startsWith("com.example.bang")) continue;
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) continue;
+                boolean map = Map.class.isAssignableFrom(field.getType());
+                if (!map && !Collection.class.isAssignableFrom(field.getType())) continue;
+                field.setAccessible(true);
+                Object value = field.get(bean);
+                if (value == null) continue;
+                int size = map ? ((Map<?, ?>) value).size() : ((Collection<?>) value).size();
+                sizes.put(type.getSimpleName() + "." + field.getName(), size);
+            }
+        }
+        return sizes;
+    }
+
+    private void sample(long start, long realStart, Map<String, Integer> sizes) {
+        sizes.forEach((field, size) -> peaks.merge(field, size, Math::max));
+        System.gc();
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        latencies.clear();
+        samples.add(new Sample(clock.millis() - start, System.nanoTime() - realStart,
+                memory.getHeapMemoryUsage().getUsed(), sizes.getOrDefault("RoomService.rooms", 0),
+                sizes.getOrDefault("GameService.games", 0), roomService.getSessionCount(),
+                timingWheel.getPendingCount(), players.size(), sorted));
+    }
+
+    private String report(double days, Duration step, Duration realTime, Map<String, Integer> baseline,
+                          Map<String, Integer> drained, List<String> leaks) {
+        StringBuilder out = new StringBuilder("# Soak run\n\n");
+        line(out, "- Virtual time: %.2f days plus %dh drain in %.1fs real, step %ds", days, DRAIN.toHours(),
+                realTime.toNanos() / 1e9, step.toSeconds());
+        line(out, "- Rooms opened: %d, games started: %d, rejected arrivals: %d, bot stalls: %d",
+                roomsOpened, gamesStarted, rejected, botStalls);
+        for (Counter counter : meterRegistry.find("bang.rooms.evicted").counters()) {
+            line(out, "- Evicted %s: %.0f", counter.getId().getTag("reason"), counter.count());
+        }
+        line(out, "- Leaks after drain: %s", leaks.isEmpty() ? "none" : String.join(", ", leaks));
+
+        out.append("\n## Over virtual time\n\n");
+        out.append("| Virtual h | Real s | Heap MB | Rooms | Games | Sessions | Deadlines | Sim players"
+                + " | Commands | p50 ms | p99 ms | max ms |\n");
+        out.append("|---|---|---|---|---|---|---|---|---|---|---|---|\n");
+        for (Sample s : samples) {
+            line(out, "| %.1f | %.1f | %.1f | %d | %d | %d | %d | %d | %d | %.3f | %.3f | %.3f |",
+                    s.virtualMillis() / 3_600_000.0, s.realNanos() / 1e9, s.heapBytes() / 1048576.0, s.rooms(),
+                    s.games(), s.sessions(), s.deadlines(), s.simPlayers(), s.latencies().length,
+                    percentile(s.latencies(), 0.50), percentile(s.latencies(), 0.99),
+                    percentile(s.latencies(), 1.0));
+        }
+
+        out.append("\n## Collections\n\n| Field | Start | Peak | After drain |\n|---|---|---|---|\n");
+        for (Map.Entry<String, Integer> entry : drained.entrySet()) {
+            line(out, "| %s | %d | %d | %d |", entry.getKey(), baseline.getOrDefault(entry.getKey(), 0),
+                    peaks.getOrDefault(entry.getKey(), 0), entry.getValue());
+        }
+        return out.toString();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static void line(StringBuilder out, String format, Object... args) {
+        out.append(String.format(Locale.ROOT, format, args)).append('\n');
+    }
+
+    private static long minutes(int minutes) {
+        return minutes * 60_000L;
+    }
+
+    private enum PlayerPlan {
+        HOST_BOTS,   // Opens a room, fills it with bots and plays
+        QUICK_PLAY,  // Queues for matchmaking and plays with whoever it is seated with
+        IDLE_LOBBY,  // Opens a room and never starts it
+        LEAVE_LOBBY  // Opens a room and leaves it again
+    }
+
+    private static final class SimPlayer {
+        final String sessionId;
+        final PlayerPlan plan;
+        String roomId;
+        String playerId;
+        long leaveAt = Long.MAX_VALUE;
+        long nextActAt;
+
+        SimPlayer(String sessionId, PlayerPlan plan) {
+            this.sessionId = sessionId;
+            this.plan = plan;
+        }
+    }
+
+    private record Sample(long virtualMillis, long realNanos, long heapBytes, int rooms, int games, int sessions,
+                          int deadlines, int simPlayers, long[] latencies) {
+    }
+
+    /** Clock that only moves when told to. */
+    static final class VirtualClock extends Clock {
+        private final AtomicLong millis;
+
+        VirtualClock(long startMillis) {
+            this.millis = new AtomicLong(startMillis);
+        }
+
+        void advance(Duration duration) {
+            millis.addAndGet(duration.toMillis());
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException("Virtual clock is UTC only");
+        }
+    }
+}